@@ -0,0 +1,67 @@
+package Design;
+
+import Design.clock.TimeScale;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 冷却动画驱动类，用一个共享的Swing计时器推进所有冷却中按钮的动画
+ * 没有按钮处于冷却状态时计时器停止，不产生任何唤醒
+ */
+final class CooldownAnimator {
+    private static final CooldownAnimator INSTANCE = new CooldownAnimator();
+    
+    private final List<CooldownButton> activeButtons = new ArrayList<>();
+    private final Timer frameTimer;
+    
+    private CooldownAnimator() {
+        frameTimer = new Timer(GameConstants.Timers.COOLDOWN_FRAME_INTERVAL, e -> tick());
+        frameTimer.setRepeats(true);
+    }
+    
+    /**
+     * 获取共享实例
+     * @return 冷却动画驱动
+     */
+    static CooldownAnimator getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * 登记开始冷却的按钮
+     * @param button 冷却按钮
+     */
+    void register(CooldownButton button) {
+        if (!activeButtons.contains(button)) {
+            activeButtons.add(button);
+        }
+        if (!frameTimer.isRunning()) {
+            frameTimer.start();
+        }
+    }
+    
+    /**
+     * 冷却中的按钮数量
+     * @return 按钮数量
+     */
+    int getActiveCount() {
+        return activeButtons.size();
+    }
+    
+    /**
+     * 推进一帧，冷却结束的按钮从列表中移除
+     */
+    private void tick() {
+        long now = TimeScale.nanoTime();
+        for (int i = activeButtons.size() - 1; i >= 0; i--) {
+            if (!activeButtons.get(i).updateCooldown(now)) {
+                activeButtons.remove(i);
+            }
+        }
+        if (activeButtons.isEmpty()) {
+            frameTimer.stop();
+        }
+    }
+}
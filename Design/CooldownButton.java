@@ -1,15 +1,20 @@
 package Design;
 
+import Design.clock.TimeScale;
+
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
 public class CooldownButton extends JButton {
-    private Timer cooldownTimer;
-    private Timer progressTimer;
+    // 背景颜色渐变的级数，颜色预先生成，所有按钮共用
+    private static final int COLOR_RAMP_STEPS = 32;
+    private static final Color[] COLOR_RAMP = createColorRamp();
+    
     private int cooldownTimeSeconds;
     private int remainingCooldownTime;
+    private long cooldownEndNanos;  // 冷却结束的时刻（TimeScale.nanoTime，随游戏时间倍率缩放）
+    private int paintedOverlayWidth; // 已绘制的进度条宽度
+    private int colorStep;           // 当前背景颜色级数
     private Color originalBackgroundColor;
 
     public CooldownButton(String text, int cooldownTimeSeconds) {
@@ -22,47 +27,74 @@ public class CooldownButton extends JButton {
         setBackground(Color.WHITE);
         setOpaque(true);
         setBorderPainted(false);
-
-        // 冷却计时器（用于禁用按钮）
-        cooldownTimer = new Timer(cooldownTimeSeconds * 1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                setEnabled(true);
-                remainingCooldownTime = 0;
-                cooldownTimer.stop();
-                progressTimer.stop();
-                setBackground(Color.WHITE); // 冷却结束后重置为白色
-            }
-        });
-        cooldownTimer.setRepeats(false);
-
-        // 进度条计时器（用于视觉效果）
-        progressTimer = new Timer(100, new ActionListener() { // Update every 100ms
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                if (remainingCooldownTime > 0) {
-                    remainingCooldownTime -= 100; // 减少 100ms
-                    float progress = (float) (cooldownTimeSeconds * 1000 - remainingCooldownTime) / (cooldownTimeSeconds * 1000);
-                    int grayValue = (int) (255 * (1 - progress)); // 从灰色 (255) 到白色 (0)
-                    setBackground(new Color(255, 255, grayValue)); // 灰色到白色过渡的 R, G, B 值
-                } else {
-                    progressTimer.stop();
-                    setBackground(Color.WHITE);
-                }
-            }
-        });
     }
 
     /**
      * 开始按钮的冷却计时。
-     * 禁用按钮，设置剩余冷却时间，改变背景颜色，并启动冷却计时器和进度条计时器。
+     * 禁用按钮，设置剩余冷却时间，改变背景颜色，并登记到共享的冷却动画驱动。
+     * 冷却时间按游戏时间倍率缩短，尽快推进模式下不冷却。
      */
     public void startCooldown() {
+        if (TimeScale.isUnbounded()) {
+            return;
+        }
         setEnabled(false);
         remainingCooldownTime = cooldownTimeSeconds * 1000;
+        cooldownEndNanos = TimeScale.nanoTime() + remainingCooldownTime * 1_000_000L;
+        paintedOverlayWidth = 0;
+        colorStep = -1;
         setBackground(Color.LIGHT_GRAY); // 从灰色开始
-        cooldownTimer.start();
-        progressTimer.start();
+        CooldownAnimator.getInstance().register(this);
+    }
+
+    /**
+     * 按当前时刻更新冷却进度（由冷却动画驱动每帧调用）。
+     * 背景颜色只在渐变级数变化时更新，其余帧只重绘新变白的进度条部分。
+     * @param now 当前时刻（TimeScale.nanoTime）
+     * @return 是否仍在冷却
+     */
+    boolean updateCooldown(long now) {
+        // 冷却中切换到尽快推进模式时立即结束冷却
+        remainingCooldownTime = TimeScale.isUnbounded() ? 0 : (int) Math.max(0, (cooldownEndNanos - now) / 1_000_000L);
+        if (remainingCooldownTime <= 0) {
+            setEnabled(true);
+            setBackground(Color.WHITE); // 冷却结束后重置为白色
+            return false;
+        }
+
+        float progress = getProgress();
+        int step = (int) (progress * (COLOR_RAMP_STEPS - 1));
+        int overlayWidth = (int) (getWidth() * progress);
+        if (step != colorStep) {
+            colorStep = step;
+            setBackground(COLOR_RAMP[step]); // 整个按钮重绘
+        } else if (overlayWidth > paintedOverlayWidth) {
+            repaint(paintedOverlayWidth, 0, overlayWidth - paintedOverlayWidth, getHeight());
+        }
+        paintedOverlayWidth = overlayWidth;
+        return true;
+    }
+
+    /**
+     * 获取冷却进度
+     * @return 0到1之间的进度
+     */
+    private float getProgress() {
+        return (float) (cooldownTimeSeconds * 1000 - remainingCooldownTime) / (cooldownTimeSeconds * 1000);
+    }
+
+    /**
+     * 生成背景颜色渐变表
+     * @return 颜色表
+     */
+    private static Color[] createColorRamp() {
+        Color[] ramp = new Color[COLOR_RAMP_STEPS];
+        for (int i = 0; i < COLOR_RAMP_STEPS; i++) {
+            float progress = (float) i / (COLOR_RAMP_STEPS - 1);
+            int grayValue = (int) (255 * (1 - progress)); // 从灰色 (255) 到白色 (0)
+            ramp[i] = new Color(255, 255, grayValue); // 灰色到白色过渡的 R, G, B 值
+        }
+        return ramp;
     }
 
     /**
@@ -74,11 +106,10 @@ public class CooldownButton extends JButton {
         super.paintComponent(g);
         if (!isEnabled() && remainingCooldownTime > 0) {
             Graphics2D g2 = (Graphics2D) g.create();
-            float progress = (float) (cooldownTimeSeconds * 1000 - remainingCooldownTime) / (cooldownTimeSeconds * 1000);
-            int width = (int) (getWidth() * progress);
+            int width = (int) (getWidth() * getProgress());
             g2.setColor(Color.WHITE); // 变白的部分
             g2.fillRect(0, 0, width, getHeight());
             g2.dispose();
         }
     }
-}
\ No newline at end of file
+}
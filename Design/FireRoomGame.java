@@ -1,33 +1,65 @@
 package Design;
 
 import Design.GameConstants;
+import Design.clock.GameClock;
+import Design.clock.SwingClockDriver;
+import Design.clock.TimeScale;
 import Design.controller.GameController;
+import Design.event.EventBus;
 import Design.event.EventManager;
+import Design.journal.ActionJournal;
+import Design.journal.JournalReplayer;
+import Design.metrics.EdtWatchdog;
+import Design.metrics.Metrics;
 import Design.model.GameModel;
+import Design.save.GameSnapshot;
+import Design.save.SaveManager;
 import Design.view.MessagePanel;
+import Design.view.MetricsOverlay;
 import Design.view.SceneManager;
+import Design.view.StallReportDialog;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
 
 /**
  * 生火间游戏主类
  */
 public class FireRoomGame extends JFrame {
+    private static final String EVENT_AUTOSAVE = "game.autosave";
+    
     private GameModel model;
     private EventManager eventManager;
+    private GameClock clock;
+    private SwingClockDriver clockDriver;
     private GameController controller;
     private SceneManager sceneManager;
     private MessagePanel messagePanel;
     private JButton currentScaleButton;
     private JButton longJourneyButton; // 添加为成员变量
+    private SaveManager saveManager;
+    private ActionJournal actionJournal;
+    private long seed; // 本局随机数种子，写入操作日志以便回放
     
     /**
      * 构造函数
      */
     public FireRoomGame() {
+        this(true);
+    }
+    
+    /**
+     * 构造函数
+     * @param resume 是否从存档继续游戏
+     */
+    public FireRoomGame(boolean resume) {
         // 设置窗口属性
-        setTitle("A Dark Room");
+        setTitle(TimeScale.getFactor() == TimeScale.MIN_FACTOR ? "A Dark Room" : "A Dark Room [" + TimeScale.describe() + "]");
         setSize(1000, 700);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null); // 窗口居中
@@ -44,6 +76,15 @@ public class FireRoomGame extends JFrame {
         // 初始化UI组件
         initializeUIComponents();
         
+        // 初始化存档
+        initializeSave(resume);
+        
+        // 启用统计时安装F3统计浮层
+        MetricsOverlay.install(this);
+        
+        // 安装界面卡顿看门狗，F4查看卡顿报告
+        StallReportDialog.install(this, EdtWatchdog.install());
+        
         // 显示窗口
         setVisible(true);
     }
@@ -69,38 +110,31 @@ public class FireRoomGame extends JFrame {
         // 创建模型
         model = new GameModel();
         
-        // 创建事件管理器
-        eventManager = new EventManager();
+        // 创建事件管理器，事件在下一次EDT循环统一投递，同一帧内的资源和建筑变化只刷新一次
+        eventManager = new EventManager(new EventBus(SwingUtilities::invokeLater));
+        
+        // 创建游戏时钟，所有定时事件共用一个Swing计时器推进
+        clock = new GameClock();
+        clockDriver = new SwingClockDriver(clock);
         
         // 创建消息面板（在控制器之前创建，确保能接收到初始消息）
-        messagePanel = new MessagePanel(new GameController(model, eventManager) {
-            // 临时控制器，只用于获取事件管理器，覆盖initializeGame方法防止重复初始化
-            @Override
-            public EventManager getEventManager() {
-                return eventManager;
-            }
-            
-            // 覆盖initializeGame方法，防止重复初始化
-            @Override
-            protected void initializeGame() {
-                // 不执行任何初始化操作
-            }
-        });
+        messagePanel = new MessagePanel(eventManager, clock);
         
         // 创建控制器
-        controller = new GameController(model, eventManager);
+        seed = new Random().nextLong();
+        controller = new GameController(model, eventManager, clock, new Random(seed));
         
         // 创建场景管理器
         sceneManager = new SceneManager(controller);
         
-        // 设置场景管理器到控制器
-        controller.setSceneManager(sceneManager);
-        
         // 监听游戏阶段变化
         eventManager.addGamePhaseChangeListener(this::onGamePhaseChanged);
         
         // 监听场景名称变化
         eventManager.addSceneNameChangeListener(this::onSceneNameChanged);
+        
+        // 启动游戏时钟
+        clockDriver.start();
     }
     
     /**
@@ -140,6 +174,65 @@ public class FireRoomGame extends JFrame {
         longJourneyButton.addActionListener(e -> sceneManager.showScene(SceneManager.LONG_JOURNEY_SCENE));
     }
     
+    /**
+     * 初始化存档：读取已有存档，定期自动存档，关闭窗口时存档
+     * @param resume 是否从存档继续游戏
+     */
+    private void initializeSave(boolean resume) {
+        saveManager = new SaveManager(SaveManager.defaultPath());
+        
+        long offlineMillis = 0;
+        if (resume && saveManager.exists()) {
+            try {
+                GameSnapshot snapshot = saveManager.load();
+                controller.restoreSnapshot(snapshot);
+                offlineMillis = System.currentTimeMillis() - snapshot.getSavedAt();
+            } catch (IOException e) {
+                System.err.println("读取存档失败，开始新游戏: " + e.getMessage());
+            }
+        }
+        
+        // 从刚恢复的状态开始记录操作日志，离线推进之前打开，
+        // 这样回放时从同一个快照和同一个随机数状态出发，按时钟记录重新推进离线时间
+        try {
+            actionJournal = ActionJournal.create(JournalReplayer.defaultPath(), seed, clock.getCurrentTime(), controller.createSnapshot());
+            controller.setActionJournal(actionJournal);
+        } catch (IOException e) {
+            System.err.println("无法创建操作日志: " + e.getMessage());
+        }
+        
+        if (offlineMillis > 0) {
+            // 计入上次存档之后离开的时间
+            controller.applyOfflineProgress(offlineMillis);
+            if (actionJournal != null) {
+                actionJournal.markClock(clock.getCurrentTime());
+            }
+        }
+        
+        // 快照在EDT上创建，写入文件在后台线程完成
+        clock.scheduleAtFixedRate(EVENT_AUTOSAVE, GameConstants.Timers.AUTOSAVE_INTERVAL, GameConstants.Timers.AUTOSAVE_INTERVAL, () -> {
+            saveManager.saveAsync(controller.createSnapshot());
+            if (actionJournal != null) {
+                actionJournal.markClock(clock.getCurrentTime());
+            }
+        });
+        
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                try {
+                    saveManager.save(controller.createSnapshot());
+                    if (actionJournal != null) {
+                        actionJournal.markClock(clock.getCurrentTime());
+                        actionJournal.close();
+                    }
+                } catch (IOException ex) {
+                    System.err.println("存档失败: " + ex.getMessage());
+                }
+            }
+        });
+    }
+    
     /**
      * 游戏阶段变化处理
      */
@@ -166,8 +259,12 @@ public class FireRoomGame extends JFrame {
     
     /**
      * 主方法
+     * @param args 传入 --new 时忽略存档开始新游戏，传入 --speed=100 或 --speed=max 时加快游戏时间
      */
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(FireRoomGame::new);
+        boolean resume = !Arrays.asList(args).contains("--new");
+        TimeScale.configure(args);
+        Metrics.registerMBean();
+        SwingUtilities.invokeLater(() -> new FireRoomGame(resume));
     }
 }
\ No newline at end of file
@@ -25,6 +25,13 @@ public final class GameConstants {
         public static final String CART = "货车";
     }
     
+    // 工作名称常量
+    public static final class Jobs {
+        public static final String GATHERER = "伐木者";
+        public static final String HUNTER = "猎人";
+        public static final String TRAPPER = "捕兽人";
+    }
+    
     // 建筑成本常量
     public static final class BuildingCosts {
         public static final int HUT_COST = 100;
@@ -38,12 +45,22 @@ public final class GameConstants {
         public static final int CHOP_WOOD_COOLDOWN = 5; // 伐木冷却时间（秒）
         public static final int CHECK_TRAPS_COOLDOWN = 15; // 查看陷阱冷却时间（秒）
         public static final int MESSAGE_DISPLAY_TIME = 75000; // 消息显示时间
+        public static final int MESSAGE_SWEEP_INTERVAL = 1000; // 过期消息清理间隔
+        public static final int CLOCK_TICK_INTERVAL = 50; // 游戏时钟推进间隔
+        public static final int COOLDOWN_FRAME_INTERVAL = 100; // 冷却动画帧间隔
+        public static final int AUTOSAVE_INTERVAL = 60000; // 自动存档间隔
+        public static final long MAX_OFFLINE_PROGRESS = 7L * 24 * 60 * 60 * 1000; // 离线进度最多计算7天（毫秒）
+        public static final int INITIAL_MESSAGE_DELAY = 500; // 初始消息延迟
         
         // 房间状态计时器
         public static final int PHASE1_TIMER_INTERVAL = 10000; // 第一阶段计时器间隔
         public static final int PHASE2_STATUS_TIMER_INTERVAL = 30000; // 第二阶段状态计时器间隔
         public static final int PHASE2_HEAT_TIMER_INTERVAL = 60000; // 第二阶段温度计时器间隔
         
+        // 村落计时器
+        public static final int VILLAGER_ARRIVAL_INTERVAL = 20000; // 流浪者到来间隔
+        public static final int WORK_TICK_INTERVAL = 10000; // 村民产出间隔
+        
         // 游戏进程计时器
         public static final int STRANGER_ARRIVAL_DELAY = 10000; // 陌生人到达延迟
         public static final int STRANGER_MUMBLE_DELAY = 5000; // 陌生人嘟囔延迟
@@ -60,6 +77,8 @@ public final class GameConstants {
         public static final int CART_WOOD_GAIN = 50; // 有货车时伐木获得量
         public static final int PHASE2_INITIAL_WOOD = 5; // 第二阶段初始木头数量
         public static final int HUT_POPULATION_CAPACITY = 4; // 每个小屋的人口容量
+        public static final int BASE_EFFICIENCY = 100; // 村民的基础工作效率（百分比）
+        public static final int MAX_EXPERIENCE = 50; // 同一工作每做一次效率提高1%，最多提高的次数
     }
     
     // 场景名称常量
@@ -88,6 +107,13 @@ public final class GameConstants {
         public static final String BUILDER_TRAPS = "建造者说她能够制作陷阱来捕捉那些仍在野外活动的野兽.";
         public static final String BUILDER_CART = "建造者说她能够制造出货车，用来运载木头.";
         public static final String BUILDER_WANDERERS = "建造者说这里有许多流浪者，他们也会来工作.";
+        
+        // 离线进度消息
+        public static final String OFFLINE_PROGRESS_FORMAT = "离开了%d分钟.";
+        
+        // 村落消息
+        public static final String VILLAGER_ARRIVED = "一个流浪者来到村落，住进了空着的小屋.";
+        public static final String VILLAGERS_ARRIVED_FORMAT = "%d个流浪者来到村落，住进了空着的小屋.";
     }
     
     // UI常量
@@ -103,6 +129,8 @@ public final class GameConstants {
         public static final String INTERACTION_PANEL_TITLE = "交互面板";
         public static final String ACTIVE_EVENTS_TITLE = "主动事件";
         public static final String LABOR_DISTRIBUTION_TITLE = "人员分工";
+        public static final String LABOR_ROW_FORMAT = "%s %d";
         public static final String LONG_JOURNEY_MESSAGE = "漫漫尘途 敬请期待.";
+        public static final int MESSAGE_LOG_CAPACITY = 100; // 消息面板最多保留的消息数
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package Design.bench;
+
+import java.util.Locale;
+
+/**
+ * 基准测试运行器，按JMH的方式先预热再测量，报告每次操作的平均耗时
+ * 不需要构建工具即可运行的简易版本，正式的测量使用jmh源码集中的JMH基准测试（gradle jmh）
+ * 先按时间预热，使被测代码完成类加载和JIT编译，再确定批量大小，使一轮耗时约为目标时长，以摊薄计时开销
+ */
+public class BenchmarkRunner {
+    private static final long WARMUP_NANOS = 1_000_000_000L;          // 确定批量大小之前先预热1秒
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final long TARGET_ITERATION_NANOS = 100_000_000L; // 每轮约100毫秒
+    private static final long MIN_BATCH = 1000;                       // 每轮至少执行的次数，单次计时不能代表稳定状态
+    
+    // 防止JIT消除无副作用的计算
+    private static volatile long sink;
+    
+    private final String filter;
+    
+    /**
+     * 构造函数
+     * @param filter 只运行名称包含该字符串的基准测试，为null时全部运行
+     */
+    public BenchmarkRunner(String filter) {
+        this.filter = filter;
+    }
+    
+    /**
+     * 消费计算结果，避免被JIT优化掉
+     * @param value 计算结果
+     */
+    public static void consume(long value) {
+        sink += value;
+    }
+    
+    /**
+     * 运行一个基准测试
+     * @param name 名称
+     * @param operation 被测操作
+     */
+    public void run(String name, Runnable operation) {
+        if (filter != null && !name.contains(filter)) {
+            return;
+        }
+        
+        warmUp(operation);
+        long batch = calibrate(operation);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            measure(operation, batch);
+        }
+        
+        double[] results = new double[MEASUREMENT_ITERATIONS];
+        double sum = 0;
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            results[i] = measure(operation, batch);
+            sum += results[i];
+        }
+        double mean = sum / MEASUREMENT_ITERATIONS;
+        double variance = 0;
+        for (double result : results) {
+            variance += (result - mean) * (result - mean);
+        }
+        double stdev = Math.sqrt(variance / (MEASUREMENT_ITERATIONS - 1));
+        
+        System.out.println(String.format(Locale.ROOT, "%-48s %14.1f +- %10.1f ns/op  (batch %d)", name, mean, stdev, batch));
+    }
+    
+    /**
+     * 预热：反复执行被测操作，直到达到预热时长
+     * 第一次调用包含类加载和解释执行，按它确定批量大小会得到远小于稳定状态的批量
+     */
+    private void warmUp(Runnable operation) {
+        long deadline = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < deadline) {
+            for (long i = 0; i < MIN_BATCH; i++) {
+                operation.run();
+            }
+        }
+    }
+    
+    /**
+     * 确定批量大小，不小于MIN_BATCH
+     */
+    private long calibrate(Runnable operation) {
+        long batch = MIN_BATCH;
+        while (true) {
+            long start = System.nanoTime();
+            for (long i = 0; i < batch; i++) {
+                operation.run();
+            }
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= TARGET_ITERATION_NANOS / 10 || batch >= (1L << 40)) {
+                return Math.max(MIN_BATCH, batch * TARGET_ITERATION_NANOS / Math.max(1, elapsed));
+            }
+            batch *= 2;
+        }
+    }
+    
+    /**
+     * 测量一轮
+     * @return 每次操作的平均耗时（纳秒）
+     */
+    private double measure(Runnable operation, long batch) {
+        long start = System.nanoTime();
+        for (long i = 0; i < batch; i++) {
+            operation.run();
+        }
+        return (double) (System.nanoTime() - start) / batch;
+    }
+}
@@ -0,0 +1,120 @@
+package Design.bench;
+
+import Design.controller.GameController;
+import Design.controller.TrapManager;
+import Design.event.EventManager;
+import Design.metrics.LatencyHistogram;
+import Design.metrics.Metrics;
+import Design.model.BuildingType;
+import Design.model.GameModel;
+import Design.model.ResourceType;
+import Design.service.ResourceService;
+import Design.simulation.SimulationEngine;
+import Design.view.ResourcePanel;
+
+import javax.swing.SwingUtilities;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * 热点路径基准测试：模型增减资源、事件分发、陷阱检查、资源面板更新和统计记录
+ * 用法：java -Djava.awt.headless=true -cp out Design.bench.Benchmarks [名称过滤]
+ */
+public class Benchmarks {
+    
+    public static void main(String[] args) throws InterruptedException, InvocationTargetException {
+        System.setProperty("java.awt.headless", "true");
+        BenchmarkRunner runner = new BenchmarkRunner(args.length > 0 ? args[0] : null);
+        
+        modelBenchmarks(runner);
+        eventBenchmarks(runner);
+        trapBenchmarks(runner);
+        metricsBenchmarks(runner);
+        
+        // Swing组件只能在EDT上更新
+        SwingUtilities.invokeAndWait(() -> resourcePanelBenchmarks(runner));
+    }
+    
+    /**
+     * 统计记录本身的开销，未启用统计（-Ddarkroom.metrics=true）时应接近空操作
+     */
+    private static void metricsBenchmarks(BenchmarkRunner runner) {
+        LatencyHistogram histogram = Metrics.histogram("bench.record");
+        runner.run("metrics.record enabled=" + Metrics.ENABLED, () -> histogram.record(Metrics.start()));
+    }
+    
+    /**
+     * GameModel资源增减
+     */
+    private static void modelBenchmarks(BenchmarkRunner runner) {
+        GameModel model = new GameModel();
+        runner.run("model.increaseDecrease(ResourceType)", () -> {
+            model.increaseResource(ResourceType.WOOD, 10);
+            model.decreaseResource(ResourceType.WOOD, 10);
+            BenchmarkRunner.consume(model.getResource(ResourceType.WOOD));
+        });
+        runner.run("model.increaseDecrease(String)", () -> {
+            model.increaseResource("木头", 10);
+            model.decreaseResource("木头", 10);
+            BenchmarkRunner.consume(model.getResource("木头"));
+        });
+        runner.run("model.getBuilding(BuildingType)", () -> BenchmarkRunner.consume(model.getBuilding(BuildingType.TRAP)));
+        runner.run("model.getState unchanged", () -> BenchmarkRunner.consume(model.getState().getVersion()));
+        runner.run("model.getState afterWrite", () -> {
+            model.increaseResource(ResourceType.MEAT, 1);
+            BenchmarkRunner.consume(model.getState().getResource(ResourceType.MEAT));
+        });
+    }
+    
+    /**
+     * 资源变化事件分发到N个监听器
+     */
+    private static void eventBenchmarks(BenchmarkRunner runner) {
+        GameModel model = new GameModel();
+        model.increaseResource(ResourceType.WOOD, 1);
+        for (int listeners : new int[] {1, 10, 100}) {
+            EventManager eventManager = new EventManager();
+            for (int i = 0; i < listeners; i++) {
+                eventManager.addResourceChangeListener(resources -> BenchmarkRunner.consume(resources.size()));
+            }
+            runner.run("event.notifyResourceChange listeners=" + listeners,
+                    () -> eventManager.notifyResourceChangeListeners(model.getResources()));
+        }
+    }
+    
+    /**
+     * 不同陷阱数量下的陷阱检查
+     */
+    private static void trapBenchmarks(BenchmarkRunner runner) {
+        for (int traps = 1; traps <= 1_000_000; traps *= 10) {
+            SimulationEngine engine = new SimulationEngine(traps);
+            engine.getModel().setBuilding(BuildingType.TRAP, traps);
+            TrapManager trapManager = engine.getController().getTrapManager();
+            runner.run("trap.checkTraps traps=" + traps, trapManager::checkTraps);
+        }
+    }
+    
+    /**
+     * 无界面工具包下资源面板对资源变化的响应
+     */
+    private static void resourcePanelBenchmarks(BenchmarkRunner runner) {
+        GameModel model = new GameModel();
+        EventManager eventManager = new EventManager();
+        GameController controller = new GameController(model, eventManager);
+        new ResourcePanel(controller);
+        eventManager.notifyGamePhaseChangeListeners(true);
+        model.increaseResource(ResourceType.FUR, 1);
+        model.increaseBuilding(BuildingType.TRAP);
+        
+        runner.run("resourcePanel.update fullRefresh", () -> {
+            model.increaseResource(ResourceType.WOOD, 1);
+            eventManager.notifyResourceChangeListeners(model.getResources());
+        });
+        runner.run("resourcePanel.update fullUnchanged",
+                () -> eventManager.notifyResourceChangeListeners(model.getResources()));
+        
+        ResourceService resourceService = new ResourceService(model, eventManager);
+        runner.run("resourcePanel.update delta", () -> resourceService.increaseResource(ResourceType.WOOD, 1));
+        runner.run("resourcePanel.update staleRefresh",
+                () -> eventManager.notifyResourceChangeListeners(model.getResources(), null, 0));
+    }
+}
@@ -0,0 +1,263 @@
+package Design.bench;
+
+import Design.FireRoomGame;
+import Design.clock.GameClock;
+import Design.controller.GameController;
+import Design.event.EventBus;
+import Design.event.EventManager;
+import Design.model.GameModel;
+import Design.view.MessagePanel;
+import Design.view.SceneManager;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * 冷启动基准测试：每轮启动一个新的JVM，测量从启动进程到画出第一帧的时间
+ * 子进程的用户目录指向临时目录，不会读写玩家的存档和操作日志；
+ * 没有显示器时子进程不创建窗口，改为在内存图像上布局并绘制同样的界面
+ *
+ * 用法：java -cp out Design.bench.StartupBenchmark [轮数] [子进程JVM参数...]
+ * 例如比较类数据共享归档的效果：
+ *   java -cp out Design.bench.StartupBenchmark 10 -XX:SharedArchiveFile=darkroom.jsa
+ * 或者自动完成打包、训练运行和比较（需要JDK 13及以上）：
+ *   java -cp out Design.bench.StartupBenchmark --cds [轮数]
+ */
+public class StartupBenchmark {
+    private static final String CHILD = "--child";
+    private static final String CDS = "--cds";
+    private static final String READY = "READY";
+    private static final int DEFAULT_RUNS = 5;
+
+    // 子进程画出第一帧的墙上时间（毫秒），0表示尚未收到绘制事件，-1表示正在等待绘制完成
+    private static volatile long firstFrameMillis;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && CHILD.equals(args[0])) {
+            runChild();
+            return;
+        }
+        if (args.length > 0 && CDS.equals(args[0])) {
+            compareCds(args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_RUNS);
+            return;
+        }
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        List<String> jvmArgs = args.length > 1 ? Arrays.asList(args).subList(1, args.length) : new ArrayList<>();
+        measure(runs, jvmArgs, System.getProperty("java.class.path"));
+    }
+
+    /**
+     * 启动若干轮子进程，打印每轮和汇总的启动时间
+     * @param runs 轮数
+     * @param jvmArgs 子进程的JVM参数
+     * @param classPath 子进程的类路径
+     * @return 启动时间的中位数（毫秒）
+     */
+    private static long measure(int runs, List<String> jvmArgs, String classPath) throws IOException, InterruptedException {
+        long[] totals = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long[] result = launchChild(jvmArgs, classPath);
+            totals[i] = result[0];
+            System.out.printf(Locale.ROOT, "run %-3d  start->first frame %5d ms  (in JVM %5d ms)%n", i + 1, result[0], result[1]);
+        }
+        Arrays.sort(totals);
+        System.out.printf(Locale.ROOT, "startup %s  min %d ms  median %d ms  max %d ms%n",
+                jvmArgs.isEmpty() ? "default" : String.join(" ", jvmArgs), totals[0], totals[runs / 2], totals[runs - 1]);
+        return totals[runs / 2];
+    }
+
+    /**
+     * 比较使用类数据共享归档前后的启动时间：
+     * 把类目录打包为jar（归档要求类路径只包含jar），做一次训练运行生成归档，再分别测量不使用和使用归档的启动时间
+     * 打包的jar和归档放在临时目录中，结束后删除
+     * @param runs 每种配置的轮数
+     */
+    private static void compareCds(int runs) throws IOException, InterruptedException {
+        Path work = Files.createTempDirectory("darkroom-cds");
+        try {
+            Path jar = packClassPath(work.resolve("darkroom.jar"));
+            Path archive = work.resolve("darkroom.jsa");
+            launchChild(Collections.singletonList("-XX:ArchiveClassesAtExit=" + archive), jar.toString());
+            if (!Files.exists(archive)) {
+                throw new IllegalStateException("训练运行没有生成归档，类数据共享需要JDK 13及以上");
+            }
+            System.out.printf(Locale.ROOT, "archive %s  %d KB%n", archive.getFileName(), Files.size(archive) / 1024);
+
+            long without = measure(runs, Collections.<String>emptyList(), jar.toString());
+            long with = measure(runs, Collections.singletonList("-XX:SharedArchiveFile=" + archive), jar.toString());
+            System.out.printf(Locale.ROOT, "median without archive %d ms, with archive %d ms%n", without, with);
+        } finally {
+            deleteTree(work);
+        }
+    }
+
+    /**
+     * 把当前的类路径打包为jar，类路径本身是一个jar时直接使用
+     * @param jar 打包的jar路径
+     * @return 子进程使用的jar
+     */
+    private static Path packClassPath(Path jar) throws IOException {
+        String classPath = System.getProperty("java.class.path");
+        if (classPath.contains(File.pathSeparator)) {
+            throw new IllegalStateException("类数据共享比较需要单个类目录或jar作为类路径: " + classPath);
+        }
+        Path classes = Paths.get(classPath).toAbsolutePath();
+        if (!Files.isDirectory(classes)) {
+            return classes;
+        }
+        try (OutputStream file = Files.newOutputStream(jar);
+             JarOutputStream out = new JarOutputStream(file);
+             Stream<Path> files = Files.walk(classes)) {
+            for (Path path : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                out.putNextEntry(new JarEntry(classes.relativize(path).toString().replace(File.separatorChar, '/')));
+                Files.copy(path, out);
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    /**
+     * 删除目录及其中的所有文件
+     * @param root 目录
+     */
+    private static void deleteTree(Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("无法删除临时目录 " + root + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 启动一个子进程并等待它报告第一帧
+     * @param jvmArgs 子进程的JVM参数
+     * @param classPath 子进程的类路径
+     * @return 从启动进程到第一帧的时间和其中JVM内部的时间（毫秒）
+     */
+    private static long[] launchChild(List<String> jvmArgs, String classPath) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classPath);
+        command.add(StartupBenchmark.class.getName());
+        command.add(CHILD);
+
+        long launched = System.currentTimeMillis();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String ready = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(READY)) {
+                    ready = line;
+                } else {
+                    System.out.println("  " + line);
+                }
+            }
+        }
+        process.waitFor();
+        if (ready == null) {
+            throw new IllegalStateException("子进程没有报告第一帧，退出码 " + process.exitValue());
+        }
+        String[] words = ready.split(" ");
+        return new long[]{Long.parseLong(words[1]) - launched, Long.parseLong(words[2])};
+    }
+
+    /**
+     * 子进程：启动游戏，画出第一帧后报告时间并退出
+     */
+    private static void runChild() throws Exception {
+        // 存档和操作日志写入临时目录，进程退出时连同其中的文件一起删除
+        Path home = Files.createTempDirectory("darkroom-startup");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteTree(home)));
+        System.setProperty("user.home", home.toString());
+
+        if (GraphicsEnvironment.isHeadless()) {
+            SwingUtilities.invokeAndWait(StartupBenchmark::paintOffscreen);
+        } else {
+            // 窗口第一次收到绘制事件并处理完之后即为第一帧
+            Object lock = new Object();
+            Toolkit.getDefaultToolkit().addAWTEventListener(event -> {
+                if (firstFrameMillis == 0) {
+                    firstFrameMillis = -1;
+                    SwingUtilities.invokeLater(() -> {
+                        synchronized (lock) {
+                            firstFrameMillis = System.currentTimeMillis();
+                            lock.notifyAll();
+                        }
+                    });
+                }
+            }, AWTEvent.PAINT_EVENT_MASK);
+            SwingUtilities.invokeLater(() -> new FireRoomGame(false));
+            synchronized (lock) {
+                while (firstFrameMillis <= 0) {
+                    lock.wait();
+                }
+            }
+        }
+        long uptime = firstFrameMillis - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println(READY + " " + firstFrameMillis + " " + uptime);
+        System.exit(0);
+    }
+
+    /**
+     * 没有显示器时，按FireRoomGame的方式组装模型、控制器和界面，在内存图像上布局并绘制一次
+     */
+    private static void paintOffscreen() {
+        GameModel model = new GameModel();
+        EventManager eventManager = new EventManager(new EventBus(SwingUtilities::invokeLater));
+        GameClock clock = new GameClock();
+        MessagePanel messagePanel = new MessagePanel(eventManager, clock);
+        GameController controller = new GameController(model, eventManager, clock);
+        SceneManager sceneManager = new SceneManager(controller);
+
+        JPanel root = new JPanel(new BorderLayout());
+        root.add(new JScrollPane(messagePanel.getPanel()), BorderLayout.WEST);
+        root.add(sceneManager.getMainContentPanel(), BorderLayout.CENTER);
+        root.setSize(1000, 700);
+        layoutTree(root);
+
+        BufferedImage image = new BufferedImage(root.getWidth(), root.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        root.paint(graphics);
+        graphics.dispose();
+        firstFrameMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * 逐层布局组件（没有显示器时组件没有对等体，validate不会生效）
+     */
+    private static void layoutTree(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) {
+                layoutTree((Container) child);
+            }
+        }
+    }
+}
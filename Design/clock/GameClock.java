@@ -0,0 +1,287 @@
+package Design.clock;
+
+import Design.metrics.ClockFireEvent;
+import Design.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 游戏时钟类，统一调度游戏中的所有定时事件
+ * 所有控制器都在同一个时钟上登记事件，由单一的时间源推进，
+ * 因此无论游戏进行多久，底层计时器的数量都保持不变
+ */
+public class GameClock {
+    private final PriorityQueue<ScheduledEvent> queue = new PriorityQueue<>();
+    private long currentTime;     // 当前游戏时间（毫秒）
+    private long sequence = 0;    // 登记序号，保证同一时刻的事件按登记顺序触发
+    private boolean paused = false;
+    // 实时推进期间游戏时间与真实时间的对应关系，用于统计触发延迟；倍率为0表示不在实时推进中
+    private long referenceGameNanos;
+    private long referenceRealNanos;
+    private double referenceFactor;
+
+    /**
+     * 构造函数，时钟从0开始
+     */
+    public GameClock() {
+        this(0);
+    }
+
+    /**
+     * 构造函数
+     * @param startTime 起始游戏时间（毫秒），回放从中途开始的日志时使用
+     */
+    public GameClock(long startTime) {
+        this.currentTime = startTime;
+    }
+
+    /**
+     * 登记一次性事件
+     * @param name 事件名称
+     * @param delay 延迟时间（毫秒）
+     * @param action 事件动作
+     * @return 计划事件
+     */
+    public ScheduledEvent schedule(String name, long delay, Runnable action) {
+        return enqueue(name, action, currentTime + Math.max(0, delay), 0);
+    }
+
+    /**
+     * 登记周期性事件
+     * @param name 事件名称
+     * @param initialDelay 首次触发延迟（毫秒）
+     * @param period 周期（毫秒）
+     * @param action 事件动作
+     * @return 计划事件
+     */
+    public ScheduledEvent scheduleAtFixedRate(String name, long initialDelay, long period, Runnable action) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("周期必须大于0: " + period);
+        }
+        return enqueue(name, action, currentTime + Math.max(0, initialDelay), period);
+    }
+
+    /**
+     * 将事件加入队列
+     */
+    private ScheduledEvent enqueue(String name, Runnable action, long dueTime, long period) {
+        ScheduledEvent event = new ScheduledEvent(this, name, action, dueTime, period, sequence++);
+        queue.add(event);
+        return event;
+    }
+
+    /**
+     * 从队列中移除事件（由ScheduledEvent.cancel调用）
+     * @param event 计划事件
+     */
+    void remove(ScheduledEvent event) {
+        queue.remove(event);
+    }
+
+    /**
+     * 推进时钟，暂停时不推进
+     * @param delta 推进的时间（毫秒）
+     */
+    public void advance(long delta) {
+        if (paused || delta <= 0) {
+            return;
+        }
+        advanceTo(currentTime + delta);
+    }
+
+    /**
+     * 按真实时间推进时钟，与advance相同，同时统计每个事件实际触发比它的到期时刻晚了多少真实时间
+     * 到期时刻由本次推进的终点换算：终点对应真实时间realNanos，游戏时间每差1毫秒对应1/factor毫秒真实时间
+     * @param delta 推进的游戏时间（毫秒）
+     * @param realNanos 推进终点对应的真实时间（System.nanoTime）
+     * @param remainderNanos 终点之后尚未推进的不足1毫秒的游戏时间（纳秒）
+     * @param factor 时间倍率
+     */
+    public void advanceRealTime(long delta, long realNanos, long remainderNanos, double factor) {
+        referenceGameNanos = (currentTime + delta) * 1_000_000L + remainderNanos;
+        referenceRealNanos = realNanos;
+        referenceFactor = factor;
+        try {
+            advance(delta);
+        } finally {
+            referenceFactor = 0;
+        }
+    }
+
+    /**
+     * 将时钟推进到指定时间，并按到期顺序触发期间所有事件
+     * 事件动作暂停了时钟时，时钟停在该事件的到期时间，之后到期的事件留到恢复后再触发
+     * @param targetTime 目标游戏时间（毫秒）
+     */
+    public void advanceTo(long targetTime) {
+        ScheduledEvent event;
+        while (!paused && (event = queue.peek()) != null && event.getDueTime() <= targetTime) {
+            queue.poll();
+            currentTime = event.getDueTime();
+            if (event.isPeriodic()) {
+                // 先登记下一个周期，事件动作中可以直接取消自身
+                event.reschedule(sequence++);
+                queue.add(event);
+            }
+            ClockFireEvent fire = new ClockFireEvent();
+            long dueNanos = 0;
+            long startNanos = 0;
+            if (referenceFactor > 0 && (Metrics.ENABLED || fire.isEnabled())) {
+                // 只在实时推进中统计，模拟、快进和尽快推进时事件没有对应的真实到期时刻
+                dueNanos = toRealNanos(currentTime);
+                startNanos = System.nanoTime();
+                Metrics.CLOCK_LAG.recordValue(startNanos - dueNanos);
+            }
+            long start = Metrics.start();
+            fire.begin();
+            event.run();
+            fire.finish(event.getName(), currentTime, dueNanos, startNanos, event.isPeriodic());
+            Metrics.CLOCK_CALLBACK.record(start);
+        }
+        if (!paused && targetTime > currentTime) {
+            currentTime = targetTime;
+        }
+    }
+
+    /**
+     * 把游戏时间换算成实时推进中对应的真实时间，用于统计触发延迟（调用者确认正在实时推进）
+     * @param gameTime 游戏时间（毫秒）
+     * @return 对应的真实时间（System.nanoTime）
+     */
+    private long toRealNanos(long gameTime) {
+        return referenceRealNanos - (long) ((referenceGameNanos - gameTime * 1_000_000L) / referenceFactor);
+    }
+
+    /**
+     * 快进时钟，得到的状态与advance相同，但不逐次触发设置了追赶处理的周期性事件
+     * 以没有追赶处理的事件为分界，分界之前可合并事件的所有触发一次性交给追赶处理，
+     * 分界处的事件仍按正常顺序触发；开销与普通事件的数量成正比，与快进的时长无关
+     * @param delta 快进的时间（毫秒）
+     * @return 合并处理的触发次数
+     */
+    public long fastForward(long delta) {
+        if (paused || delta <= 0) {
+            return 0;
+        }
+        long targetTime = currentTime + delta;
+        long batched = 0;
+        while (true) {
+            // 找到下一个必须逐个触发的事件
+            long barrier = targetTime;
+            List<ScheduledEvent> due = new ArrayList<>();
+            for (ScheduledEvent event : queue) {
+                if (!event.hasCatchUp()) {
+                    barrier = Math.min(barrier, event.getDueTime());
+                }
+            }
+            for (ScheduledEvent event : queue) {
+                if (event.hasCatchUp() && event.getDueTime() < barrier) {
+                    due.add(event);
+                }
+            }
+            
+            if (!due.isEmpty()) {
+                // 按最后一次触发的时间依次重新登记，使同一时刻事件的先后顺序与逐次触发时一致
+                final long end = barrier;
+                due.sort(Comparator.<ScheduledEvent>comparingLong(event -> lastFiring(event, end))
+                        .thenComparing(Comparator.naturalOrder()));
+                queue.removeAll(due);
+                for (ScheduledEvent event : due) {
+                    if (event.isCancelled()) {
+                        continue;
+                    }
+                    long firings = (end - 1 - event.getDueTime()) / event.getPeriod() + 1;
+                    currentTime = lastFiring(event, end);
+                    event.skip(firings, sequence++);
+                    queue.add(event);
+                    event.runCatchUp(firings);
+                    batched += firings;
+                }
+            }
+            
+            advanceTo(barrier);
+            if (paused || barrier >= targetTime) {
+                Metrics.CLOCK_BATCHED.add(batched);
+                return batched;
+            }
+        }
+    }
+    
+    /**
+     * 计算事件在指定时间之前最后一次触发的时间
+     */
+    private static long lastFiring(ScheduledEvent event, long before) {
+        long firings = (before - 1 - event.getDueTime()) / event.getPeriod() + 1;
+        return event.getDueTime() + (firings - 1) * event.getPeriod();
+    }
+    
+    /**
+     * 暂停时钟
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * 恢复时钟
+     */
+    public void resume() {
+        paused = false;
+    }
+
+    /**
+     * 时钟是否已暂停
+     * @return 是否已暂停
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * 获取当前游戏时间
+     * @return 当前游戏时间（毫秒）
+     */
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * 获取下一个事件的到期时间
+     * @return 到期时间（毫秒），没有等待触发的事件时返回-1
+     */
+    public long getNextDueTime() {
+        ScheduledEvent next = queue.peek();
+        return next == null ? -1 : next.getDueTime();
+    }
+    
+    /**
+     * 获取等待触发的事件数量
+     * @return 事件数量
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * 获取所有等待触发的事件，按到期顺序排列
+     * @return 事件列表（只读）
+     */
+    public List<ScheduledEvent> getPendingEvents() {
+        List<ScheduledEvent> events = new ArrayList<>(queue);
+        Collections.sort(events);
+        return Collections.unmodifiableList(events);
+    }
+
+    /**
+     * 取消所有等待触发的事件
+     */
+    public void cancelAll() {
+        for (ScheduledEvent event : getPendingEvents()) {
+            event.cancel();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package Design.clock;
+
+import java.util.function.LongConsumer;
+
+/**
+ * 计划事件类，表示在游戏时钟上登记的一次性或周期性事件
+ */
+public class ScheduledEvent implements Comparable<ScheduledEvent> {
+    private final GameClock clock;
+    private final String name;
+    private final Runnable action;
+    private final long period; // 周期（毫秒），0表示一次性事件
+    private long dueTime;      // 到期时间（游戏时间，毫秒）
+    private long sequence;     // 登记序号，用于同一时刻事件的排序
+    private boolean cancelled;
+    private LongConsumer catchUp; // 快进时一次处理多次触发，为null时只能逐次触发
+
+    /**
+     * 构造函数
+     * @param clock 所属游戏时钟
+     * @param name 事件名称
+     * @param action 事件动作
+     * @param dueTime 到期时间
+     * @param period 周期，0表示一次性事件
+     * @param sequence 登记序号
+     */
+    ScheduledEvent(GameClock clock, String name, Runnable action, long dueTime, long period, long sequence) {
+        this.clock = clock;
+        this.name = name;
+        this.action = action;
+        this.dueTime = dueTime;
+        this.period = period;
+        this.sequence = sequence;
+    }
+
+    /**
+     * 获取事件名称
+     * @return 事件名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取到期时间
+     * @return 到期时间（游戏时间，毫秒）
+     */
+    public long getDueTime() {
+        return dueTime;
+    }
+
+    /**
+     * 获取距离到期的剩余时间
+     * @return 剩余时间（毫秒）
+     */
+    public long getRemainingDelay() {
+        return Math.max(0, dueTime - clock.getCurrentTime());
+    }
+
+    /**
+     * 获取事件周期
+     * @return 周期（毫秒），0表示一次性事件
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * 是否为周期性事件
+     * @return 是否为周期性事件
+     */
+    public boolean isPeriodic() {
+        return period > 0;
+    }
+
+    /**
+     * 是否已取消
+     * @return 是否已取消
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 取消事件，已取消的事件不会再被触发
+     */
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            clock.remove(this);
+        }
+    }
+
+    /**
+     * 设置快进时的追赶处理
+     * 时钟快进时，该周期性事件在两个普通事件之间的多次触发合并为一次调用，参数为合并的触发次数；
+     * 追赶处理应当以解析方式得到与逐次触发相同的模型状态，并且与其他追赶处理的顺序无关
+     * @param catchUp 追赶处理
+     */
+    public void setCatchUp(LongConsumer catchUp) {
+        this.catchUp = catchUp;
+    }
+    
+    /**
+     * 快进时能否合并处理
+     * @return 是否为设置了追赶处理的周期性事件
+     */
+    public boolean hasCatchUp() {
+        return catchUp != null && isPeriodic();
+    }
+    
+    /**
+     * 执行追赶处理
+     * @param firings 合并的触发次数
+     */
+    void runCatchUp(long firings) {
+        catchUp.accept(firings);
+    }
+    
+    /**
+     * 跳过多个周期
+     * @param firings 跳过的触发次数
+     * @param nextSequence 新的登记序号
+     */
+    void skip(long firings, long nextSequence) {
+        dueTime += firings * period;
+        sequence = nextSequence;
+    }
+    
+    /**
+     * 执行事件动作
+     */
+    void run() {
+        action.run();
+    }
+
+    /**
+     * 将周期性事件推迟到下一个周期
+     * @param nextSequence 新的登记序号
+     */
+    void reschedule(long nextSequence) {
+        dueTime += period;
+        sequence = nextSequence;
+    }
+
+    @Override
+    public int compareTo(ScheduledEvent other) {
+        if (dueTime != other.dueTime) {
+            return Long.compare(dueTime, other.dueTime);
+        }
+        return Long.compare(sequence, other.sequence);
+    }
+
+    @Override
+    public String toString() {
+        return name + "@" + dueTime + (isPeriodic() ? "/" + period : "");
+    }
+}
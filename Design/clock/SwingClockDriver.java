@@ -0,0 +1,80 @@
+package Design.clock;
+
+import Design.GameConstants;
+
+import javax.swing.Timer;
+
+/**
+ * Swing时钟驱动类，用唯一的一个Swing计时器推进游戏时钟
+ * 事件仍然在事件分发线程上触发，与原先各自使用Swing计时器时的线程语义一致；
+ * 推进的时间按TimeScale的倍率缩放，尽快推进模式下每帧逐个事件推进一段固定的真实时间
+ */
+public class SwingClockDriver {
+    private static final long MAX_BURST_NANOS = GameConstants.Timers.CLOCK_TICK_INTERVAL * 1_000_000L / 2; // 尽快推进模式下每帧最多占用的真实时间
+
+    private final GameClock clock;
+    private final Timer tickTimer;
+    private long lastTickNanos;
+    private long carryNanos; // 不足1毫秒的剩余时间，累计到下一次推进
+
+    /**
+     * 构造函数
+     * @param clock 游戏时钟
+     */
+    public SwingClockDriver(GameClock clock) {
+        this.clock = clock;
+        this.tickTimer = new Timer(GameConstants.Timers.CLOCK_TICK_INTERVAL, e -> tick());
+        this.tickTimer.setRepeats(true);
+    }
+
+    /**
+     * 启动驱动
+     */
+    public void start() {
+        lastTickNanos = TimeScale.nanoTime();
+        carryNanos = 0;
+        tickTimer.start();
+    }
+
+    /**
+     * 停止驱动
+     */
+    public void stop() {
+        tickTimer.stop();
+    }
+
+    /**
+     * 根据按倍率缩放后经过的时间推进游戏时钟
+     */
+    private void tick() {
+        if (TimeScale.isUnbounded()) {
+            burst();
+            return;
+        }
+        long now = TimeScale.nanoTime();
+        long realNow = System.nanoTime();
+        long elapsedNanos = now - lastTickNanos + carryNanos;
+        lastTickNanos = now;
+        long elapsedMillis = elapsedNanos / 1_000_000L;
+        carryNanos = elapsedNanos % 1_000_000L;
+        clock.advanceRealTime(elapsedMillis, realNow, carryNanos, TimeScale.getFactor());
+    }
+
+    /**
+     * 尽快推进：逐个跳到下一个事件并触发，超过本帧的时间预算后把剩余事件留到下一帧，
+     * 让界面仍能响应；事件的触发顺序与正常速度推进时相同
+     */
+    private void burst() {
+        long deadline = System.nanoTime() + MAX_BURST_NANOS;
+        while (!clock.isPaused() && System.nanoTime() < deadline) {
+            long nextDueTime = clock.getNextDueTime();
+            if (nextDueTime < 0) {
+                break;
+            }
+            clock.advanceTo(nextDueTime);
+        }
+        // 恢复倍率时从此刻重新计时
+        lastTickNanos = TimeScale.nanoTime();
+        carryNanos = 0;
+    }
+}
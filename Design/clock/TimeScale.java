@@ -0,0 +1,139 @@
+package Design.clock;
+
+/**
+ * 时间倍率类，统一控制游戏时间相对真实时间的流逝速度
+ * 游戏时钟（游戏进程、房间状态、消息过期）和冷却按钮都从这里读取经过缩放的时间，
+ * 因此所有延迟按同一倍率缩短，事件的先后顺序与正常速度完全相同；
+ * 倍率可以是1到1000倍，也可以是"max"（不等待真实时间，逐个事件尽快推进）
+ *
+ * 启动时可以用系统属性 -Ddarkroom.timeScale=100 或命令行参数 --speed=100 / --speed=max 设置
+ */
+public final class TimeScale {
+    public static final String PROPERTY = "darkroom.timeScale";
+    public static final String ARGUMENT_PREFIX = "--speed=";
+    public static final String MAX = "max";
+    public static final double MIN_FACTOR = 1;
+    public static final double MAX_FACTOR = 1000;
+
+    // 倍率变化时记录的基准点，缩放后的时间 = 基准缩放时间 + (当前真实时间 - 基准真实时间) * 倍率
+    private static double factor = MIN_FACTOR;
+    private static boolean unbounded = false;
+    private static long baseRealNanos = System.nanoTime();
+    private static long baseScaledNanos = baseRealNanos;
+
+    // 私有构造函数，防止实例化
+    private TimeScale() {
+        throw new UnsupportedOperationException("工具类不能被实例化");
+    }
+
+    /**
+     * 设置时间倍率
+     * @param newFactor 倍率，范围1到1000
+     */
+    public static synchronized void setFactor(double newFactor) {
+        if (!(newFactor >= MIN_FACTOR && newFactor <= MAX_FACTOR)) {
+            throw new IllegalArgumentException("时间倍率必须在" + (int) MIN_FACTOR + "到" + (int) MAX_FACTOR + "之间: " + newFactor);
+        }
+        rebase();
+        factor = newFactor;
+        unbounded = false;
+    }
+
+    /**
+     * 切换为尽快推进模式，游戏时钟不再等待真实时间，冷却立即结束
+     */
+    public static synchronized void setUnbounded() {
+        rebase();
+        unbounded = true;
+    }
+
+    /**
+     * 恢复正常速度
+     */
+    public static void reset() {
+        setFactor(MIN_FACTOR);
+    }
+
+    /**
+     * 解析倍率设置并应用
+     * @param value 倍率数字（如"100"、"2.5"、"100x"）或"max"
+     */
+    public static void apply(String value) {
+        String text = value.trim().toLowerCase();
+        if (MAX.equals(text)) {
+            setUnbounded();
+            return;
+        }
+        if (text.endsWith("x")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        try {
+            setFactor(Double.parseDouble(text));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无法识别的时间倍率: " + value, e);
+        }
+    }
+
+    /**
+     * 从命令行参数和系统属性读取倍率设置，命令行参数优先
+     * @param args 命令行参数
+     */
+    public static void configure(String[] args) {
+        String value = System.getProperty(PROPERTY);
+        for (String arg : args) {
+            if (arg.startsWith(ARGUMENT_PREFIX)) {
+                value = arg.substring(ARGUMENT_PREFIX.length());
+            }
+        }
+        if (value != null) {
+            apply(value);
+        }
+    }
+
+    /**
+     * 获取当前倍率
+     * @return 倍率，尽快推进模式下返回Double.POSITIVE_INFINITY
+     */
+    public static synchronized double getFactor() {
+        return unbounded ? Double.POSITIVE_INFINITY : factor;
+    }
+
+    /**
+     * 是否为尽快推进模式
+     * @return 是否不等待真实时间
+     */
+    public static synchronized boolean isUnbounded() {
+        return unbounded;
+    }
+
+    /**
+     * 获取经过缩放的单调时间，用法与System.nanoTime相同，只用于计算时间差
+     * 尽快推进模式下停在切换时的时刻，调用者应先检查isUnbounded
+     * @return 缩放后的时间（纳秒）
+     */
+    public static synchronized long nanoTime() {
+        if (unbounded) {
+            return baseScaledNanos;
+        }
+        return baseScaledNanos + (long) ((System.nanoTime() - baseRealNanos) * factor);
+    }
+
+    /**
+     * 以当前时刻为新的基准点，使倍率变化前经过的时间按旧倍率计算
+     */
+    private static void rebase() {
+        baseScaledNanos = nanoTime();
+        baseRealNanos = System.nanoTime();
+    }
+
+    /**
+     * 获取倍率的显示文本
+     * @return 如"100x"或"max"
+     */
+    public static synchronized String describe() {
+        if (unbounded) {
+            return MAX;
+        }
+        return (factor == Math.rint(factor) ? String.valueOf((long) factor) : String.valueOf(factor)) + "x";
+    }
+}
@@ -0,0 +1,527 @@
+package Design.content;
+
+import Design.GameConstants;
+import Design.controller.LootTable;
+import Design.model.BuildingType;
+import Design.model.Job;
+import Design.model.ResourceType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 内容目录类，描述建筑成本、数量上限、产出、村民工作、消息和消息池等游戏内容
+ * 启动时从content.properties读取一次，按建筑、工作和资源的枚举序号展开为紧凑的数组，
+ * 运行时的查找都是数组下标访问；文件中没有写出的条目使用GameConstants中的默认值
+ *
+ * 文件格式（UTF-8，键中的建筑和资源使用枚举名）：
+ *   building.HUT.cost=WOOD:100             建造成本，多种资源用逗号分隔
+ *   building.CART.limit=1                  数量上限，0表示不限
+ *   building.HUT.builtMessage=...          建造成功的消息
+ *   building.HUT.shortageMessage=...       资源不足的消息
+ *   building.CART.limitMessage=...         达到上限时的消息，为空时不提示
+ *   building.HUT.firstBuiltScene=孤独小屋   第一次建成后的场景名称
+ *   building.HUT.population=4              每个建筑提供的人口容量
+ *   building.CART.chopWoodYield=50         拥有该建筑时伐木获得的木头
+ *   building.TRAP.loot=FUR:0.5:1:毛皮碎片;...  掉落表，条目格式为 资源:概率:数量:描述
+ *   building.TRAP.lootExclusive=false      掉落表是否互斥
+ *   job.HUNTER.produce=FUR:0.5,MEAT:0.5    每名基础效率的村民每次产出的资源，可以是小数
+ *   job.TRAPPER.requires=TRAP              从事该工作需要的建筑，为空时不需要
+ *   value.initialWood=10                   开局木头
+ *   value.phase2InitialWood=5              第二阶段开始时的木头
+ *   value.chopWoodYield=10                 默认伐木获得的木头
+ *   messages.fire=火堆冒出火苗.|...          消息池，用竖线分隔
+ */
+public final class ContentCatalog {
+    public static final String PROPERTY = "darkroom.content";
+    public static final String RESOURCE = "/Design/content/content.properties";
+    public static final String FILE = "Design/content/content.properties";
+    public static final String POOL_FIRE = "fire";
+
+    private final Properties source; // 合并后的全部条目，用于在此基础上覆盖部分条目
+
+    private final int[][] costs = new int[BuildingType.COUNT][ResourceType.COUNT];
+    private final int[] limits = new int[BuildingType.COUNT];
+    private final String[] builtMessages = new String[BuildingType.COUNT];
+    private final String[] shortageMessages = new String[BuildingType.COUNT];
+    private final String[] limitMessages = new String[BuildingType.COUNT];
+    private final String[] firstBuiltScenes = new String[BuildingType.COUNT];
+    private final int[] populationCapacities = new int[BuildingType.COUNT];
+    private final int[] chopWoodYields = new int[BuildingType.COUNT];
+    private final LootTable[] lootTables = new LootTable[BuildingType.COUNT];
+    private final double[][] jobRates = new double[Job.COUNT][ResourceType.COUNT];
+    private final BuildingType[] jobRequirements = new BuildingType[Job.COUNT];
+    private final Map<String, String[]> messagePools = new HashMap<>();
+    private int initialWood;
+    private int phase2InitialWood;
+    private int defaultChopWoodYield;
+
+    /**
+     * 构造函数，先填入默认值再应用条目
+     * @param source 内容条目
+     */
+    private ContentCatalog(Properties source) {
+        this.source = source;
+        applyDefaults();
+        for (String key : source.stringPropertyNames()) {
+            apply(key, source.getProperty(key).trim());
+        }
+    }
+
+    /**
+     * 获取启动时加载的共享内容目录
+     * @return 内容目录
+     */
+    public static ContentCatalog getDefault() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 只包含默认值的内容目录
+     * @return 内容目录
+     */
+    public static ContentCatalog defaults() {
+        return new ContentCatalog(new Properties());
+    }
+
+    /**
+     * 由内容条目创建内容目录
+     * @param properties 内容条目
+     * @return 内容目录
+     * @throws IllegalArgumentException 条目名称未知或取值格式不正确
+     */
+    public static ContentCatalog fromProperties(Properties properties) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return new ContentCatalog(copy);
+    }
+
+    /**
+     * 依次查找系统属性darkroom.content指定的文件、类路径中的资源和工作目录下的content.properties，
+     * 读取第一个找到的内容文件；都找不到时只使用默认值
+     * @return 内容目录
+     */
+    public static ContentCatalog load() {
+        Properties properties = new Properties();
+        try {
+            String path = System.getProperty(PROPERTY);
+            if (path != null) {
+                read(properties, Files.newInputStream(Paths.get(path)));
+            } else {
+                InputStream resource = ContentCatalog.class.getResourceAsStream(RESOURCE);
+                Path file = Paths.get(FILE);
+                if (resource != null) {
+                    read(properties, resource);
+                } else if (Files.isRegularFile(file)) {
+                    read(properties, Files.newInputStream(file));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("读取内容文件失败，使用默认内容: " + e.getMessage());
+            properties.clear();
+        }
+        return new ContentCatalog(properties);
+    }
+
+    /**
+     * 在当前内容的基础上覆盖部分条目（例如数值平衡模拟中调整成本）
+     * @param overrides 要覆盖的条目
+     * @return 新的内容目录
+     */
+    public ContentCatalog withOverrides(Properties overrides) {
+        Properties merged = new Properties();
+        merged.putAll(source);
+        merged.putAll(overrides);
+        return new ContentCatalog(merged);
+    }
+
+    /**
+     * 获取建造成本
+     * @param building 建筑类型
+     * @param resource 资源类型
+     * @return 消耗数量
+     */
+    public int getCost(BuildingType building, ResourceType resource) {
+        return costs[building.ordinal()][resource.ordinal()];
+    }
+
+    /**
+     * 获取建筑数量上限
+     * @param building 建筑类型
+     * @return 数量上限，0表示不限
+     */
+    public int getLimit(BuildingType building) {
+        return limits[building.ordinal()];
+    }
+
+    /**
+     * 是否已达到数量上限
+     * @param building 建筑类型
+     * @param count 当前数量
+     * @return 是否已达到上限
+     */
+    public boolean isAtLimit(BuildingType building, int count) {
+        int limit = limits[building.ordinal()];
+        return limit > 0 && count >= limit;
+    }
+
+    /**
+     * 获取建造成功的消息
+     * @param building 建筑类型
+     * @return 消息，没有时返回null
+     */
+    public String getBuiltMessage(BuildingType building) {
+        return builtMessages[building.ordinal()];
+    }
+
+    /**
+     * 获取资源不足的消息
+     * @param building 建筑类型
+     * @return 消息
+     */
+    public String getShortageMessage(BuildingType building) {
+        return shortageMessages[building.ordinal()];
+    }
+
+    /**
+     * 获取达到数量上限时的消息
+     * @param building 建筑类型
+     * @return 消息，不提示时返回null
+     */
+    public String getLimitMessage(BuildingType building) {
+        return limitMessages[building.ordinal()];
+    }
+
+    /**
+     * 获取第一次建成后的场景名称
+     * @param building 建筑类型
+     * @return 场景名称，不改变场景时返回null
+     */
+    public String getFirstBuiltScene(BuildingType building) {
+        return firstBuiltScenes[building.ordinal()];
+    }
+
+    /**
+     * 获取每个建筑提供的人口容量
+     * @param building 建筑类型
+     * @return 人口容量
+     */
+    public int getPopulationCapacity(BuildingType building) {
+        return populationCapacities[building.ordinal()];
+    }
+
+    /**
+     * 获取拥有该建筑时伐木获得的木头
+     * @param building 建筑类型
+     * @return 木头数量，0表示不影响伐木
+     */
+    public int getChopWoodYield(BuildingType building) {
+        return chopWoodYields[building.ordinal()];
+    }
+
+    /**
+     * 获取默认伐木获得的木头
+     * @return 木头数量
+     */
+    public int getDefaultChopWoodYield() {
+        return defaultChopWoodYield;
+    }
+
+    /**
+     * 获取建筑的掉落表
+     * @param building 建筑类型
+     * @return 掉落表，没有产出时返回null
+     */
+    public LootTable getLootTable(BuildingType building) {
+        return lootTables[building.ordinal()];
+    }
+
+    /**
+     * 获取村民每次工作的产出
+     * @param job 工作
+     * @param resource 资源类型
+     * @return 一名基础效率的村民每次产出的数量
+     */
+    public double getJobRate(Job job, ResourceType resource) {
+        return jobRates[job.ordinal()][resource.ordinal()];
+    }
+
+    /**
+     * 获取从事工作需要的建筑
+     * @param job 工作
+     * @return 建筑类型，不需要建筑时返回null
+     */
+    public BuildingType getJobRequirement(Job job) {
+        return jobRequirements[job.ordinal()];
+    }
+
+    /**
+     * 获取开局木头
+     * @return 木头数量
+     */
+    public int getInitialWood() {
+        return initialWood;
+    }
+
+    /**
+     * 获取第二阶段开始时的木头
+     * @return 木头数量
+     */
+    public int getPhase2InitialWood() {
+        return phase2InitialWood;
+    }
+
+    /**
+     * 获取消息池
+     * @param name 消息池名称
+     * @return 消息数组的副本，没有时返回空数组
+     */
+    public String[] getMessagePool(String name) {
+        String[] pool = messagePools.get(name);
+        return pool == null ? new String[0] : pool.clone();
+    }
+
+    /**
+     * 格式化建造成本，用于按钮提示
+     * @param building 建筑类型
+     * @return 如"木头-100"，多种资源用空格分隔
+     */
+    public String formatCost(BuildingType building) {
+        StringBuilder builder = new StringBuilder();
+        for (ResourceType resource : ResourceType.values()) {
+            int cost = costs[building.ordinal()][resource.ordinal()];
+            if (cost > 0) {
+                if (builder.length() > 0) {
+                    builder.append(' ');
+                }
+                builder.append(resource.getDisplayName()).append('-').append(cost);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 填入与GameConstants一致的默认内容
+     */
+    private void applyDefaults() {
+        costs[BuildingType.HUT.ordinal()][ResourceType.WOOD.ordinal()] = GameConstants.BuildingCosts.HUT_COST;
+        costs[BuildingType.TRAP.ordinal()][ResourceType.WOOD.ordinal()] = GameConstants.BuildingCosts.TRAP_COST;
+        costs[BuildingType.CART.ordinal()][ResourceType.WOOD.ordinal()] = GameConstants.BuildingCosts.CART_COST;
+        limits[BuildingType.CART.ordinal()] = 1;
+        builtMessages[BuildingType.HUT.ordinal()] = GameConstants.Messages.HUT_BUILT;
+        builtMessages[BuildingType.TRAP.ordinal()] = GameConstants.Messages.TRAP_MORE_PREY;
+        builtMessages[BuildingType.CART.ordinal()] = GameConstants.Messages.CART_BUILT;
+        for (BuildingType building : BuildingType.values()) {
+            shortageMessages[building.ordinal()] = GameConstants.Messages.WOOD_SHORTAGE;
+        }
+        firstBuiltScenes[BuildingType.HUT.ordinal()] = GameConstants.Scenes.LONELY_HUT;
+        populationCapacities[BuildingType.HUT.ordinal()] = GameConstants.GameValues.HUT_POPULATION_CAPACITY;
+        chopWoodYields[BuildingType.CART.ordinal()] = GameConstants.GameValues.CART_WOOD_GAIN;
+        lootTables[BuildingType.TRAP.ordinal()] = LootTable.defaultTrapTable();
+        jobRates[Job.GATHERER.ordinal()][ResourceType.WOOD.ordinal()] = 1;
+        jobRates[Job.HUNTER.ordinal()][ResourceType.FUR.ordinal()] = 0.5;
+        jobRates[Job.HUNTER.ordinal()][ResourceType.MEAT.ordinal()] = 0.5;
+        jobRates[Job.TRAPPER.ordinal()][ResourceType.MEAT.ordinal()] = 1;
+        jobRates[Job.TRAPPER.ordinal()][ResourceType.TEETH.ordinal()] = 0.25;
+        jobRequirements[Job.TRAPPER.ordinal()] = BuildingType.TRAP;
+        initialWood = 10;
+        phase2InitialWood = GameConstants.GameValues.PHASE2_INITIAL_WOOD;
+        defaultChopWoodYield = GameConstants.GameValues.DEFAULT_WOOD_GAIN;
+        messagePools.put(POOL_FIRE, new String[]{"火堆冒出火苗.", "火光映出窗外，射入黑暗之中.", "火堆燃烧着.", "火堆熊熊燃烧."});
+    }
+
+    /**
+     * 应用一个条目
+     * @param key 条目名称
+     * @param value 条目取值
+     */
+    private void apply(String key, String value) {
+        String[] parts = key.split("\\.", 3);
+        try {
+            if ("building".equals(parts[0]) && parts.length == 3) {
+                applyBuilding(BuildingType.valueOf(parts[1]), parts[2], value);
+            } else if ("job".equals(parts[0]) && parts.length == 3) {
+                applyJob(Job.valueOf(parts[1]), parts[2], value);
+            } else if ("value".equals(parts[0]) && parts.length == 2) {
+                applyValue(parts[1], value);
+            } else if ("messages".equals(parts[0]) && parts.length == 2) {
+                messagePools.put(parts[1], value.split("\\|"));
+            } else {
+                throw new IllegalArgumentException("未知的条目");
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("内容条目 " + key + "=" + value + " 无效: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 应用建筑条目
+     */
+    private void applyBuilding(BuildingType building, String attribute, String value) {
+        int index = building.ordinal();
+        switch (attribute) {
+            case "cost":
+                costs[index] = new int[ResourceType.COUNT];
+                for (String item : splitList(value, ",")) {
+                    String[] pair = item.split(":");
+                    if (pair.length != 2) {
+                        throw new IllegalArgumentException("成本格式应为 资源:数量");
+                    }
+                    costs[index][ResourceType.valueOf(pair[0].trim()).ordinal()] = parseNonNegative(pair[1]);
+                }
+                break;
+            case "limit":
+                limits[index] = parseNonNegative(value);
+                break;
+            case "builtMessage":
+                builtMessages[index] = emptyToNull(value);
+                break;
+            case "shortageMessage":
+                shortageMessages[index] = emptyToNull(value);
+                break;
+            case "limitMessage":
+                limitMessages[index] = emptyToNull(value);
+                break;
+            case "firstBuiltScene":
+                firstBuiltScenes[index] = emptyToNull(value);
+                break;
+            case "population":
+                populationCapacities[index] = parseNonNegative(value);
+                break;
+            case "chopWoodYield":
+                chopWoodYields[index] = parseNonNegative(value);
+                break;
+            case "loot":
+                lootTables[index] = parseLootTable(value, Boolean.parseBoolean(
+                        source.getProperty("building." + building.name() + ".lootExclusive", "false").trim()));
+                break;
+            case "lootExclusive":
+                // 与loot一起解析
+                break;
+            default:
+                throw new IllegalArgumentException("未知的建筑属性");
+        }
+    }
+
+    /**
+     * 应用工作条目
+     */
+    private void applyJob(Job job, String attribute, String value) {
+        int index = job.ordinal();
+        switch (attribute) {
+            case "produce":
+                jobRates[index] = new double[ResourceType.COUNT];
+                for (String item : splitList(value, ",")) {
+                    String[] pair = item.split(":");
+                    if (pair.length != 2) {
+                        throw new IllegalArgumentException("产出格式应为 资源:数量");
+                    }
+                    double rate = Double.parseDouble(pair[1].trim());
+                    if (!(rate >= 0)) {
+                        throw new IllegalArgumentException("不能为负数");
+                    }
+                    jobRates[index][ResourceType.valueOf(pair[0].trim()).ordinal()] = rate;
+                }
+                break;
+            case "requires":
+                jobRequirements[index] = value.isEmpty() ? null : BuildingType.valueOf(value);
+                break;
+            default:
+                throw new IllegalArgumentException("未知的工作属性");
+        }
+    }
+
+    /**
+     * 应用数值条目
+     */
+    private void applyValue(String name, String value) {
+        switch (name) {
+            case "initialWood":
+                initialWood = parseNonNegative(value);
+                break;
+            case "phase2InitialWood":
+                phase2InitialWood = parseNonNegative(value);
+                break;
+            case "chopWoodYield":
+                defaultChopWoodYield = parseNonNegative(value);
+                break;
+            default:
+                throw new IllegalArgumentException("未知的数值");
+        }
+    }
+
+    /**
+     * 解析掉落表
+     * @param value 条目列表，格式为 资源:概率:数量:描述，用分号分隔
+     * @param exclusive 是否为互斥掉落
+     * @return 掉落表，列表为空时返回null
+     */
+    private static LootTable parseLootTable(String value, boolean exclusive) {
+        String[] items = splitList(value, ";");
+        if (items.length == 0) {
+            return null;
+        }
+        LootTable table = new LootTable(exclusive);
+        for (String item : items) {
+            String[] fields = item.split(":", 4);
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("掉落条目格式应为 资源:概率:数量:描述");
+            }
+            table.addEntry(ResourceType.valueOf(fields[0].trim()), Double.parseDouble(fields[1].trim()),
+                    Integer.parseInt(fields[2].trim()), fields[3].trim());
+        }
+        return table;
+    }
+
+    /**
+     * 按分隔符拆分并去掉空白项
+     */
+    private static String[] splitList(String value, String separator) {
+        return Arrays.stream(value.split(separator)).map(String::trim).filter(s -> !s.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * 解析非负整数
+     */
+    private static int parseNonNegative(String value) {
+        int result = Integer.parseInt(value.trim());
+        if (result < 0) {
+            throw new IllegalArgumentException("不能为负数");
+        }
+        return result;
+    }
+
+    /**
+     * 空字符串视为没有设置
+     */
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 读取UTF-8编码的内容文件
+     */
+    private static void read(Properties properties, InputStream in) throws IOException {
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+    }
+
+    /**
+     * 延迟加载共享内容目录
+     */
+    private static final class Holder {
+        private static final ContentCatalog INSTANCE = load();
+    }
+}
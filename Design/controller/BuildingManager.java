@@ -0,0 +1,143 @@
+package Design.controller;
+
+import Design.content.ContentCatalog;
+import Design.event.EventManager;
+import Design.model.BuildingType;
+import Design.model.GameModel;
+import Design.model.ResourceType;
+import Design.service.MessageService;
+import Design.service.ResourceService;
+import Design.service.ResourceTransaction;
+
+/**
+ * 建筑管理器类，按内容目录处理所有建筑的建造和建筑带来的效果
+ * 成本、数量上限、消息、场景变化、人口容量和伐木产出都来自ContentCatalog，
+ * 增加新建筑只需要修改内容文件，不需要新的管理器类
+ */
+public class BuildingManager {
+    private GameModel model;
+    private EventManager eventManager;
+    private MessageService messageService;
+    private ResourceService resourceService;
+    private ContentCatalog content;
+
+    /**
+     * 构造函数
+     * @param model 游戏模型
+     * @param eventManager 事件管理器
+     * @param messageService 消息服务
+     * @param resourceService 资源服务
+     * @param content 内容目录
+     */
+    public BuildingManager(GameModel model, EventManager eventManager, MessageService messageService,
+                           ResourceService resourceService, ContentCatalog content) {
+        this.model = model;
+        this.eventManager = eventManager;
+        this.messageService = messageService;
+        this.resourceService = resourceService;
+        this.content = content;
+    }
+
+    /**
+     * 建造建筑
+     * 扣除成本和增加建筑在同一个事务中完成，数量上限在提交时原子地检查，
+     * 资源不足或已达上限时不发生任何变化
+     * @param type 建筑类型
+     * @return 是否建造成功
+     */
+    public boolean build(BuildingType type) {
+        // 已达上限时直接提示，不必尝试扣除成本；并发建造由提交时的检查保证不超出上限
+        if (content.isAtLimit(type, model.getBuilding(type))) {
+            sendMessage(content.getLimitMessage(type));
+            return false;
+        }
+
+        ResourceTransaction transaction = resourceService.begin();
+        for (ResourceType resource : ResourceType.values()) {
+            int cost = content.getCost(type, resource);
+            if (cost > 0) {
+                transaction.spend(resource, cost);
+            }
+        }
+        if (!transaction.addBuilding(type, 1, content.getLimit(type)).commit()) {
+            sendMessage(transaction.isLimitReached() ? content.getLimitMessage(type) : content.getShortageMessage(type));
+            return false;
+        }
+
+        sendMessage(content.getBuiltMessage(type));
+
+        // 第一次建成时切换场景名称（例如第一栋小屋之后变为"孤独小屋"）
+        // 按本次提交前的数量判断，同时建造多座时只有从0建到1的那一次切换
+        String scene = content.getFirstBuiltScene(type);
+        if (scene != null && transaction.getBuildingBefore(type) == 0) {
+            eventManager.notifySceneNameChangeListeners(scene);
+        }
+        return true;
+    }
+
+    /**
+     * 读档后按已有建筑恢复场景名称
+     */
+    public void restoreSceneName() {
+        for (BuildingType type : BuildingType.values()) {
+            String scene = content.getFirstBuiltScene(type);
+            if (scene != null && model.getBuilding(type) > 0) {
+                eventManager.notifySceneNameChangeListeners(scene);
+            }
+        }
+    }
+
+    /**
+     * 获取建筑数量
+     * @param type 建筑类型
+     * @return 建筑数量
+     */
+    public int getCount(BuildingType type) {
+        return model.getBuilding(type);
+    }
+
+    /**
+     * 获取伐木获得的木头数量，取已有建筑中最高的伐木产出
+     * @return 木头数量
+     */
+    public int getWoodGainAmount() {
+        int amount = content.getDefaultChopWoodYield();
+        for (BuildingType type : BuildingType.values()) {
+            int yield = content.getChopWoodYield(type);
+            if (yield > amount && model.getBuilding(type) > 0) {
+                amount = yield;
+            }
+        }
+        return amount;
+    }
+
+    /**
+     * 计算人口容量
+     * @return 所有建筑提供的人口容量之和
+     */
+    public int getPopulationCapacity() {
+        int capacity = 0;
+        for (BuildingType type : BuildingType.values()) {
+            capacity += model.getBuilding(type) * content.getPopulationCapacity(type);
+        }
+        return capacity;
+    }
+
+    /**
+     * 获取内容目录
+     * @return 内容目录
+     */
+    public ContentCatalog getContent() {
+        return content;
+    }
+
+    /**
+     * 发送消息，消息为null时不发送
+     * @param message 消息内容
+     */
+    private void sendMessage(String message) {
+        if (message != null) {
+            messageService.sendMessage(message);
+        }
+    }
+}
@@ -1,45 +1,110 @@
 package Design.controller;
 
 import Design.GameConstants;
+import Design.clock.GameClock;
+import Design.clock.ScheduledEvent;
+import Design.content.ContentCatalog;
 import Design.event.EventManager;
+import Design.journal.ActionJournal;
+import Design.journal.ActionType;
+import Design.metrics.LatencyHistogram;
+import Design.metrics.Metrics;
+import Design.model.BuildingType;
 import Design.model.GameModel;
+import Design.model.Job;
+import Design.model.ResourceType;
+import Design.model.Villagers;
+import Design.save.GameSnapshot;
 import Design.service.MessageService;
 import Design.service.ResourceService;
-import Design.view.SceneManager;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * 游戏控制器类，负责处理游戏逻辑
  */
 public class GameController {
+    // 游戏进程事件名称
+    public static final String EVENT_INTRO = "game.intro";
+    public static final String EVENT_STRANGER_ARRIVAL = "stranger.arrival";
+    public static final String EVENT_STRANGER_MUMBLE = "stranger.mumble";
+    public static final String EVENT_STRANGER_CALM = "stranger.calm";
+    public static final String EVENT_STRANGER_HELP = "stranger.help";
+    public static final String EVENT_BUILDER_TRAPS = "builder.traps";
+    public static final String EVENT_BUILDER_CART = "builder.cart";
+    public static final String EVENT_BUILDER_WANDERERS = "builder.wanderers";
+    
+    // 各玩家操作的耗时，按ActionType的序号排列
+    private static final LatencyHistogram[] ACTION_LATENCY = createActionHistograms();
+    
     private GameModel model;
     private EventManager eventManager;
+    private GameClock clock;
     private MessageService messageService;
     private ResourceService resourceService;
-    private SceneManager sceneManager;
+    private Random random;
+    private ContentCatalog content;
+    private String[] fireMessages; // 添柴时随机显示的消息
+    private ActionJournal actionJournal; // 操作日志，为null时不记录
     private TrapManager trapManager;
-    private VehicleManager vehicleManager;
-    private RoomManager roomManager;
+    private BuildingManager buildingManager;
+    private PopulationManager populationManager;
     private RoomStatusTimerManager roomStatusTimerManager;
     
     /**
-     * 构造函数
+     * 构造函数，使用独立的游戏时钟
      * @param model 游戏模型
      * @param eventManager 事件管理器
      */
     public GameController(GameModel model, EventManager eventManager) {
+        this(model, eventManager, new GameClock());
+    }
+    
+    /**
+     * 构造函数，使用不固定种子的随机数生成器
+     * @param model 游戏模型
+     * @param eventManager 事件管理器
+     * @param clock 游戏时钟
+     */
+    public GameController(GameModel model, EventManager eventManager, GameClock clock) {
+        this(model, eventManager, clock, new Random());
+    }
+    
+    /**
+     * 构造函数
+     * @param model 游戏模型
+     * @param eventManager 事件管理器
+     * @param clock 游戏时钟
+     * @param random 随机数生成器，传入固定种子可以得到可重现的游戏过程
+     */
+    public GameController(GameModel model, EventManager eventManager, GameClock clock, Random random) {
+        this(model, eventManager, clock, random, ContentCatalog.getDefault());
+    }
+    
+    /**
+     * 构造函数
+     * @param model 游戏模型
+     * @param eventManager 事件管理器
+     * @param clock 游戏时钟
+     * @param random 随机数生成器，传入固定种子可以得到可重现的游戏过程
+     * @param content 内容目录，提供建筑成本、产出和消息
+     */
+    public GameController(GameModel model, EventManager eventManager, GameClock clock, Random random, ContentCatalog content) {
         this.model = model; // 初始化游戏模型
         this.eventManager = eventManager; // 初始化事件管理器
-        this.messageService = new MessageService(eventManager); // 初始化消息服务，用于发送游戏内消息
+        this.clock = clock; // 初始化游戏时钟，所有定时事件都在此登记
+        this.random = random; // 初始化随机数生成器，所有随机逻辑共用
+        this.content = content; // 初始化内容目录
+        this.fireMessages = content.getMessagePool(ContentCatalog.POOL_FIRE);
+        this.messageService = new MessageService(eventManager, random); // 初始化消息服务，用于发送游戏内消息
         this.resourceService = new ResourceService(model, eventManager); // 初始化资源服务，用于管理游戏资源
-        this.trapManager = new TrapManager(model, messageService, resourceService); // 初始化陷阱管理器，处理陷阱相关逻辑
-        this.vehicleManager = new VehicleManager(model, eventManager, messageService); // 初始化载具管理器，处理载具相关逻辑
-        this.roomManager = new RoomManager(model, eventManager, messageService, resourceService); // 初始化房间管理器，处理小屋相关逻辑和场景切换
-        this.roomStatusTimerManager = new RoomStatusTimerManager(model, eventManager, messageService); // 初始化房间状态计时器管理器，处理房间状态更新计时
+        this.trapManager = new TrapManager(model, messageService, resourceService, random, content); // 初始化陷阱管理器，处理查看陷阱的产出
+        this.buildingManager = new BuildingManager(model, eventManager, messageService, resourceService, content); // 初始化建筑管理器，按内容目录处理所有建筑的建造和场景切换
+        this.populationManager = new PopulationManager(model, eventManager, messageService, resourceService, buildingManager, clock, random, content); // 初始化人口管理器，处理流浪者的到来和村民的分工产出
+        this.roomStatusTimerManager = new RoomStatusTimerManager(model, messageService, clock); // 初始化房间状态计时器管理器，处理房间状态更新计时
         
         // 初始化游戏
         initializeGame();
@@ -50,79 +115,65 @@ public class GameController {
      */
     protected void initializeGame() {
         // 添加初始木头资源（不显示）
-        model.increaseResource("木头", 10);
+        model.increaseResource(ResourceType.WOOD, content.getInitialWood());
         
-        // 使用计时器延迟添加初始消息，确保消息监听器已经注册
-        Timer initialMessageTimer = new Timer(500, e -> {
-            // 添加初始消息
-            addMessage("火堆熄灭了.");
-            addMessage("房间冰冷刺骨.");
-            
-            // 启动第一阶段房间状态更新计时器
-            roomStatusTimerManager.startPhase1Timer();
-        });
-        initialMessageTimer.setRepeats(false);
-        initialMessageTimer.start();
+        // 延迟添加初始消息，确保消息监听器已经注册
+        scheduleProgressionEvent(EVENT_INTRO, GameConstants.Timers.INITIAL_MESSAGE_DELAY);
     }
     
-
+    /**
+     * 显示初始消息
+     */
+    private void showIntro() {
+        // 添加初始消息
+        addMessage("火堆熄灭了.");
+        addMessage("房间冰冷刺骨.");
+        
+        // 启动第一阶段房间状态更新计时器
+        roomStatusTimerManager.startPhase1Timer();
+    }
     
     /**
      * 添加燃料（添柴）
      */
     public void addFuel() {
+        long start = Metrics.start();
+        journal(ActionType.ADD_FUEL);
         if (model.isGamePhase2()) {
             // 第二阶段：需要消耗木头
-            int currentWood = model.getResource("木头");
-            if (currentWood >= 1) {
-                model.decreaseResource("木头", 1);
+            if (resourceService.decreaseResource(ResourceType.WOOD, 1)) {
                 model.increaseRoomHeat();
-                String[] messages = {"火堆冒出火苗.", "火光映出窗外，射入黑暗之中.", "火堆燃烧着.", "火堆熊熊燃烧."};
-                addMessage(messages[(int) (Math.random() * messages.length)]);
-                eventManager.notifyResourceChangeListeners(model.getResources());
+                messageService.sendRandomMessage(fireMessages);
             } else {
                 addMessage(GameConstants.Messages.WOOD_SHORTAGE);
             }
         } else {
             // 第一阶段：不需要消耗木头，可以无限添柴
             model.increaseRoomHeat();
-            String[] messages = {"火堆冒出火苗.", "火光映出窗外，射入黑暗之中.", "火堆燃烧着.", "火堆熊熊燃烧."};
-            addMessage(messages[(int) (Math.random() * messages.length)]);
+            messageService.sendRandomMessage(fireMessages);
             
             // 游戏进程基于第一次点击
             if (!model.isGamePhase2()) {
                 triggerGameProgression();
             }
         }
+        recordAction(ActionType.ADD_FUEL, start);
     }
     
     /**
      * 触发游戏进程
+     * 陌生人的到来依次登记在游戏时钟上，各条消息的延迟累加计算
      */
     private void triggerGameProgression() {
         model.setGamePhase2(true);
-        Timer strangerArrivalTimer = new Timer(GameConstants.Timers.STRANGER_ARRIVAL_DELAY, ev -> {
-            addMessage(GameConstants.Messages.STRANGER_ARRIVAL);
-            Timer strangerMumbleTimer = new Timer(GameConstants.Timers.STRANGER_MUMBLE_DELAY, ev2 -> {
-                addMessage(GameConstants.Messages.STRANGER_MUMBLE);
-                Timer strangerCalmTimer = new Timer(GameConstants.Timers.STRANGER_CALM_DELAY, ev3 -> {
-                    addMessage(GameConstants.Messages.STRANGER_CALM);
-                    Timer strangerHelpTimer = new Timer(GameConstants.Timers.STRANGER_HELP_DELAY, ev4 -> {
-                        addMessage(GameConstants.Messages.STRANGER_HELP);
-                        // 触发游戏第二阶段
-                        triggerGamePhase2();
-                    });
-                    strangerHelpTimer.setRepeats(false);
-                    strangerHelpTimer.start();
-                });
-                strangerCalmTimer.setRepeats(false);
-                strangerCalmTimer.start();
-            });
-            strangerMumbleTimer.setRepeats(false);
-            strangerMumbleTimer.start();
-        });
-        strangerArrivalTimer.setRepeats(false);
-        strangerArrivalTimer.start();
+        long delay = GameConstants.Timers.STRANGER_ARRIVAL_DELAY;
+        scheduleProgressionEvent(EVENT_STRANGER_ARRIVAL, delay);
+        delay += GameConstants.Timers.STRANGER_MUMBLE_DELAY;
+        scheduleProgressionEvent(EVENT_STRANGER_MUMBLE, delay);
+        delay += GameConstants.Timers.STRANGER_CALM_DELAY;
+        scheduleProgressionEvent(EVENT_STRANGER_CALM, delay);
+        delay += GameConstants.Timers.STRANGER_HELP_DELAY;
+        scheduleProgressionEvent(EVENT_STRANGER_HELP, delay);
     }
     
     /**
@@ -130,60 +181,307 @@ public class GameController {
      */
     private void triggerGamePhase2() {
         // 重置木头资源为5
-        model.getResources().clear();
-        model.increaseResource("木头", 5);
-        eventManager.notifyResourceChangeListeners(model.getResources());
+        model.clearResources();
+        model.increaseResource(ResourceType.WOOD, content.getPhase2InitialWood());
+        resourceService.notifyResourceChange();
+        
+        // 启动第二阶段房间状态计时器
+        roomStatusTimerManager.startPhase2Timers();
+        
+        // 村民开始产出，有空位时等待流浪者到来
+        populationManager.start();
         
         // 通知游戏阶段变化
         eventManager.notifyGamePhaseChangeListeners(true);
         
         // 第二阶段消息
-        Timer phase2MessagesTimer = new Timer(GameConstants.Timers.PHASE2_MESSAGES_DELAY, e -> {
-            addMessage(GameConstants.Messages.BUILDER_TRAPS);
-            Timer message2Timer = new Timer(GameConstants.Timers.PHASE2_MESSAGE2_DELAY, ev2 -> {
-                addMessage(GameConstants.Messages.BUILDER_CART);
-                Timer message3Timer = new Timer(GameConstants.Timers.PHASE2_MESSAGE3_DELAY, ev3 -> {
-                    addMessage(GameConstants.Messages.BUILDER_WANDERERS);
-                });
-                message3Timer.setRepeats(false);
-                message3Timer.start();
-            });
-            message2Timer.setRepeats(false);
-            message2Timer.start();
-        });
-        phase2MessagesTimer.setRepeats(false);
-        phase2MessagesTimer.start();
+        long delay = GameConstants.Timers.PHASE2_MESSAGES_DELAY;
+        scheduleProgressionEvent(EVENT_BUILDER_TRAPS, delay);
+        delay += GameConstants.Timers.PHASE2_MESSAGE2_DELAY;
+        scheduleProgressionEvent(EVENT_BUILDER_CART, delay);
+        delay += GameConstants.Timers.PHASE2_MESSAGE3_DELAY;
+        scheduleProgressionEvent(EVENT_BUILDER_WANDERERS, delay);
+    }
+    
+    /**
+     * 在游戏时钟上登记游戏进程事件
+     * @param name 事件名称
+     * @param delay 延迟时间（毫秒）
+     */
+    private void scheduleProgressionEvent(String name, long delay) {
+        clock.schedule(name, delay, progressionAction(name));
+    }
+    
+    /**
+     * 根据事件名称获取游戏进程事件的动作，读档时据此重新登记事件
+     * @param name 事件名称
+     * @return 事件动作，不是游戏进程事件时返回null
+     */
+    private Runnable progressionAction(String name) {
+        switch (name) {
+            case EVENT_INTRO:
+                return this::showIntro;
+            case EVENT_STRANGER_ARRIVAL:
+                return () -> addMessage(GameConstants.Messages.STRANGER_ARRIVAL);
+            case EVENT_STRANGER_MUMBLE:
+                return () -> addMessage(GameConstants.Messages.STRANGER_MUMBLE);
+            case EVENT_STRANGER_CALM:
+                return () -> addMessage(GameConstants.Messages.STRANGER_CALM);
+            case EVENT_STRANGER_HELP:
+                return () -> {
+                    addMessage(GameConstants.Messages.STRANGER_HELP);
+                    // 触发游戏第二阶段
+                    triggerGamePhase2();
+                };
+            case EVENT_BUILDER_TRAPS:
+                return () -> addMessage(GameConstants.Messages.BUILDER_TRAPS);
+            case EVENT_BUILDER_CART:
+                return () -> addMessage(GameConstants.Messages.BUILDER_CART);
+            case EVENT_BUILDER_WANDERERS:
+                return () -> addMessage(GameConstants.Messages.BUILDER_WANDERERS);
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * 创建游戏快照，包括等待触发的游戏进程和房间状态事件
+     * @return 游戏快照
+     */
+    public GameSnapshot createSnapshot() {
+        List<GameSnapshot.EventState> events = new ArrayList<>();
+        for (ScheduledEvent event : clock.getPendingEvents()) {
+            if (isSavedEvent(event.getName())) {
+                events.add(new GameSnapshot.EventState(event.getName(), event.getRemainingDelay(), event.getPeriod()));
+            }
+        }
+        Villagers villagers = populationManager.getVillagers();
+        return GameSnapshot.capture(model, events).withVillagers(villagers.copyJobs(), villagers.copyExperience())
+                .withProductionCarry(populationManager.copyCarry());
+    }
+    
+    /**
+     * 从游戏快照恢复游戏，重新登记存档时尚未触发的事件并通知界面刷新
+     * @param snapshot 游戏快照
+     */
+    public void restoreSnapshot(GameSnapshot snapshot) {
+        // 取消当前的游戏进程和房间状态事件
+        for (ScheduledEvent event : clock.getPendingEvents()) {
+            if (isSavedEvent(event.getName())) {
+                event.cancel();
+            }
+        }
+        
+        snapshot.applyTo(model);
+        
+        // 重新登记游戏进程事件，收集房间状态计时器的剩余时间
+        boolean strangerPending = false;
+        long statusDelay = -1;
+        long heatDelay = -1;
+        long workDelay = -1;
+        long arrivalDelay = -1;
+        for (GameSnapshot.EventState event : snapshot.getEvents()) {
+            Runnable action = progressionAction(event.getName());
+            if (action != null) {
+                clock.schedule(event.getName(), event.getDelay(), action);
+                strangerPending |= event.getName().startsWith("stranger.");
+            } else if (RoomStatusTimerManager.EVENT_ROOM_STATUS.equals(event.getName())) {
+                statusDelay = event.getDelay();
+            } else if (RoomStatusTimerManager.EVENT_ROOM_HEAT.equals(event.getName())) {
+                heatDelay = event.getDelay();
+            } else if (PopulationManager.EVENT_WORK.equals(event.getName())) {
+                workDelay = event.getDelay();
+            } else if (PopulationManager.EVENT_ARRIVAL.equals(event.getName())) {
+                arrivalDelay = event.getDelay();
+            }
+        }
+        
+        // 陌生人还没有到来时，虽然第二阶段标志已设置，界面仍处于第一阶段
+        boolean phase2Started = model.isGamePhase2() && !strangerPending;
+        roomStatusTimerManager.restoreTimers(phase2Started, statusDelay, heatDelay);
+        // 旧存档没有村民产出事件，第二阶段已开始时从头计时
+        if (phase2Started && workDelay < 0) {
+            workDelay = GameConstants.Timers.WORK_TICK_INTERVAL;
+        }
+        populationManager.restore(snapshot.getVillagerJobs(), snapshot.getVillagerExperience(),
+                snapshot.getProductionCarry(), phase2Started ? workDelay : -1, arrivalDelay);
+        
+        if (phase2Started) {
+            eventManager.notifyGamePhaseChangeListeners(true);
+        }
+        resourceService.notifyResourceChange();
+        resourceService.notifyBuildingChange();
+        buildingManager.restoreSceneName();
+    }
+    
+    /**
+     * 计入存档关闭期间经过的时间，离开超过一分钟时提示离开的时长和房间状态
+     * @param elapsedMillis 离线的真实时间（毫秒）
+     * @return 离线进度报告
+     */
+    public OfflineProgressCalculator.Report applyOfflineProgress(long elapsedMillis) {
+        OfflineProgressCalculator.Report report = new OfflineProgressCalculator(model, clock).apply(elapsedMillis);
+        long minutes = report.getElapsedMillis() / 60000;
+        if (minutes > 0) {
+            addMessage(String.format(GameConstants.Messages.OFFLINE_PROGRESS_FORMAT, minutes));
+            addMessage(model.getRoomStatusMessage());
+        }
+        return report;
+    }
+    
+    /**
+     * 是否为需要存档的事件
+     * @param name 事件名称
+     * @return 是否需要存档
+     */
+    private boolean isSavedEvent(String name) {
+        return progressionAction(name) != null
+                || RoomStatusTimerManager.EVENT_ROOM_STATUS.equals(name)
+                || RoomStatusTimerManager.EVENT_ROOM_HEAT.equals(name)
+                || PopulationManager.EVENT_WORK.equals(name)
+                || PopulationManager.EVENT_ARRIVAL.equals(name);
     }
     
     /**
      * 伐木
      */
     public void chopWood() {
-        int woodAmount = vehicleManager.getWoodGainAmount();
-        model.increaseResource("木头", woodAmount);
-        eventManager.notifyResourceChangeListeners(model.getResources());
+        long start = Metrics.start();
+        journal(ActionType.CHOP_WOOD);
+        int woodAmount = buildingManager.getWoodGainAmount();
+        resourceService.increaseResource(ResourceType.WOOD, woodAmount);
         addMessage(GameConstants.Messages.WOOD_SCATTERED);
+        recordAction(ActionType.CHOP_WOOD, start);
     }
     
     /**
      * 建造小屋
      */
     public void buildHut() {
-        roomManager.buildHut();
+        build(BuildingType.HUT);
     }
     
     /**
      * 建造陷阱
      */
     public void buildTrap() {
-        trapManager.buildTrap();
+        build(BuildingType.TRAP);
     }
     
     /**
      * 建造货车
      */
     public void buildCart() {
-        vehicleManager.buildCart();
+        build(BuildingType.CART);
+    }
+    
+    /**
+     * 建造建筑
+     * @param type 建筑类型
+     */
+    public void build(BuildingType type) {
+        long start = Metrics.start();
+        ActionType action = ActionType.buildActionOf(type);
+        if (action != null) {
+            journal(action);
+        }
+        if (buildingManager.build(type)) {
+            // 建成小屋等建筑后人口容量可能增加
+            populationManager.onCapacityChanged();
+        }
+        recordAction(action, start);
+    }
+    
+    /**
+     * 调整从事某项工作的村民人数，每调整一人记录一次操作
+     * @param job 工作
+     * @param delta 人数变化，正数从伐木者中调出，负数调回伐木者
+     */
+    public void assignJob(Job job, int delta) {
+        ActionType action = ActionType.assignActionOf(job, delta);
+        if (action == null) {
+            return;
+        }
+        long start = Metrics.start();
+        for (int i = Math.abs(delta); i > 0; i--) {
+            journal(action);
+            populationManager.assign(job, action.getJobDelta());
+        }
+        recordAction(action, start);
+    }
+    
+    /**
+     * 执行玩家操作（回放日志时使用）
+     * @param action 操作类型
+     */
+    public void perform(ActionType action) {
+        switch (action) {
+            case ADD_FUEL:
+                addFuel();
+                break;
+            case CHOP_WOOD:
+                chopWood();
+                break;
+            case BUILD_HUT:
+                buildHut();
+                break;
+            case BUILD_TRAP:
+                buildTrap();
+                break;
+            case BUILD_CART:
+                buildCart();
+                break;
+            case CHECK_TRAPS:
+                checkTraps();
+                break;
+            case ASSIGN_HUNTER:
+            case UNASSIGN_HUNTER:
+            case ASSIGN_TRAPPER:
+            case UNASSIGN_TRAPPER:
+                assignJob(action.getJob(), action.getJobDelta());
+                break;
+        }
+    }
+    
+    /**
+     * 设置操作日志，之后的每个玩家操作在执行前都会先写入日志
+     * @param actionJournal 操作日志，为null时停止记录
+     */
+    public void setActionJournal(ActionJournal actionJournal) {
+        this.actionJournal = actionJournal;
+    }
+    
+    /**
+     * 将玩家操作写入日志
+     * @param action 操作类型
+     */
+    private void journal(ActionType action) {
+        if (actionJournal != null) {
+            actionJournal.record(action, clock.getCurrentTime());
+        }
+    }
+    
+    /**
+     * 记录一次玩家操作的耗时
+     * @param action 操作类型，为null时不记录
+     * @param start Metrics.start()的返回值
+     */
+    private static void recordAction(ActionType action, long start) {
+        if (Metrics.ENABLED && action != null) {
+            ACTION_LATENCY[action.ordinal()].record(start);
+        }
+    }
+    
+    /**
+     * 为每种玩家操作创建耗时直方图，名称形如"action.add_fuel"
+     */
+    private static LatencyHistogram[] createActionHistograms() {
+        ActionType[] actions = ActionType.values();
+        LatencyHistogram[] histograms = new LatencyHistogram[actions.length];
+        for (ActionType action : actions) {
+            histograms[action.ordinal()] = Metrics.histogram("action." + action.name().toLowerCase());
+        }
+        return histograms;
     }
     
     /**
@@ -211,26 +509,37 @@ public class GameController {
     }
     
     /**
-     * 获取房间管理器
-     * @return 房间管理器
+     * 获取建筑管理器
+     * @return 建筑管理器
+     */
+    public BuildingManager getBuildingManager() {
+        return buildingManager;
+    }
+    
+    /**
+     * 获取人口管理器
+     * @return 人口管理器
      */
-    public RoomManager getRoomManager() {
-        return roomManager;
+    public PopulationManager getPopulationManager() {
+        return populationManager;
     }
     
     /**
-     * 获取车辆管理器
-     * @return 车辆管理器
+     * 获取内容目录
+     * @return 内容目录
      */
-    public VehicleManager getVehicleManager() {
-        return vehicleManager;
+    public ContentCatalog getContent() {
+        return content;
     }
     
     /**
      * 检查陷阱
      */
     public void checkTraps() {
+        long start = Metrics.start();
+        journal(ActionType.CHECK_TRAPS);
         trapManager.checkTraps();
+        recordAction(ActionType.CHECK_TRAPS, start);
     }
     
     /**
@@ -242,19 +551,18 @@ public class GameController {
     }
     
     /**
-     * 设置场景管理器
-     * @param sceneManager 场景管理器
+     * 获取游戏时钟
+     * @return 游戏时钟
      */
-    public void setSceneManager(SceneManager sceneManager) {
-        this.sceneManager = sceneManager;
-        this.roomManager.setSceneManager(sceneManager);
+    public GameClock getClock() {
+        return clock;
     }
     
     /**
-     * 获取场景管理器
-     * @return 场景管理器
+     * 获取随机数生成器
+     * @return 随机数生成器
      */
-    public SceneManager getSceneManager() {
-        return sceneManager;
+    public Random getRandom() {
+        return random;
     }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package Design.controller;
+
+import Design.model.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 掉落表类，描述一种陷阱（或其他产出建筑）每次检查时单个建筑的掉落
+ * 非互斥模式下每个条目独立判定；互斥模式下每个建筑最多掉落一个条目，
+ * 条目概率之和不能超过1，剩余概率表示一无所获
+ */
+public class LootTable {
+    private final boolean exclusive;
+    private final List<Entry> entries = new ArrayList<>();
+    private double totalProbability = 0;
+    
+    /**
+     * 构造函数
+     * @param exclusive 是否为互斥掉落
+     */
+    public LootTable(boolean exclusive) {
+        this.exclusive = exclusive;
+    }
+    
+    /**
+     * 添加掉落条目
+     * @param type 资源类型
+     * @param probability 单个建筑掉落该条目的概率
+     * @param amount 每次掉落的资源数量
+     * @param description 用于消息的物品描述
+     */
+    public void addEntry(ResourceType type, double probability, int amount, String description) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("掉落概率必须在0到1之间: " + probability);
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("掉落数量必须大于0: " + amount);
+        }
+        if (exclusive && totalProbability + probability > 1 + 1e-9) {
+            throw new IllegalArgumentException("互斥掉落表的概率之和不能超过1");
+        }
+        totalProbability += probability;
+        entries.add(new Entry(type, probability, amount, description));
+    }
+    
+    /**
+     * 是否为互斥掉落
+     * @return 是否为互斥掉落
+     */
+    public boolean isExclusive() {
+        return exclusive;
+    }
+    
+    /**
+     * 获取所有掉落条目
+     * @return 条目列表（只读）
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+    
+    /**
+     * 创建默认的陷阱掉落表
+     * 每个陷阱各以1/2的概率独立捕获毛皮、肉和牙齿，期望产出与原先的0~n均匀随机相同
+     * @return 掉落表
+     */
+    public static LootTable defaultTrapTable() {
+        LootTable table = new LootTable(false);
+        table.addEntry(ResourceType.FUR, 0.5, 1, "毛皮碎片");
+        table.addEntry(ResourceType.MEAT, 0.5, 1, "小片肉");
+        table.addEntry(ResourceType.TEETH, 0.5, 1, "残缺牙齿");
+        return table;
+    }
+    
+    /**
+     * 掉落条目
+     */
+    public static class Entry {
+        private final ResourceType type;
+        private final double probability;
+        private final int amount;
+        private final String description;
+        
+        Entry(ResourceType type, double probability, int amount, String description) {
+            this.type = type;
+            this.probability = probability;
+            this.amount = amount;
+            this.description = description;
+        }
+        
+        public ResourceType getType() {
+            return type;
+        }
+        
+        public double getProbability() {
+            return probability;
+        }
+        
+        public int getAmount() {
+            return amount;
+        }
+        
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package Design.controller;
+
+import Design.GameConstants;
+import Design.clock.GameClock;
+import Design.model.GameModel;
+import Design.model.GameState;
+
+/**
+ * 离线进度计算类，把存档关闭期间经过的真实时间一次性计入游戏
+ * 周期性事件（如温度降低）由各自的追赶处理以解析方式合并计算，
+ * 只有游戏进程等一次性事件逐个触发，因此离开数小时也只需几微秒
+ */
+public class OfflineProgressCalculator {
+    private final GameModel model;
+    private final GameClock clock;
+    
+    /**
+     * 构造函数
+     * @param model 游戏模型
+     * @param clock 游戏时钟
+     */
+    public OfflineProgressCalculator(GameModel model, GameClock clock) {
+        this.model = model;
+        this.clock = clock;
+    }
+    
+    /**
+     * 计入离线时间
+     * @param elapsedMillis 离线的真实时间（毫秒），超过上限的部分不计入
+     * @return 离线进度报告
+     */
+    public Report apply(long elapsedMillis) {
+        long elapsed = Math.max(0, Math.min(elapsedMillis, GameConstants.Timers.MAX_OFFLINE_PROGRESS));
+        GameState before = model.getState();
+        long start = System.nanoTime();
+        long batchedFirings = clock.fastForward(elapsed);
+        long computeNanos = System.nanoTime() - start;
+        return new Report(elapsed, batchedFirings, computeNanos, before, model.getState());
+    }
+    
+    /**
+     * 离线进度报告
+     */
+    public static class Report {
+        private final long elapsedMillis;
+        private final long batchedFirings;
+        private final long computeNanos;
+        private final GameState before;
+        private final GameState after;
+        
+        Report(long elapsedMillis, long batchedFirings, long computeNanos, GameState before, GameState after) {
+            this.elapsedMillis = elapsedMillis;
+            this.batchedFirings = batchedFirings;
+            this.computeNanos = computeNanos;
+            this.before = before;
+            this.after = after;
+        }
+        
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+        
+        public long getBatchedFirings() {
+            return batchedFirings;
+        }
+        
+        public long getComputeNanos() {
+            return computeNanos;
+        }
+        
+        public GameState getBefore() {
+            return before;
+        }
+        
+        public GameState getAfter() {
+            return after;
+        }
+    }
+}
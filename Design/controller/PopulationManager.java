@@ -0,0 +1,279 @@
+package Design.controller;
+
+import Design.GameConstants;
+import Design.clock.GameClock;
+import Design.clock.ScheduledEvent;
+import Design.content.ContentCatalog;
+import Design.event.EventManager;
+import Design.model.BuildingType;
+import Design.model.GameModel;
+import Design.model.Job;
+import Design.model.ResourceType;
+import Design.model.Villagers;
+import Design.save.GameSnapshot;
+import Design.service.MessageService;
+import Design.service.ResourceService;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 人口管理器类，负责流浪者的到来、村民的分工和按工作产出资源
+ * 村民保存在列式的Villagers中，每次产出先按工作累计工作量，再按内容目录中的产出表换算为资源，
+ * 所有资源在一个事务中增加，只通知一次变化；快进时多次产出合并为一次计算
+ *
+ * 产出表中的小数产出以千分之一为单位换算成整数，不足一个的部分留到下次，
+ * 因此逐次产出和合并产出得到的资源完全相同
+ */
+public class PopulationManager {
+    // 计时事件名称
+    public static final String EVENT_ARRIVAL = "population.arrival";
+    public static final String EVENT_WORK = "population.work";
+
+    private static final int ARRIVAL_INTERVAL = GameConstants.Timers.VILLAGER_ARRIVAL_INTERVAL;
+    private static final int WORK_INTERVAL = GameConstants.Timers.WORK_TICK_INTERVAL;
+    private static final long RATE_SCALE = 1000; // 产出表的定点精度
+    private static final long UNIT = RATE_SCALE * GameConstants.GameValues.BASE_EFFICIENCY; // 一个资源对应的定点单位
+
+    private GameModel model;
+    private EventManager eventManager;
+    private MessageService messageService;
+    private ResourceService resourceService;
+    private BuildingManager buildingManager;
+    private GameClock clock;
+    private Random random;
+    private final Villagers villagers = new Villagers();
+    private final long[][] rates = new long[Job.COUNT][ResourceType.COUNT]; // 每次产出，单位为千分之一个资源
+    private final long[] effort = new long[Job.COUNT];                      // 本次产出的工作量（复用）
+    private final long[] carry = new long[ResourceType.COUNT];              // 尚未凑满一个的产出（定点单位）
+    private final int[] produced = new int[ResourceType.COUNT];             // 本次产出的整数资源（复用）
+    private ScheduledEvent arrivalEvent; // 流浪者到来事件，没有空位时不登记
+    private ScheduledEvent workEvent;    // 村民产出事件，第二阶段开始后登记
+
+    /**
+     * 构造函数
+     * @param model 游戏模型
+     * @param eventManager 事件管理器
+     * @param messageService 消息服务
+     * @param resourceService 资源服务
+     * @param buildingManager 建筑管理器，提供人口容量
+     * @param clock 游戏时钟
+     * @param random 随机数生成器
+     * @param content 内容目录，提供各工作的产出
+     */
+    public PopulationManager(GameModel model, EventManager eventManager, MessageService messageService,
+                             ResourceService resourceService, BuildingManager buildingManager, GameClock clock,
+                             Random random, ContentCatalog content) {
+        this.model = model;
+        this.eventManager = eventManager;
+        this.messageService = messageService;
+        this.resourceService = resourceService;
+        this.buildingManager = buildingManager;
+        this.clock = clock;
+        this.random = random;
+        for (Job job : Job.values()) {
+            for (ResourceType resource : ResourceType.values()) {
+                rates[job.ordinal()][resource.ordinal()] = Math.round(content.getJobRate(job, resource) * RATE_SCALE);
+            }
+        }
+    }
+
+    /**
+     * 开始村民产出（第二阶段开始时调用）
+     */
+    public void start() {
+        startWork(WORK_INTERVAL);
+        onCapacityChanged();
+    }
+
+    /**
+     * 人口容量变化后调用（例如建成小屋），有空位且没有等待中的流浪者时登记到来事件
+     */
+    public void onCapacityChanged() {
+        if (workEvent != null && arrivalEvent == null && getSpace() > 0) {
+            scheduleArrival(ARRIVAL_INTERVAL);
+        }
+        publish();
+    }
+
+    /**
+     * 调整从事某项工作的人数，增加的人从默认工作调出，减少的人回到默认工作
+     * @param job 工作，不能是默认工作
+     * @param delta 人数变化，正数为增加
+     * @return 实际调整的人数
+     */
+    public int assign(Job job, int delta) {
+        if (job == Job.DEFAULT || delta == 0) {
+            return 0;
+        }
+        int moved;
+        if (delta > 0) {
+            if (!isAvailable(job)) {
+                return 0;
+            }
+            moved = villagers.reassign(Job.DEFAULT, job, delta);
+        } else {
+            moved = villagers.reassign(job, Job.DEFAULT, -delta);
+        }
+        if (moved > 0) {
+            publish();
+        }
+        return moved;
+    }
+
+    /**
+     * 工作是否可以分配（需要的建筑已经建成）
+     * @param job 工作
+     * @return 是否可以分配
+     */
+    public boolean isAvailable(Job job) {
+        BuildingType required = buildingManager.getContent().getJobRequirement(job);
+        return required == null || model.getBuilding(required) > 0;
+    }
+
+    /**
+     * 所有村民产出ticks次
+     * @param ticks 产出次数
+     */
+    private void work(long ticks) {
+        if (villagers.size() == 0) {
+            return;
+        }
+        Arrays.fill(effort, 0);
+        villagers.work(ticks, effort);
+
+        boolean any = false;
+        for (int resource = 0; resource < ResourceType.COUNT; resource++) {
+            long units = carry[resource];
+            for (int job = 0; job < Job.COUNT; job++) {
+                units += effort[job] * rates[job][resource];
+            }
+            long whole = units / UNIT;
+            carry[resource] = units - whole * UNIT;
+            produced[resource] = (int) Math.min(Integer.MAX_VALUE, whole);
+            any |= whole > 0;
+        }
+        if (any) {
+            resourceService.increaseResources(produced);
+        }
+    }
+
+    /**
+     * 流浪者到来，人数为1到空位的一半之间，之后仍有空位时继续等待下一批
+     */
+    private void arrive() {
+        arrivalEvent = null;
+        int space = getSpace();
+        if (space <= 0) {
+            return;
+        }
+        int count = Math.min(space, 1 + random.nextInt(Math.max(1, space / 2)));
+        villagers.add(Job.DEFAULT, count);
+        if (count == 1) {
+            messageService.sendMessage(GameConstants.Messages.VILLAGER_ARRIVED);
+        } else {
+            messageService.sendMessage(String.format(GameConstants.Messages.VILLAGERS_ARRIVED_FORMAT, count));
+        }
+        onCapacityChanged();
+    }
+
+    /**
+     * 登记流浪者到来事件
+     * 到来事件没有追赶处理，快进时按正常顺序触发，保证到来前后的产出分别按当时的人数计算
+     * @param delay 延迟时间（毫秒）
+     */
+    private void scheduleArrival(long delay) {
+        arrivalEvent = clock.schedule(EVENT_ARRIVAL, delay, this::arrive);
+    }
+
+    /**
+     * 登记村民产出事件
+     * @param initialDelay 首次触发的延迟（毫秒）
+     */
+    private void startWork(long initialDelay) {
+        if (workEvent != null) {
+            workEvent.cancel();
+        }
+        workEvent = clock.scheduleAtFixedRate(EVENT_WORK, initialDelay, WORK_INTERVAL, () -> work(1));
+        // 快进时多次产出合并为一次计算
+        workEvent.setCatchUp(this::work);
+    }
+
+    /**
+     * 获取尚未凑满一个的产出，存档时保存，恢复后继续累积
+     * @return 各资源的余量，按ResourceType序号排列，单位为1/GameSnapshot.CARRY_SCALE个资源
+     */
+    public long[] copyCarry() {
+        long[] copy = new long[ResourceType.COUNT];
+        for (int resource = 0; resource < ResourceType.COUNT; resource++) {
+            copy[resource] = carry[resource] * GameSnapshot.CARRY_SCALE / UNIT;
+        }
+        return copy;
+    }
+
+    /**
+     * 按存档恢复村民和计时器
+     * @param jobs 每名村民的工作序号
+     * @param experience 每名村民的经验
+     * @param savedCarry 各资源尚未凑满一个的产出，单位为1/GameSnapshot.CARRY_SCALE个资源
+     * @param workDelay 产出事件的剩余时间，小于0表示第二阶段尚未开始
+     * @param arrivalDelay 到来事件的剩余时间，小于0表示没有等待中的流浪者
+     */
+    public void restore(byte[] jobs, int[] experience, long[] savedCarry, long workDelay, long arrivalDelay) {
+        cleanup();
+        villagers.load(jobs, experience);
+        for (int resource = 0; resource < ResourceType.COUNT; resource++) {
+            carry[resource] = savedCarry[resource] * UNIT / GameSnapshot.CARRY_SCALE;
+        }
+        if (workDelay >= 0) {
+            startWork(workDelay);
+            if (arrivalDelay >= 0) {
+                scheduleArrival(arrivalDelay);
+            }
+            onCapacityChanged();
+        } else {
+            publish();
+        }
+    }
+
+    /**
+     * 获取空位数量
+     * @return 人口容量减去当前人口
+     */
+    private int getSpace() {
+        return buildingManager.getPopulationCapacity() - villagers.size();
+    }
+
+    /**
+     * 通知人口变化
+     */
+    private void publish() {
+        int[] workers = new int[Job.COUNT];
+        for (Job job : Job.values()) {
+            workers[job.ordinal()] = villagers.count(job);
+        }
+        eventManager.notifyPopulationChangeListeners(villagers.size(), buildingManager.getPopulationCapacity(), workers);
+    }
+
+    /**
+     * 获取村民
+     * @return 村民数据
+     */
+    public Villagers getVillagers() {
+        return villagers;
+    }
+
+    /**
+     * 清理资源
+     */
+    public void cleanup() {
+        if (arrivalEvent != null) {
+            arrivalEvent.cancel();
+            arrivalEvent = null;
+        }
+        if (workEvent != null) {
+            workEvent.cancel();
+            workEvent = null;
+        }
+    }
+}
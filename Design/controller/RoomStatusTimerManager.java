@@ -1,16 +1,15 @@
 package Design.controller;
 
 import Design.GameConstants;
-import Design.event.EventManager;
+import Design.clock.GameClock;
+import Design.clock.ScheduledEvent;
 import Design.model.GameModel;
 import Design.service.MessageService;
 
-import javax.swing.Timer;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-
 /**
  * 房间状态计时器管理类，负责管理不同游戏阶段的房间状态更新计时器
+ * 计时器由GameController在阶段切换时直接启动，不经过事件总线，
+ * 因此异步分发界面事件时计时器的启动时刻也是确定的
  */
 public class RoomStatusTimerManager {
     // 常量定义
@@ -18,97 +17,112 @@ public class RoomStatusTimerManager {
     private static final int PHASE2_STATUS_UPDATE_INTERVAL = GameConstants.Timers.PHASE2_STATUS_TIMER_INTERVAL; // 第二阶段状态更新间隔：30秒
     private static final int PHASE2_HEAT_DECREASE_INTERVAL = GameConstants.Timers.PHASE2_HEAT_TIMER_INTERVAL; // 第二阶段温度降低间隔：60秒
     
+    // 计时事件名称
+    public static final String EVENT_ROOM_STATUS = "room.status";
+    public static final String EVENT_ROOM_HEAT = "room.heat";
+    
     private GameModel model;
-    private EventManager eventManager;
     private MessageService messageService;
-    private Timer roomStatusTimer; // 房间状态更新计时器
-    private Timer roomHeatTimer;   // 房间温度降低计时器（仅第二阶段使用）
+    private GameClock clock;
+    private ScheduledEvent roomStatusTimer; // 房间状态更新计时器
+    private ScheduledEvent roomHeatTimer;   // 房间温度降低计时器（仅第二阶段使用）
     
     /**
      * 构造函数
      * @param model 游戏模型
-     * @param eventManager 事件管理器
+     * @param messageService 消息服务
+     * @param clock 游戏时钟
      */
-    public RoomStatusTimerManager(GameModel model, EventManager eventManager, MessageService messageService) {
+    public RoomStatusTimerManager(GameModel model, MessageService messageService, GameClock clock) {
         this.model = model;
-        this.eventManager = eventManager;
         this.messageService = messageService;
-        
-        // 注册游戏阶段变化监听器
-        this.eventManager.addGamePhaseChangeListener(this::onGamePhaseChanged);
+        this.clock = clock;
     }
     
     /**
      * 启动房间状态更新计时器（第一阶段）
      */
     public void startPhase1Timer() {
+        startPhase1Timer(PHASE1_UPDATE_INTERVAL);
+    }
+    
+    /**
+     * 启动房间状态更新计时器（第一阶段）
+     * @param initialDelay 首次触发的延迟（毫秒）
+     */
+    private void startPhase1Timer(long initialDelay) {
         // 停止可能存在的计时器
         stopAllTimers();
         
-        // 创建并启动第一阶段计时器（每10秒更新一次状态并降低温度）
-        roomStatusTimer = new Timer(PHASE1_UPDATE_INTERVAL, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                model.decreaseRoomHeat();
-                addMessage(model.getRoomStatusMessage());
-            }
+        // 每10秒更新一次状态并降低温度
+        roomStatusTimer = clock.scheduleAtFixedRate(EVENT_ROOM_STATUS, initialDelay, PHASE1_UPDATE_INTERVAL, () -> {
+            model.decreaseRoomHeat();
+            addMessage(model.getRoomStatusMessage());
         });
-        roomStatusTimer.setRepeats(true);
-        roomStatusTimer.start();
+        // 快进时一次降低多级温度，不补发中间的状态消息
+        roomStatusTimer.setCatchUp(firings -> model.decreaseRoomHeat(firings));
     }
     
     /**
      * 启动房间状态更新计时器（第二阶段）
      */
     public void startPhase2Timers() {
+        startPhase2Timers(PHASE2_STATUS_UPDATE_INTERVAL, PHASE2_HEAT_DECREASE_INTERVAL);
+    }
+    
+    /**
+     * 启动房间状态更新计时器（第二阶段）
+     * @param statusDelay 状态更新首次触发的延迟（毫秒）
+     * @param heatDelay 温度降低首次触发的延迟（毫秒）
+     */
+    private void startPhase2Timers(long statusDelay, long heatDelay) {
         // 停止可能存在的计时器
         stopAllTimers();
         
-        // 创建并启动第二阶段状态更新计时器（每30秒更新一次状态）
-        roomStatusTimer = new Timer(PHASE2_STATUS_UPDATE_INTERVAL, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                addMessage(model.getRoomStatusMessage());
-            }
-        });
-        roomStatusTimer.setRepeats(true);
-        roomStatusTimer.start();
+        // 每30秒更新一次状态
+        roomStatusTimer = clock.scheduleAtFixedRate(EVENT_ROOM_STATUS, statusDelay, PHASE2_STATUS_UPDATE_INTERVAL,
+                () -> addMessage(model.getRoomStatusMessage()));
+        // 只发送状态消息，快进时不需要补发
+        roomStatusTimer.setCatchUp(firings -> { });
         
-        // 创建并启动第二阶段温度降低计时器（每60秒降低一次温度）
-        roomHeatTimer = new Timer(PHASE2_HEAT_DECREASE_INTERVAL, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                model.decreaseRoomHeat();
-                // 温度变化后更新房间状态消息
-                addMessage(model.getRoomStatusMessage());
-            }
+        // 每60秒降低一次温度
+        roomHeatTimer = clock.scheduleAtFixedRate(EVENT_ROOM_HEAT, heatDelay, PHASE2_HEAT_DECREASE_INTERVAL, () -> {
+            model.decreaseRoomHeat();
+            // 温度变化后更新房间状态消息
+            addMessage(model.getRoomStatusMessage());
         });
-        roomHeatTimer.setRepeats(true);
-        roomHeatTimer.start();
+        roomHeatTimer.setCatchUp(firings -> model.decreaseRoomHeat(firings));
     }
     
     /**
-     * 停止所有计时器
+     * 按存档中的剩余时间恢复计时器
+     * @param phase2 是否已进入第二阶段
+     * @param statusDelay 状态更新计时器的剩余时间，小于0表示没有该计时器
+     * @param heatDelay 温度降低计时器的剩余时间，小于0表示没有该计时器
      */
-    private void stopAllTimers() {
-        if (roomStatusTimer != null && roomStatusTimer.isRunning()) {
-            roomStatusTimer.stop();
-        }
-        
-        if (roomHeatTimer != null && roomHeatTimer.isRunning()) {
-            roomHeatTimer.stop();
+    public void restoreTimers(boolean phase2, long statusDelay, long heatDelay) {
+        if (phase2) {
+            startPhase2Timers(statusDelay >= 0 ? statusDelay : PHASE2_STATUS_UPDATE_INTERVAL,
+                    heatDelay >= 0 ? heatDelay : PHASE2_HEAT_DECREASE_INTERVAL);
+        } else if (statusDelay >= 0) {
+            startPhase1Timer(statusDelay);
+        } else {
+            stopAllTimers();
         }
     }
     
     /**
-     * 游戏阶段变化事件处理
-     * @param isPhase2 是否为第二阶段
+     * 停止所有计时器
      */
-    private void onGamePhaseChanged(boolean isPhase2) {
-        if (isPhase2) {
-            startPhase2Timers();
-        } else {
-            startPhase1Timer();
+    private void stopAllTimers() {
+        if (roomStatusTimer != null) {
+            roomStatusTimer.cancel();
+            roomStatusTimer = null;
+        }
+        
+        if (roomHeatTimer != null) {
+            roomHeatTimer.cancel();
+            roomHeatTimer = null;
         }
     }
     
@@ -125,6 +139,5 @@ public class RoomStatusTimerManager {
      */
     public void cleanup() {
         stopAllTimers();
-        eventManager.removeGamePhaseChangeListener(this::onGamePhaseChanged);
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,12 @@
 package Design.controller;
 
 import Design.GameConstants;
+import Design.content.ContentCatalog;
 import Design.model.GameModel;
+import Design.model.BuildingType;
 import Design.service.MessageService;
 import Design.service.ResourceService;
+import Design.service.ResourceTransaction;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,82 +19,70 @@ public class TrapManager {
     private GameModel model;
     private MessageService messageService;
     private ResourceService resourceService;
-    private Random random;
+    private TrapYieldEngine yieldEngine;
     
     /**
      * 构造函数
      * @param model 游戏模型
-     * @param eventManager 事件管理器
+     * @param messageService 消息服务
+     * @param resourceService 资源服务
+     * @param random 随机数生成器
+     * @param content 内容目录，提供陷阱的掉落表
      */
-    public TrapManager(GameModel model, MessageService messageService, ResourceService resourceService) {
+    public TrapManager(GameModel model, MessageService messageService, ResourceService resourceService, Random random,
+                       ContentCatalog content) {
         this.model = model;
         this.messageService = messageService;
         this.resourceService = resourceService;
-        this.random = new Random();
+        this.yieldEngine = new TrapYieldEngine(random, content);
     }
     
     /**
      * 检查陷阱
-     * 随机获得0~n个毛皮、肉和牙齿（n为陷阱数量）
+     * 由产出引擎按掉落表抽取所有陷阱的总产出，一次性批量加入资源
      */
     public void checkTraps() {
-        int trapCount = model.getBuilding(GameConstants.Buildings.TRAP);
+        int trapCount = model.getBuilding(BuildingType.TRAP);
         if (trapCount <= 0) {
             return;
         }
         
-        // 随机获得资源
-        int furCount = random.nextInt(trapCount + 1); // 0到trapCount
-        int meatCount = random.nextInt(trapCount + 1);
-        int toothCount = random.nextInt(trapCount + 1);
-        
-        // 添加资源到模型
-        if (furCount > 0) {
-            resourceService.increaseResource(GameConstants.Resources.FUR, furCount);
-        }
-        if (meatCount > 0) {
-            resourceService.increaseResource(GameConstants.Resources.MEAT, meatCount);
+        LootTable table = yieldEngine.getLootTable(BuildingType.TRAP);
+        if (table == null) {
+            return;
         }
-        if (toothCount > 0) {
-            resourceService.increaseResource(GameConstants.Resources.TEETH, toothCount);
+        int[] yields = yieldEngine.roll(BuildingType.TRAP, trapCount);
+        
+        // 所有产出放在同一个事务中，只通知一次资源变化
+        ResourceTransaction transaction = resourceService.begin();
+        List<String> items = new ArrayList<>();
+        List<LootTable.Entry> entries = table.getEntries();
+        for (int i = 0; i < yields.length; i++) {
+            if (yields[i] > 0) {
+                LootTable.Entry entry = entries.get(i);
+                transaction.add(entry.getType(), yields[i]);
+                items.add(entry.getDescription());
+            }
         }
+        transaction.commit();
         
         // 生成消息
-        String message = generateTrapMessage(furCount, meatCount, toothCount);
-        if (!message.isEmpty()) {
-            addMessage(message);
-        }
+        addMessage(generateTrapMessage(items));
     }
     
     /**
      * 生成陷阱捕获消息
-     * @param furCount 毛皮数量
-     * @param meatCount 肉数量
-     * @param toothCount 牙齿数量
+     * @param items 捕获到的物品描述
      * @return 消息字符串
      */
-    private String generateTrapMessage(int furCount, int meatCount, int toothCount) {
-        List<String> items = new ArrayList<>();
-        
-        if (furCount > 0) {
-            items.add("毛皮碎片");
-        }
-        if (meatCount > 0) {
-            items.add("小片肉");
-        }
-        if (toothCount > 0) {
-            items.add("残缺牙齿");
-        }
-        
+    private String generateTrapMessage(List<String> items) {
         if (items.isEmpty()) {
             return GameConstants.Messages.TRAP_EMPTY;
         }
         
         StringBuilder messageBuilder = new StringBuilder("陷阱捕获到");
         for (int i = 0; i < items.size(); i++) {
-            if (i > 0 && i == items.size() - 1) {
-                messageBuilder.append("和");
-            } else if (i > 0) {
+            if (i > 0) {
                 messageBuilder.append("和");
             }
             messageBuilder.append(items.get(i));
@@ -110,23 +101,18 @@ public class TrapManager {
     }
     
     /**
-     * 建造陷阱
+     * 获取陷阱数量
+     * @return 陷阱数量
      */
-    public void buildTrap() {
-        if (model.getResource(GameConstants.Resources.WOOD) >= GameConstants.BuildingCosts.TRAP_COST) {
-            resourceService.decreaseResource(GameConstants.Resources.WOOD, GameConstants.BuildingCosts.TRAP_COST);
-            model.increaseBuilding(GameConstants.Buildings.TRAP);
-            messageService.sendMessage(GameConstants.Messages.TRAP_MORE_PREY);
-        } else {
-            messageService.sendMessage(GameConstants.Messages.WOOD_SHORTAGE);
-        }
+    public int getTrapCount() {
+        return model.getBuilding(BuildingType.TRAP);
     }
     
     /**
-     * 获取陷阱数量
-     * @return 陷阱数量
+     * 获取陷阱产出引擎
+     * @return 产出引擎
      */
-    public int getTrapCount() {
-        return model.getBuilding(GameConstants.Buildings.TRAP);
+    public TrapYieldEngine getYieldEngine() {
+        return yieldEngine;
     }
 }
\ No newline at end of file
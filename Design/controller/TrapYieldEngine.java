@@ -0,0 +1,153 @@
+package Design.controller;
+
+import Design.content.ContentCatalog;
+import Design.model.BuildingType;
+import Design.model.ResourceType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 陷阱产出引擎类，直接从二项分布/多项分布中抽取n个建筑的总产出
+ * 每个掉落条目的抽样代价与建筑数量无关，陷阱再多检查一次的开销也是常数
+ */
+public class TrapYieldEngine {
+    // 期望成功次数低于该值时用逆变换法精确抽样，否则用正态近似
+    private static final double INVERSION_THRESHOLD = 30.0;
+    
+    private final Random random;
+    private final Map<BuildingType, LootTable> lootTables = new EnumMap<>(BuildingType.class);
+    
+    /**
+     * 构造函数，使用共享内容目录中的掉落表
+     * @param random 随机数生成器
+     */
+    public TrapYieldEngine(Random random) {
+        this(random, ContentCatalog.getDefault());
+    }
+    
+    /**
+     * 构造函数
+     * @param random 随机数生成器
+     * @param content 内容目录，其中有掉落表的建筑都会登记
+     */
+    public TrapYieldEngine(Random random, ContentCatalog content) {
+        this.random = random;
+        for (BuildingType type : BuildingType.values()) {
+            LootTable table = content.getLootTable(type);
+            if (table != null) {
+                lootTables.put(type, table);
+            }
+        }
+    }
+    
+    /**
+     * 设置建筑类型的掉落表
+     * @param type 建筑类型
+     * @param table 掉落表
+     */
+    public void setLootTable(BuildingType type, LootTable table) {
+        lootTables.put(type, table);
+    }
+    
+    /**
+     * 获取建筑类型的掉落表
+     * @param type 建筑类型
+     * @return 掉落表，没有时返回null
+     */
+    public LootTable getLootTable(BuildingType type) {
+        return lootTables.get(type);
+    }
+    
+    /**
+     * 抽取count个建筑的总产出
+     * @param type 建筑类型
+     * @param count 建筑数量
+     * @return 按掉落条目顺序排列的产出数量（资源数量，已乘以每次掉落数量）
+     */
+    public int[] roll(BuildingType type, int count) {
+        LootTable table = lootTables.get(type);
+        if (table == null) {
+            return new int[0];
+        }
+        List<LootTable.Entry> entries = table.getEntries();
+        int[] yields = new int[entries.size()];
+        if (count <= 0) {
+            return yields;
+        }
+        
+        if (table.isExclusive()) {
+            // 多项分布：依次按条件概率抽取二项分布
+            int remaining = count;
+            double remainingProbability = 1.0;
+            for (int i = 0; i < yields.length && remaining > 0; i++) {
+                LootTable.Entry entry = entries.get(i);
+                double p = remainingProbability <= 0 ? 0 : Math.min(1.0, entry.getProbability() / remainingProbability);
+                int hits = sampleBinomial(random, remaining, p);
+                yields[i] = hits * entry.getAmount();
+                remaining -= hits;
+                remainingProbability -= entry.getProbability();
+            }
+        } else {
+            for (int i = 0; i < yields.length; i++) {
+                LootTable.Entry entry = entries.get(i);
+                yields[i] = sampleBinomial(random, count, entry.getProbability()) * entry.getAmount();
+            }
+        }
+        return yields;
+    }
+    
+    /**
+     * 抽取二项分布B(n, p)的样本
+     * @param random 随机数生成器
+     * @param n 试验次数
+     * @param p 成功概率
+     * @return 成功次数
+     */
+    static int sampleBinomial(Random random, int n, double p) {
+        if (n <= 0 || p <= 0) {
+            return 0;
+        }
+        if (p >= 1) {
+            return n;
+        }
+        // 利用对称性保证p不超过1/2
+        if (p > 0.5) {
+            return n - sampleBinomial(random, n, 1 - p);
+        }
+        
+        double mean = n * p;
+        if (mean < INVERSION_THRESHOLD) {
+            return sampleByInversion(random, n, p);
+        }
+        
+        // 正态近似（带连续性修正），截断到[0, n]
+        double deviation = Math.sqrt(mean * (1 - p));
+        long k = Math.round(mean + deviation * random.nextGaussian());
+        return (int) Math.max(0, Math.min(n, k));
+    }
+    
+    /**
+     * 逆变换法：从k=0开始累加概率质量，期望步数约为n*p
+     */
+    private static int sampleByInversion(Random random, int n, double p) {
+        double q = 1 - p;
+        double ratio = p / q;
+        double probability = Math.pow(q, n); // P(X = 0)
+        double cumulative = probability;
+        double u = random.nextDouble();
+        int k = 0;
+        while (u > cumulative && k < n) {
+            probability *= ratio * (n - k) / (k + 1);
+            k++;
+            cumulative += probability;
+            if (probability <= 0) {
+                // 浮点误差导致尾部概率耗尽
+                break;
+            }
+        }
+        return k;
+    }
+}
@@ -0,0 +1,18 @@
+package Design.event;
+
+/**
+ * 可合并事件接口
+ * 异步分发时，同一帧内尚未投递的同类事件会被合并为一个，只投递一次
+ * @param <E> 事件类型
+ */
+public interface CoalescingEvent<E extends CoalescingEvent<E>> {
+    /**
+     * 与更新的同类事件合并
+     * 默认保留较新的事件，适用于携带完整状态的事件
+     * @param newer 更新的事件
+     * @return 合并后的事件
+     */
+    default E coalesceWith(E newer) {
+        return newer;
+    }
+}
@@ -0,0 +1,228 @@
+package Design.event;
+
+import Design.metrics.DispatchEvent;
+import Design.metrics.Metrics;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * 事件总线类，按事件类型发布和订阅事件
+ * 同步模式下在发布线程上直接投递；异步模式下事件先进入队列，由分发执行器在下一帧统一投递，
+ * 同一帧内尚未投递的可合并事件（CoalescingEvent）只投递一次
+ */
+public class EventBus {
+    private final Map<Class<?>, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Executor frameExecutor; // 为null时同步投递
+    
+    // 异步模式的待投递队列，由lock保护
+    private final Object lock = new Object();
+    private ArrayDeque<Object> pending = new ArrayDeque<>();
+    private final Map<Class<?>, PendingSlot> coalescingSlots = new HashMap<>();
+    private boolean flushScheduled = false;
+    
+    /**
+     * 构造函数，创建同步事件总线
+     */
+    public EventBus() {
+        this(null);
+    }
+    
+    /**
+     * 构造函数
+     * @param frameExecutor 分发执行器，例如SwingUtilities::invokeLater；为null时同步投递
+     */
+    public EventBus(Executor frameExecutor) {
+        this.frameExecutor = frameExecutor;
+    }
+    
+    /**
+     * 订阅事件
+     * @param type 事件类型（按精确类型匹配）
+     * @param listener 监听器
+     */
+    public <E> void subscribe(Class<E> type, Consumer<? super E> listener) {
+        subscribe(type, listener, listener);
+    }
+    
+    /**
+     * 订阅事件，使用单独的对象作为取消订阅时的标识
+     * @param type 事件类型
+     * @param owner 订阅标识
+     * @param listener 监听器
+     */
+    <E> void subscribe(Class<E> type, Object owner, Consumer<? super E> listener) {
+        subscribers.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>())
+                .add(new Subscriber(owner, listener));
+    }
+    
+    /**
+     * 取消订阅
+     * @param type 事件类型
+     * @param owner 订阅时使用的监听器或标识
+     */
+    public void unsubscribe(Class<?> type, Object owner) {
+        List<Subscriber> list = subscribers.get(type);
+        if (list != null) {
+            for (Subscriber subscriber : list) {
+                if (subscriber.owner == owner) {
+                    list.remove(subscriber);
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 获取某类事件的监听器数量
+     * @param type 事件类型
+     * @return 监听器数量
+     */
+    public int getListenerCount(Class<?> type) {
+        List<Subscriber> list = subscribers.get(type);
+        return list == null ? 0 : list.size();
+    }
+    
+    /**
+     * 是否为异步模式
+     * @return 是否为异步模式
+     */
+    public boolean isAsync() {
+        return frameExecutor != null;
+    }
+    
+    /**
+     * 发布事件
+     * @param event 事件
+     */
+    public void publish(Object event) {
+        Metrics.EVENTS_PUBLISHED.increment();
+        if (frameExecutor == null) {
+            deliver(event);
+            return;
+        }
+        
+        synchronized (lock) {
+            if (event instanceof CoalescingEvent) {
+                PendingSlot slot = coalescingSlots.get(event.getClass());
+                if (slot != null) {
+                    // 同一帧内已有同类事件等待投递，合并到原位置
+                    slot.merge(event);
+                    Metrics.EVENTS_COALESCED.increment();
+                    return;
+                }
+                slot = new PendingSlot(event);
+                coalescingSlots.put(event.getClass(), slot);
+                pending.add(slot);
+            } else {
+                pending.add(event);
+            }
+            
+            if (!flushScheduled) {
+                flushScheduled = true;
+                frameExecutor.execute(this::flush);
+            }
+        }
+    }
+    
+    /**
+     * 立即投递所有等待中的事件（异步模式）
+     * 投递过程中新发布的事件进入下一帧；投递意外中断时，本批剩余的事件放回队列前部，在下一帧继续投递
+     */
+    public void flush() {
+        ArrayDeque<Object> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new ArrayDeque<>();
+            coalescingSlots.clear();
+            flushScheduled = false;
+        }
+        
+        try {
+            Object item;
+            while ((item = batch.poll()) != null) {
+                deliver(item instanceof PendingSlot ? ((PendingSlot) item).event : item);
+            }
+        } finally {
+            if (!batch.isEmpty()) {
+                requeue(batch);
+            }
+        }
+    }
+    
+    /**
+     * 把未投递完的事件放回队列前部，保持原有的投递顺序
+     * @param remaining 本批剩余的事件
+     */
+    private void requeue(ArrayDeque<Object> remaining) {
+        synchronized (lock) {
+            remaining.addAll(pending);
+            pending = remaining;
+            if (!flushScheduled) {
+                flushScheduled = true;
+                frameExecutor.execute(this::flush);
+            }
+        }
+    }
+    
+    /**
+     * 将事件投递给所有订阅者
+     * 某个监听器抛出异常时记录下来并继续投递给其余的监听器，一个出错的监听器不会让其他界面错过事件
+     * @param event 事件
+     */
+    private void deliver(Object event) {
+        List<Subscriber> list = subscribers.get(event.getClass());
+        if (list == null) {
+            return;
+        }
+        long start = Metrics.start();
+        DispatchEvent dispatch = new DispatchEvent();
+        dispatch.begin();
+        for (Subscriber subscriber : list) {
+            try {
+                subscriber.listener.accept(event);
+            } catch (RuntimeException e) {
+                System.err.println("事件监听器处理" + event.getClass().getSimpleName() + "失败");
+                e.printStackTrace();
+            }
+        }
+        dispatch.finish(event.getClass(), list.size());
+        Metrics.EVENT_DISPATCH.record(start);
+    }
+    
+    /**
+     * 订阅者
+     */
+    private static final class Subscriber {
+        private final Object owner;
+        private final Consumer<Object> listener;
+        
+        @SuppressWarnings("unchecked")
+        Subscriber(Object owner, Consumer<?> listener) {
+            this.owner = owner;
+            this.listener = (Consumer<Object>) listener;
+        }
+    }
+    
+    /**
+     * 队列中可合并事件的占位，合并时替换其中的事件而保持原有的投递顺序
+     */
+    private static final class PendingSlot {
+        private Object event;
+        
+        PendingSlot(Object event) {
+            this.event = event;
+        }
+        
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void merge(Object newer) {
+            event = ((CoalescingEvent) event).coalesceWith((CoalescingEvent) newer);
+        }
+    }
+}
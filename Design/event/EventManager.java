@@ -1,141 +1,215 @@
 package Design.event;
 
-import java.util.ArrayList;
+import Design.event.GameEvents.BuildingChangedEvent;
+import Design.event.GameEvents.Delta;
+import Design.event.GameEvents.GamePhaseChangedEvent;
+import Design.event.GameEvents.MessageEvent;
+import Design.event.GameEvents.PopulationChangedEvent;
+import Design.event.GameEvents.ResourceChangedEvent;
+import Design.event.GameEvents.SceneNameChangedEvent;
+
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
 /**
  * 事件管理器类，负责处理游戏中的各种事件
+ * 各类监听器方法都是对事件总线的封装，事件按类型在EventBus上发布和订阅
  */
 public class EventManager {
-    // 消息监听器列表
-    private List<Consumer<String>> messageListeners = new ArrayList<>();
+    private final EventBus eventBus;
+    
+    /**
+     * 构造函数，使用同步事件总线
+     */
+    public EventManager() {
+        this(new EventBus());
+    }
     
-    // 资源变化监听器列表
-    private List<Consumer<Map<String, Integer>>> resourceChangeListeners = new ArrayList<>();
+    /**
+     * 构造函数
+     * @param eventBus 事件总线
+     */
+    public EventManager(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
     
-    // 游戏阶段变化监听器列表
-    private List<Consumer<Boolean>> gamePhaseChangeListeners = new ArrayList<>();
+    /**
+     * 获取事件总线
+     * @return 事件总线
+     */
+    public EventBus getEventBus() {
+        return eventBus;
+    }
     
     /**
      * 添加消息监听器
      */
     public void addMessageListener(Consumer<String> listener) {
-        messageListeners.add(listener);
+        eventBus.subscribe(MessageEvent.class, listener, (MessageEvent e) -> listener.accept(e.getMessage()));
     }
     
     /**
      * 移除消息监听器
      */
     public void removeMessageListener(Consumer<String> listener) {
-        messageListeners.remove(listener);
+        eventBus.unsubscribe(MessageEvent.class, listener);
     }
     
     /**
      * 通知所有消息监听器
      */
     public void notifyMessageListeners(String message) {
-        for (Consumer<String> listener : messageListeners) {
-            listener.accept(message);
-        }
+        eventBus.publish(new MessageEvent(message));
     }
     
     /**
      * 添加资源变化监听器
      */
     public void addResourceChangeListener(Consumer<Map<String, Integer>> listener) {
-        resourceChangeListeners.add(listener);
+        eventBus.subscribe(ResourceChangedEvent.class, listener, (ResourceChangedEvent e) -> listener.accept(e.getResources()));
     }
     
     /**
      * 移除资源变化监听器
      */
     public void removeResourceChangeListener(Consumer<Map<String, Integer>> listener) {
-        resourceChangeListeners.remove(listener);
+        eventBus.unsubscribe(ResourceChangedEvent.class, listener);
     }
     
     /**
      * 通知所有资源变化监听器
      */
     public void notifyResourceChangeListeners(Map<String, Integer> resources) {
-        for (Consumer<Map<String, Integer>> listener : resourceChangeListeners) {
-            listener.accept(resources);
-        }
+        eventBus.publish(new ResourceChangedEvent(resources));
+    }
+    
+    /**
+     * 通知所有资源变化监听器，事件携带实际变化的条目和模型版本号
+     */
+    public void notifyResourceChangeListeners(Map<String, Integer> resources, List<Delta> deltas, long version) {
+        eventBus.publish(new ResourceChangedEvent(resources, deltas, version));
+    }
+    
+    /**
+     * 添加资源增量监听器，监听器直接收到带有变化条目和版本号的事件
+     */
+    public void addResourceDeltaListener(Consumer<ResourceChangedEvent> listener) {
+        eventBus.subscribe(ResourceChangedEvent.class, listener);
+    }
+    
+    /**
+     * 移除资源增量监听器
+     */
+    public void removeResourceDeltaListener(Consumer<ResourceChangedEvent> listener) {
+        eventBus.unsubscribe(ResourceChangedEvent.class, listener);
     }
     
     /**
      * 添加游戏阶段变化监听器
      */
     public void addGamePhaseChangeListener(Consumer<Boolean> listener) {
-        gamePhaseChangeListeners.add(listener);
+        eventBus.subscribe(GamePhaseChangedEvent.class, listener, (GamePhaseChangedEvent e) -> listener.accept(e.isPhase2()));
     }
     
     /**
      * 移除游戏阶段变化监听器
      */
     public void removeGamePhaseChangeListener(Consumer<Boolean> listener) {
-        gamePhaseChangeListeners.remove(listener);
+        eventBus.unsubscribe(GamePhaseChangedEvent.class, listener);
     }
     
     /**
      * 通知所有游戏阶段变化监听器
      */
     public void notifyGamePhaseChangeListeners(boolean isPhase2) {
-        for (Consumer<Boolean> listener : gamePhaseChangeListeners) {
-            listener.accept(isPhase2);
-        }
+        eventBus.publish(new GamePhaseChangedEvent(isPhase2));
     }
     
-    // 建筑变化监听器列表
-    private List<Consumer<Map<String, Integer>>> buildingChangeListeners = new ArrayList<>();
-    
     /**
      * 添加建筑变化监听器
      */
     public void addBuildingChangeListener(Consumer<Map<String, Integer>> listener) {
-        buildingChangeListeners.add(listener);
+        eventBus.subscribe(BuildingChangedEvent.class, listener, (BuildingChangedEvent e) -> listener.accept(e.getBuildings()));
     }
     
     /**
      * 移除建筑变化监听器
      */
     public void removeBuildingChangeListener(Consumer<Map<String, Integer>> listener) {
-        buildingChangeListeners.remove(listener);
+        eventBus.unsubscribe(BuildingChangedEvent.class, listener);
     }
     
     /**
      * 通知所有建筑变化监听器
      */
     public void notifyBuildingChangeListeners(Map<String, Integer> buildings) {
-        for (Consumer<Map<String, Integer>> listener : buildingChangeListeners) {
-            listener.accept(buildings);
-        }
+        eventBus.publish(new BuildingChangedEvent(buildings));
     }
     
-    // 场景名称变化监听器列表
-    private List<Consumer<String>> sceneNameChangeListeners = new ArrayList<>();
+    /**
+     * 通知所有建筑变化监听器，事件携带实际变化的条目和模型版本号
+     */
+    public void notifyBuildingChangeListeners(Map<String, Integer> buildings, List<Delta> deltas, long version) {
+        eventBus.publish(new BuildingChangedEvent(buildings, deltas, version));
+    }
+    
+    /**
+     * 添加建筑增量监听器，监听器直接收到带有变化条目和版本号的事件
+     */
+    public void addBuildingDeltaListener(Consumer<BuildingChangedEvent> listener) {
+        eventBus.subscribe(BuildingChangedEvent.class, listener);
+    }
+    
+    /**
+     * 移除建筑增量监听器
+     */
+    public void removeBuildingDeltaListener(Consumer<BuildingChangedEvent> listener) {
+        eventBus.unsubscribe(BuildingChangedEvent.class, listener);
+    }
+    
+    /**
+     * 添加人口变化监听器
+     */
+    public void addPopulationChangeListener(Consumer<PopulationChangedEvent> listener) {
+        eventBus.subscribe(PopulationChangedEvent.class, listener);
+    }
+    
+    /**
+     * 移除人口变化监听器
+     */
+    public void removePopulationChangeListener(Consumer<PopulationChangedEvent> listener) {
+        eventBus.unsubscribe(PopulationChangedEvent.class, listener);
+    }
+    
+    /**
+     * 通知所有人口变化监听器
+     * @param population 当前人口
+     * @param capacity 人口容量
+     * @param workers 按工作序号排列的人数
+     */
+    public void notifyPopulationChangeListeners(int population, int capacity, int[] workers) {
+        eventBus.publish(new PopulationChangedEvent(population, capacity, workers));
+    }
     
     /**
      * 添加场景名称变化监听器
      */
     public void addSceneNameChangeListener(Consumer<String> listener) {
-        sceneNameChangeListeners.add(listener);
+        eventBus.subscribe(SceneNameChangedEvent.class, listener, (SceneNameChangedEvent e) -> listener.accept(e.getSceneName()));
     }
     
     /**
      * 移除场景名称变化监听器
      */
     public void removeSceneNameChangeListener(Consumer<String> listener) {
-        sceneNameChangeListeners.remove(listener);
+        eventBus.unsubscribe(SceneNameChangedEvent.class, listener);
     }
     
     /**
      * 通知所有场景名称变化监听器
      */
     public void notifySceneNameChangeListeners(String sceneName) {
-        for (Consumer<String> listener : sceneNameChangeListeners) {
-            listener.accept(sceneName);
-        }
+        eventBus.publish(new SceneNameChangedEvent(sceneName));
     }
-}
\ No newline at end of file
+}
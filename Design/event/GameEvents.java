@@ -0,0 +1,253 @@
+package Design.event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 游戏事件类，统一定义事件总线上传递的各种事件
+ */
+public final class GameEvents {
+    
+    // 私有构造函数，防止实例化
+    private GameEvents() {
+        throw new UnsupportedOperationException("事件定义类不能被实例化");
+    }
+    
+    // 消息事件
+    public static final class MessageEvent {
+        private final String message;
+        
+        public MessageEvent(String message) {
+            this.message = message;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+    }
+    
+    // 未知版本号，带有该版本号的事件总是被视为最新
+    public static final long UNVERSIONED = -1;
+    
+    // 单个条目（资源或建筑）的变化
+    public static final class Delta {
+        private final String key;
+        private final int oldValue;
+        private final int newValue;
+        
+        public Delta(String key, int oldValue, int newValue) {
+            this.key = key;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        public int getOldValue() {
+            return oldValue;
+        }
+        
+        public int getNewValue() {
+            return newValue;
+        }
+        
+        @Override
+        public String toString() {
+            return key + ":" + oldValue + "->" + newValue;
+        }
+    }
+    
+    // 资源变化事件（可合并），deltas为null表示需要全量刷新
+    public static final class ResourceChangedEvent implements CoalescingEvent<ResourceChangedEvent> {
+        private final Map<String, Integer> resources;
+        private final List<Delta> deltas;
+        private final long version;
+        
+        public ResourceChangedEvent(Map<String, Integer> resources) {
+            this(resources, null, UNVERSIONED);
+        }
+        
+        public ResourceChangedEvent(Map<String, Integer> resources, List<Delta> deltas, long version) {
+            this.resources = resources;
+            this.deltas = deltas;
+            this.version = version;
+        }
+        
+        public Map<String, Integer> getResources() {
+            return resources;
+        }
+        
+        public List<Delta> getDeltas() {
+            return deltas;
+        }
+        
+        public boolean isFullRefresh() {
+            return deltas == null;
+        }
+        
+        public long getVersion() {
+            return version;
+        }
+        
+        public Delta getDelta(String key) {
+            return findDelta(deltas, key);
+        }
+        
+        public boolean isNewerThan(long shownVersion) {
+            return version == UNVERSIONED || version > shownVersion;
+        }
+        
+        @Override
+        public ResourceChangedEvent coalesceWith(ResourceChangedEvent newer) {
+            return new ResourceChangedEvent(newer.resources, mergeDeltas(deltas, newer.deltas), Math.max(version, newer.version));
+        }
+    }
+    
+    // 建筑变化事件（可合并），deltas为null表示需要全量刷新
+    public static final class BuildingChangedEvent implements CoalescingEvent<BuildingChangedEvent> {
+        private final Map<String, Integer> buildings;
+        private final List<Delta> deltas;
+        private final long version;
+        
+        public BuildingChangedEvent(Map<String, Integer> buildings) {
+            this(buildings, null, UNVERSIONED);
+        }
+        
+        public BuildingChangedEvent(Map<String, Integer> buildings, List<Delta> deltas, long version) {
+            this.buildings = buildings;
+            this.deltas = deltas;
+            this.version = version;
+        }
+        
+        public Map<String, Integer> getBuildings() {
+            return buildings;
+        }
+        
+        public List<Delta> getDeltas() {
+            return deltas;
+        }
+        
+        public boolean isFullRefresh() {
+            return deltas == null;
+        }
+        
+        public long getVersion() {
+            return version;
+        }
+        
+        public Delta getDelta(String key) {
+            return findDelta(deltas, key);
+        }
+        
+        public boolean isNewerThan(long shownVersion) {
+            return version == UNVERSIONED || version > shownVersion;
+        }
+        
+        @Override
+        public BuildingChangedEvent coalesceWith(BuildingChangedEvent newer) {
+            return new BuildingChangedEvent(newer.buildings, mergeDeltas(deltas, newer.deltas), Math.max(version, newer.version));
+        }
+    }
+    
+    /**
+     * 在变化列表中查找指定条目
+     * @return 条目的变化，全量刷新或没有变化时返回null
+     */
+    private static Delta findDelta(List<Delta> deltas, String key) {
+        if (deltas != null) {
+            for (Delta delta : deltas) {
+                if (delta.getKey().equals(key)) {
+                    return delta;
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 合并两批变化：同一条目保留最早的旧值和最新的新值，前后相同的条目被丢弃
+     * 任意一方为全量刷新时结果也是全量刷新
+     */
+    private static List<Delta> mergeDeltas(List<Delta> older, List<Delta> newer) {
+        if (older == null || newer == null) {
+            return null;
+        }
+        Map<String, Delta> merged = new LinkedHashMap<>();
+        for (Delta delta : older) {
+            merged.put(delta.getKey(), delta);
+        }
+        for (Delta delta : newer) {
+            Delta previous = merged.get(delta.getKey());
+            int oldValue = previous == null ? delta.getOldValue() : previous.getOldValue();
+            merged.put(delta.getKey(), new Delta(delta.getKey(), oldValue, delta.getNewValue()));
+        }
+        List<Delta> result = new ArrayList<>(merged.size());
+        for (Delta delta : merged.values()) {
+            if (delta.getOldValue() != delta.getNewValue()) {
+                result.add(delta);
+            }
+        }
+        return result;
+    }
+    
+    // 游戏阶段变化事件
+    public static final class GamePhaseChangedEvent {
+        private final boolean phase2;
+        
+        public GamePhaseChangedEvent(boolean phase2) {
+            this.phase2 = phase2;
+        }
+        
+        public boolean isPhase2() {
+            return phase2;
+        }
+    }
+    
+    // 人口变化事件（可合并，只保留最新的人数）
+    public static final class PopulationChangedEvent implements CoalescingEvent<PopulationChangedEvent> {
+        private final int population;
+        private final int capacity;
+        private final int[] workers;
+        
+        public PopulationChangedEvent(int population, int capacity, int[] workers) {
+            this.population = population;
+            this.capacity = capacity;
+            this.workers = workers;
+        }
+        
+        public int getPopulation() {
+            return population;
+        }
+        
+        public int getCapacity() {
+            return capacity;
+        }
+        
+        // 按工作序号（Job.ordinal()）排列的人数
+        public int getWorkers(int job) {
+            return workers[job];
+        }
+        
+        @Override
+        public PopulationChangedEvent coalesceWith(PopulationChangedEvent newer) {
+            return newer;
+        }
+    }
+    
+    // 场景名称变化事件
+    public static final class SceneNameChangedEvent {
+        private final String sceneName;
+        
+        public SceneNameChangedEvent(String sceneName) {
+            this.sceneName = sceneName;
+        }
+        
+        public String getSceneName() {
+            return sceneName;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package Design.host;
+
+import Design.content.ContentCatalog;
+import Design.simulation.SimulationEngine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 托管的游戏会话，包含一套独立的无界面模型、事件管理器、时钟和控制器
+ * 会话的游戏时间跟随真实时间，所有读写都在会话自身的锁内进行，同一时刻只有一个线程推进会话；
+ * 唤醒的登记由SessionHost负责，会话只记录当前登记的唤醒
+ */
+final class GameSession {
+    static final int MESSAGE_CAPACITY = 20; // 每个会话保留的最近消息数
+
+    private final long id;
+    private final SimulationEngine engine;
+    private final long createdNanos;          // 创建时的真实时间，游戏时间从这里开始计算
+    private final ArrayDeque<String> messages = new ArrayDeque<>();
+    private long lastAccessNanos;             // 最近一次客户端访问的真实时间
+    private boolean closed;
+
+    // 由SessionHost在持有会话锁时维护
+    ScheduledFuture<?> wakeup;                // 当前登记的唤醒，没有时为null
+    long wakeupDueTime = -1;                  // 唤醒对应的游戏时间
+    long wakeupGeneration;                    // 每次登记或取消唤醒时加一，过期的唤醒据此忽略
+
+    /**
+     * 构造函数
+     * @param id 会话编号
+     * @param seed 随机数种子
+     * @param content 共享的内容目录
+     * @param nowNanos 当前真实时间（纳秒）
+     */
+    GameSession(long id, long seed, ContentCatalog content, long nowNanos) {
+        this.id = id;
+        this.engine = new SimulationEngine(seed, content);
+        this.createdNanos = nowNanos;
+        this.lastAccessNanos = nowNanos;
+        engine.getEventManager().addMessageListener(this::addMessage);
+    }
+
+    /**
+     * 把游戏时间推进到当前真实时间
+     * 落后不多时逐个触发事件，落后较多（会话曾经闲置或工作线程繁忙）时快进，
+     * 周期性事件的多次触发合并计算，闲置会话恢复的开销与闲置时长无关
+     * @param nowNanos 当前真实时间（纳秒）
+     * @param lateToleranceMillis 逐个触发的最大落后时间（毫秒）
+     */
+    void catchUp(long nowNanos, long lateToleranceMillis) {
+        long behind = gameTimeAt(nowNanos) - engine.getGameTime();
+        if (behind > lateToleranceMillis) {
+            engine.fastForward(behind);
+        } else if (behind > 0) {
+            engine.step(behind);
+        }
+    }
+
+    /**
+     * 计算真实时间对应的游戏时间
+     * @param nowNanos 真实时间（纳秒）
+     * @return 游戏时间（毫秒）
+     */
+    long gameTimeAt(long nowNanos) {
+        return (nowNanos - createdNanos) / 1_000_000;
+    }
+
+    /**
+     * 计算游戏时间对应的真实时间
+     * @param gameTime 游戏时间（毫秒）
+     * @return 真实时间（纳秒）
+     */
+    long nanosAt(long gameTime) {
+        return createdNanos + gameTime * 1_000_000;
+    }
+
+    /**
+     * 记录客户端访问
+     * @param nowNanos 当前真实时间（纳秒）
+     */
+    void touch(long nowNanos) {
+        lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * 是否已闲置（超过指定时间没有客户端访问）
+     * @param nowNanos 当前真实时间（纳秒）
+     * @param idleNanos 闲置判定时间（纳秒）
+     * @return 是否闲置
+     */
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - lastAccessNanos > idleNanos;
+    }
+
+    /**
+     * 取出并清空保留的消息
+     * @return 按时间顺序排列的消息
+     */
+    List<String> drainMessages() {
+        List<String> drained = new ArrayList<>(messages);
+        messages.clear();
+        return drained;
+    }
+
+    /**
+     * 保留消息，超过容量时丢弃最早的消息
+     */
+    private void addMessage(String message) {
+        if (messages.size() == MESSAGE_CAPACITY) {
+            messages.pollFirst();
+        }
+        messages.addLast(message);
+    }
+
+    long getId() {
+        return id;
+    }
+
+    SimulationEngine getEngine() {
+        return engine;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+    }
+}
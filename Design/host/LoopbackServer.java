@@ -0,0 +1,206 @@
+package Design.host;
+
+import Design.content.ContentCatalog;
+import Design.journal.ActionType;
+import Design.metrics.Metrics;
+import Design.model.BuildingType;
+import Design.model.GameState;
+import Design.model.Job;
+import Design.model.ResourceType;
+import Design.model.Villagers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本机回环接口上的会话控制服务，只监听127.0.0.1，用于在同一台机器上驱动托管的会话
+ * 协议为UTF-8文本行，每条命令返回一行"OK ..."或"ERR ..."：
+ *   NEW [种子]          创建会话，返回会话编号
+ *   ACT 编号 操作        执行玩家操作（ActionType的常量名，如ADD_FUEL、BUILD_HUT、ASSIGN_HUNTER）
+ *   STATE 编号          返回游戏时间、温度、资源、建筑和各工作人数
+ *   MSG 编号            返回"OK 条数"，随后每行一条保留的消息
+ *   CLOSE 编号          关闭会话
+ *   STATS               返回会话数、活跃会话数、累计唤醒次数和工作线程繁忙时唤醒重试的次数
+ *   QUIT                断开连接
+ * 连接由固定数量的线程处理，超出的连接排队等待
+ */
+public class LoopbackServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7651;
+    private static final int CONNECTION_THREADS = 4;
+
+    private final SessionHost host;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final Thread acceptor;
+
+    /**
+     * 构造函数，绑定端口并开始接受连接
+     * @param host 会话托管
+     * @param port 端口，0表示由系统分配
+     * @throws IOException 端口绑定失败
+     */
+    public LoopbackServer(SessionHost host, int port) throws IOException {
+        this.host = host;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        AtomicInteger counter = new AtomicInteger();
+        this.connections = Executors.newFixedThreadPool(CONNECTION_THREADS, r -> {
+            Thread thread = new Thread(r, "loopback-connection-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.acceptor = new Thread(this::acceptLoop, "loopback-acceptor");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    /**
+     * 获取实际监听的端口
+     * @return 端口
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * 接受连接，交给连接线程处理
+     */
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("接受连接失败: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 处理一个连接上的所有命令
+     */
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] words = line.trim().split("\\s+");
+                if ("QUIT".equalsIgnoreCase(words[0])) {
+                    out.println("OK");
+                    break;
+                }
+                try {
+                    handle(words, out);
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                    out.println("ERR " + (e.getMessage() == null ? "参数不足" : e.getMessage()));
+                }
+                out.flush();
+            }
+            out.flush();
+        } catch (IOException e) {
+            // 客户端断开
+        }
+    }
+
+    /**
+     * 执行一条命令并写出响应
+     * @param words 命令和参数
+     * @param out 输出
+     */
+    void handle(String[] words, PrintWriter out) {
+        switch (words[0].toUpperCase()) {
+            case "NEW":
+                long seed = words.length > 1 ? Long.parseLong(words[1]) : System.nanoTime();
+                out.println("OK " + host.createSession(seed));
+                break;
+            case "ACT":
+                host.perform(Long.parseLong(words[1]), ActionType.valueOf(words[2].toUpperCase()));
+                out.println("OK");
+                break;
+            case "STATE":
+                out.println("OK " + host.withSession(Long.parseLong(words[1]), engine -> {
+                    Villagers villagers = engine.getController().getPopulationManager().getVillagers();
+                    return describe(engine.getGameTime(), engine.getModel().getState(), villagers);
+                }));
+                break;
+            case "MSG":
+                List<String> messages = host.drainMessages(Long.parseLong(words[1]));
+                out.println("OK " + messages.size());
+                for (String message : messages) {
+                    out.println(message);
+                }
+                break;
+            case "CLOSE":
+                out.println(host.closeSession(Long.parseLong(words[1])) ? "OK" : "ERR 会话不存在: " + words[1]);
+                break;
+            case "STATS":
+                out.println("OK sessions=" + host.getSessionCount() + " scheduled=" + host.getScheduledCount()
+                        + " wakeups=" + host.getWakeupCount() + " rejected=" + host.getRejectedCount());
+                break;
+            default:
+                out.println("ERR 未知命令: " + words[0]);
+                break;
+        }
+    }
+
+    /**
+     * 把会话状态格式化为一行"键=值"
+     */
+    private static String describe(long gameTime, GameState state, Villagers villagers) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("time=").append(gameTime).append(" heat=").append(state.getRoomHeat())
+                .append(" phase2=").append(state.isGamePhase2());
+        for (ResourceType type : ResourceType.values()) {
+            builder.append(' ').append(type.name()).append('=').append(state.getResource(type));
+        }
+        for (BuildingType type : BuildingType.values()) {
+            builder.append(' ').append(type.name()).append('=').append(state.getBuilding(type));
+        }
+        for (Job job : Job.values()) {
+            builder.append(' ').append(job.name()).append('=').append(villagers.count(job));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 停止接受连接
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    /**
+     * 命令行入口：启动会话托管和回环服务，可以预先创建一批会话
+     * 用法：java -cp out Design.host.LoopbackServer [端口] [工作线程数] [预建会话数]
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int preload = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        Metrics.registerMBean();
+
+        SessionHost host = new SessionHost(workers, ContentCatalog.getDefault(), SessionHost.IDLE_AFTER_MILLIS);
+        for (int i = 0; i < preload; i++) {
+            host.createSession(i);
+        }
+        LoopbackServer server = new LoopbackServer(host, port);
+        System.out.printf("会话托管已启动：127.0.0.1:%d，%d 个工作线程，%d 个会话%n", server.getPort(), workers,
+                host.getSessionCount());
+        server.acceptor.join();
+    }
+}
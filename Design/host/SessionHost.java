@@ -0,0 +1,301 @@
+package Design.host;
+
+import Design.content.ContentCatalog;
+import Design.journal.ActionType;
+import Design.simulation.SimulationEngine;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 会话托管类，在一个进程中运行大量相互独立的无界面游戏会话
+ * 每个会话有自己的模型、事件管理器、时钟和控制器，内容目录等只读数据在会话之间共享；
+ * 所有会话共用一个调度线程和一个有界工作线程池：调度线程只在会话的下一个事件到期时登记一次唤醒，
+ * 到期后交给工作线程推进；工作线程的队列已满时不排队也不在调度线程上执行，
+ * 而是稍后重试，调度线程从不等待会话锁，一个推进缓慢的会话不会推迟其他会话的唤醒
+ *
+ * 超过IDLE_AFTER_MILLIS没有客户端访问的会话不再登记唤醒，只占用内存；
+ * 下次访问时用时钟快进一次补上闲置期间的进度，因此上万个闲置会话几乎不消耗CPU
+ */
+public class SessionHost implements AutoCloseable {
+    public static final long IDLE_AFTER_MILLIS = 60_000;    // 没有访问多久后视为闲置
+    private static final long LATE_TOLERANCE_MILLIS = 1000; // 落后超过这个时间时快进
+    private static final int QUEUE_PER_WORKER = 256;        // 每个工作线程的等待队列长度
+    private static final long RETRY_DELAY_MILLIS = 10;      // 工作线程队列已满时首次重试交付的间隔
+    private static final long MAX_RETRY_DELAY_MILLIS = 640; // 重试间隔每次加倍，最多到这个值
+
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicLong wakeups = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ThreadPoolExecutor workers;
+    private final ContentCatalog content;
+    private final long idleNanos;
+
+    /**
+     * 构造函数，工作线程数与CPU核心数相同
+     */
+    public SessionHost() {
+        this(Runtime.getRuntime().availableProcessors(), ContentCatalog.getDefault(), IDLE_AFTER_MILLIS);
+    }
+
+    /**
+     * 构造函数
+     * @param workerThreads 工作线程数
+     * @param content 所有会话共享的内容目录
+     * @param idleAfterMillis 没有访问多久后停止主动推进会话（毫秒）
+     */
+    public SessionHost(int workerThreads, ContentCatalog content, long idleAfterMillis) {
+        this.content = content;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleAfterMillis);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, daemonThreads("session-scheduler"));
+        this.scheduler.setRemoveOnCancelPolicy(true); // 提前唤醒时取消的任务立即移出队列
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerThreads * QUEUE_PER_WORKER), daemonThreads("session-worker"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 创建会话
+     * @param seed 随机数种子
+     * @return 会话编号
+     */
+    public long createSession(long seed) {
+        long now = System.nanoTime();
+        GameSession session = new GameSession(nextId.getAndIncrement(), seed, content, now);
+        sessions.put(session.getId(), session);
+        synchronized (session) {
+            reschedule(session, now);
+        }
+        return session.getId();
+    }
+
+    /**
+     * 关闭会话
+     * @param id 会话编号
+     * @return 会话是否存在
+     */
+    public boolean closeSession(long id) {
+        GameSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        synchronized (session) {
+            session.close();
+            cancelWakeup(session);
+        }
+        return true;
+    }
+
+    /**
+     * 在会话中执行玩家操作
+     * @param id 会话编号
+     * @param action 操作类型
+     */
+    public void perform(long id, ActionType action) {
+        withSession(id, engine -> {
+            engine.getController().perform(action);
+            return null;
+        });
+    }
+
+    /**
+     * 取出会话中保留的最近消息
+     * @param id 会话编号
+     * @return 消息列表
+     */
+    public List<String> drainMessages(long id) {
+        GameSession session = require(id);
+        synchronized (session) {
+            access(session, System.nanoTime());
+            return session.drainMessages();
+        }
+    }
+
+    /**
+     * 先把会话推进到当前时间，再在会话锁内访问会话的引擎（执行操作或读取状态）
+     * 访问之后按新的事件队列重新登记唤醒，例如添柴后登记陌生人到来
+     * @param id 会话编号
+     * @param function 访问函数，不应保存引擎的引用
+     * @param <T> 返回值类型
+     * @return 访问函数的返回值
+     * @throws IllegalArgumentException 会话不存在
+     */
+    public <T> T withSession(long id, Function<SimulationEngine, T> function) {
+        GameSession session = require(id);
+        synchronized (session) {
+            long now = System.nanoTime();
+            access(session, now);
+            T result = function.apply(session.getEngine());
+            reschedule(session, now);
+            return result;
+        }
+    }
+
+    /**
+     * 客户端访问会话：记录访问时间并补上落后的进度
+     */
+    private void access(GameSession session, long now) {
+        if (session.isClosed()) {
+            throw new IllegalArgumentException("会话已关闭: " + session.getId());
+        }
+        session.touch(now);
+        session.catchUp(now, LATE_TOLERANCE_MILLIS);
+    }
+
+    /**
+     * 唤醒会话（在工作线程上执行）：推进到当前时间，仍在活跃时登记下一次唤醒
+     */
+    private void wake(GameSession session, long generation) {
+        synchronized (session) {
+            if (generation != session.wakeupGeneration) {
+                // 已被取消或被更早的唤醒取代，但在取消前已经交给了工作线程
+                return;
+            }
+            session.wakeup = null;
+            session.wakeupDueTime = -1;
+            if (session.isClosed()) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (session.isIdle(now, idleNanos)) {
+                // 闲置的会话不再推进，下次访问时一次补上
+                return;
+            }
+            wakeups.incrementAndGet();
+            session.catchUp(now, LATE_TOLERANCE_MILLIS);
+            reschedule(session, now);
+        }
+    }
+
+    /**
+     * 把到期的唤醒交给工作线程（在调度线程上执行）
+     * 工作线程的队列已满时计数并稍后重试，不阻塞调度线程，重试间隔逐次加倍以免空转；
+     * 重试前唤醒被取消或取代时，wake按代数忽略它
+     * @param retryDelay 本次再被拒绝时的重试间隔（毫秒）
+     */
+    private void dispatch(GameSession session, long generation, long retryDelay) {
+        try {
+            workers.execute(() -> wake(session, generation));
+        } catch (RejectedExecutionException e) {
+            if (workers.isShutdown()) {
+                return;
+            }
+            rejections.incrementAndGet();
+            long nextDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+            try {
+                scheduler.schedule(() -> dispatch(session, generation, nextDelay), retryDelay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException closed) {
+                // 托管已关闭
+            }
+        }
+    }
+
+    /**
+     * 按会话的下一个事件登记唤醒，已登记的唤醒时间相同时不重复登记（调用者持有会话锁）
+     */
+    private void reschedule(GameSession session, long now) {
+        long due = session.getEngine().getClock().getNextDueTime();
+        if (due < 0 || session.isIdle(now, idleNanos)) {
+            cancelWakeup(session);
+            return;
+        }
+        if (session.wakeup != null && session.wakeupDueTime == due) {
+            return;
+        }
+        cancelWakeup(session);
+        long delay = Math.max(0, session.nanosAt(due) - now);
+        long generation = ++session.wakeupGeneration;
+        session.wakeupDueTime = due;
+        session.wakeup = scheduler.schedule(() -> dispatch(session, generation, RETRY_DELAY_MILLIS), delay,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 取消会话已登记的唤醒（调用者持有会话锁）
+     */
+    private void cancelWakeup(GameSession session) {
+        if (session.wakeup != null) {
+            session.wakeup.cancel(false);
+            session.wakeup = null;
+            session.wakeupGeneration++;
+            session.wakeupDueTime = -1;
+        }
+    }
+
+    /**
+     * 查找会话
+     * @throws IllegalArgumentException 会话不存在
+     */
+    private GameSession require(long id) {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            throw new IllegalArgumentException("会话不存在: " + id);
+        }
+        return session;
+    }
+
+    /**
+     * 获取会话数量
+     * @return 会话数量
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * 获取登记了唤醒的会话数量（即没有闲置的会话）
+     * @return 活跃会话数量
+     */
+    public int getScheduledCount() {
+        return scheduler.getQueue().size();
+    }
+
+    /**
+     * 获取累计唤醒次数
+     * @return 唤醒次数
+     */
+    public long getWakeupCount() {
+        return wakeups.get();
+    }
+
+    /**
+     * 获取工作线程队列已满、唤醒需要稍后重试的累计次数
+     * @return 重试次数
+     */
+    public long getRejectedCount() {
+        return rejections.get();
+    }
+
+    /**
+     * 停止调度和工作线程，会话随之丢弃
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        workers.shutdown();
+        sessions.clear();
+    }
+
+    /**
+     * 创建带编号的守护线程
+     */
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
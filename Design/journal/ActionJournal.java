@@ -0,0 +1,229 @@
+package Design.journal;
+
+import Design.save.GameSnapshot;
+import Design.save.SaveManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 操作日志类，将玩家操作以只追加的方式写入内存映射文件
+ * 每条操作先写日志再执行，进程意外退出时已写入的记录仍保留在文件中
+ *
+ * 日志格式（大端序）：
+ *   int 魔数 | short 版本 | long 随机数种子 | long 起始游戏时间 |
+ *   int 初始快照长度 | 初始快照（存档格式，长度为0表示新游戏） |
+ *   记录 {byte 类型, long 游戏时间} ...
+ * 类型为ActionType编码的记录是玩家操作，CLOCK记录只标记时钟推进到的时间，类型0表示日志结束
+ * 记录中的游戏时间是绝对时间，回放时时钟先移到起始游戏时间再应用记录
+ * 版本1没有起始游戏时间字段，读取时按0处理
+ */
+public class ActionJournal implements Closeable {
+    public static final int MAGIC = 0x4D44524A; // "MDRJ"
+    public static final short VERSION = 2;
+    public static final int RECORD_END = 0;
+    public static final int RECORD_CLOCK = 0x7F;
+    private static final int RECORD_SIZE = 1 + 8;
+    private static final int CHUNK_SIZE = 64 * 1024; // 每次映射的文件区域大小
+    private static final int HEADER_SIZE = 4 + 2 + 8 + 8 + 4;
+    private static final int HEADER_SIZE_V1 = 4 + 2 + 8 + 4;
+    
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long bufferOffset; // 当前映射区域在文件中的起始位置
+    
+    private ActionJournal(FileChannel channel) {
+        this.channel = channel;
+    }
+    
+    /**
+     * 创建新的日志文件
+     * @param path 日志文件路径
+     * @param seed 本局的随机数种子
+     * @param baseTime 开始记录时的游戏时间（毫秒）
+     * @param initialSnapshot 开始记录时的游戏快照，新游戏传入null
+     * @return 操作日志
+     * @throws IOException 创建失败
+     */
+    public static ActionJournal create(Path path, long seed, long baseTime, GameSnapshot initialSnapshot) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ActionJournal journal = new ActionJournal(channel);
+        
+        ByteBuffer snapshot = initialSnapshot != null ? SaveManager.encode(initialSnapshot) : ByteBuffer.allocate(0);
+        journal.remap(0, Math.max(CHUNK_SIZE, HEADER_SIZE + snapshot.remaining() + RECORD_SIZE));
+        journal.buffer.putInt(MAGIC);
+        journal.buffer.putShort(VERSION);
+        journal.buffer.putLong(seed);
+        journal.buffer.putLong(baseTime);
+        journal.buffer.putInt(snapshot.remaining());
+        journal.buffer.put(snapshot);
+        return journal;
+    }
+    
+    /**
+     * 记录玩家操作
+     * @param type 操作类型
+     * @param gameTime 操作时的游戏时间
+     */
+    public void record(ActionType type, long gameTime) {
+        append(type.getCode(), gameTime);
+    }
+    
+    /**
+     * 记录时钟推进到的时间，回放时会推进到这一时刻
+     * @param gameTime 游戏时间
+     */
+    public void markClock(long gameTime) {
+        append(RECORD_CLOCK, gameTime);
+    }
+    
+    /**
+     * 追加一条记录，当前映射区域写满时映射下一段
+     */
+    private void append(int code, long gameTime) {
+        try {
+            if (buffer.remaining() < RECORD_SIZE) {
+                remap(bufferOffset + buffer.position(), CHUNK_SIZE);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("无法扩展操作日志", e);
+        }
+        buffer.put((byte) code);
+        buffer.putLong(gameTime);
+    }
+    
+    /**
+     * 映射文件的一段区域，映射超出文件末尾时文件自动增长，增长部分为0即结束标记
+     */
+    private void remap(long offset, int size) throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, offset, size);
+        bufferOffset = offset;
+    }
+    
+    /**
+     * 将已写入的记录刷新到磁盘并关闭文件
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+    
+    /**
+     * 读取日志文件
+     * @param path 日志文件路径
+     * @return 日志内容
+     * @throws IOException 读取失败或格式不正确
+     */
+    public static Contents read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.remaining() < HEADER_SIZE_V1 || in.getInt() != MAGIC) {
+                throw new IOException("不是有效的操作日志");
+            }
+            short version = in.getShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("不支持的日志版本: " + version);
+            }
+            if (version >= 2 && in.capacity() < HEADER_SIZE) {
+                throw new IOException("不是有效的操作日志");
+            }
+            long seed = in.getLong();
+            long baseTime = version >= 2 ? in.getLong() : 0;
+            int snapshotLength = in.getInt();
+            GameSnapshot snapshot = null;
+            if (snapshotLength > 0) {
+                ByteBuffer snapshotBytes = in.slice();
+                snapshotBytes.limit(snapshotLength);
+                snapshot = SaveManager.decode(snapshotBytes);
+                in.position(in.position() + snapshotLength);
+            }
+            
+            List<Record> records = new ArrayList<>();
+            while (in.remaining() >= RECORD_SIZE) {
+                int code = in.get() & 0xFF;
+                if (code == RECORD_END) {
+                    break;
+                }
+                records.add(new Record(code, in.getLong()));
+            }
+            return new Contents(seed, baseTime, snapshot, records);
+        }
+    }
+    
+    /**
+     * 日志内容
+     */
+    public static final class Contents {
+        private final long seed;
+        private final long baseTime;
+        private final GameSnapshot initialSnapshot;
+        private final List<Record> records;
+        
+        Contents(long seed, long baseTime, GameSnapshot initialSnapshot, List<Record> records) {
+            this.seed = seed;
+            this.baseTime = baseTime;
+            this.initialSnapshot = initialSnapshot;
+            this.records = Collections.unmodifiableList(records);
+        }
+        
+        public long getSeed() {
+            return seed;
+        }
+        
+        /**
+         * 获取开始记录时的游戏时间
+         * @return 游戏时间（毫秒）
+         */
+        public long getBaseTime() {
+            return baseTime;
+        }
+        
+        public GameSnapshot getInitialSnapshot() {
+            return initialSnapshot;
+        }
+        
+        public List<Record> getRecords() {
+            return records;
+        }
+    }
+    
+    /**
+     * 日志记录
+     */
+    public static final class Record {
+        private final int code;
+        private final long gameTime;
+        
+        Record(int code, long gameTime) {
+            this.code = code;
+            this.gameTime = gameTime;
+        }
+        
+        /**
+         * 获取操作类型
+         * @return 操作类型，时钟记录返回null
+         */
+        public ActionType getAction() {
+            return ActionType.fromCode(code);
+        }
+        
+        public long getGameTime() {
+            return gameTime;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package Design.journal;
+
+import Design.model.BuildingType;
+import Design.model.Job;
+
+/**
+ * 玩家操作类型枚举，日志中以序号加1保存，因此只能在末尾追加新常量
+ */
+public enum ActionType {
+    ADD_FUEL(null),
+    CHOP_WOOD(null),
+    BUILD_HUT(BuildingType.HUT),
+    BUILD_TRAP(BuildingType.TRAP),
+    BUILD_CART(BuildingType.CART),
+    CHECK_TRAPS(null),
+    ASSIGN_HUNTER(Job.HUNTER, 1),
+    UNASSIGN_HUNTER(Job.HUNTER, -1),
+    ASSIGN_TRAPPER(Job.TRAPPER, 1),
+    UNASSIGN_TRAPPER(Job.TRAPPER, -1);
+    
+    private static final ActionType[] VALUES = values();
+    
+    private final BuildingType building; // 建造操作对应的建筑，其他操作为null
+    private final Job job;               // 分工操作对应的工作，其他操作为null
+    private final int jobDelta;          // 分工操作的人数变化
+    
+    ActionType(BuildingType building) {
+        this.building = building;
+        this.job = null;
+        this.jobDelta = 0;
+    }
+    
+    ActionType(Job job, int jobDelta) {
+        this.building = null;
+        this.job = job;
+        this.jobDelta = jobDelta;
+    }
+    
+    /**
+     * 获取建造操作对应的建筑
+     * @return 建筑类型，不是建造操作时返回null
+     */
+    public BuildingType getBuilding() {
+        return building;
+    }
+    
+    /**
+     * 获取分工操作对应的工作
+     * @return 工作，不是分工操作时返回null
+     */
+    public Job getJob() {
+        return job;
+    }
+    
+    /**
+     * 获取分工操作的人数变化
+     * @return 增加一人为1，减少一人为-1，不是分工操作时为0
+     */
+    public int getJobDelta() {
+        return jobDelta;
+    }
+    
+    /**
+     * 获取调整指定工作人数的操作
+     * @param job 工作
+     * @param delta 人数变化的方向
+     * @return 分工操作，没有对应操作时返回null
+     */
+    public static ActionType assignActionOf(Job job, int delta) {
+        for (ActionType action : VALUES) {
+            if (job != null && action.job == job && Integer.signum(delta) == action.jobDelta) {
+                return action;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 获取建造指定建筑的操作
+     * @param building 建筑类型
+     * @return 建造操作，没有对应操作时返回null
+     */
+    public static ActionType buildActionOf(BuildingType building) {
+        for (ActionType action : VALUES) {
+            if (building != null && action.building == building) {
+                return action;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 根据日志中的编码查找操作类型
+     * @param code 编码（序号加1）
+     * @return 操作类型，未知编码返回null
+     */
+    public static ActionType fromCode(int code) {
+        return code >= 1 && code <= VALUES.length ? VALUES[code - 1] : null;
+    }
+    
+    /**
+     * 获取日志中的编码
+     * @return 编码（序号加1）
+     */
+    public int getCode() {
+        return ordinal() + 1;
+    }
+}
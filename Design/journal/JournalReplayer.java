@@ -0,0 +1,90 @@
+package Design.journal;
+
+import Design.content.ContentCatalog;
+import Design.save.SaveManager;
+import Design.simulation.SimulationEngine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 日志回放类，在全新的无界面模拟引擎上按日志重新执行玩家操作
+ * 时钟从日志的起始游戏时间开始，直接跳到每条记录的时间，不等待真实时间，回放速度只受CPU限制
+ */
+public class JournalReplayer {
+    
+    /**
+     * 回放日志
+     * @param contents 日志内容
+     * @return 回放结束时的模拟引擎
+     */
+    public static SimulationEngine replay(ActionJournal.Contents contents) {
+        return replay(contents, createEngine(contents));
+    }
+    
+    /**
+     * 按日志的种子和起始游戏时间创建模拟引擎
+     * @param contents 日志内容
+     * @return 尚未回放的模拟引擎
+     */
+    public static SimulationEngine createEngine(ActionJournal.Contents contents) {
+        return new SimulationEngine(contents.getSeed(), ContentCatalog.getDefault(), contents.getBaseTime());
+    }
+    
+    /**
+     * 在指定的模拟引擎上回放日志，可以在回放前注册监听器
+     * @param contents 日志内容
+     * @param engine 由createEngine创建的模拟引擎
+     * @return 回放结束时的模拟引擎
+     * @throws IllegalArgumentException 引擎的时钟不在日志的起始游戏时间
+     */
+    public static SimulationEngine replay(ActionJournal.Contents contents, SimulationEngine engine) {
+        if (engine.getGameTime() != contents.getBaseTime()) {
+            throw new IllegalArgumentException("引擎时间 " + engine.getGameTime()
+                    + " 与日志起始时间 " + contents.getBaseTime() + " 不一致");
+        }
+        if (contents.getInitialSnapshot() != null) {
+            engine.getController().restoreSnapshot(contents.getInitialSnapshot());
+        }
+        for (ActionJournal.Record record : contents.getRecords()) {
+            engine.runUntil(record.getGameTime());
+            ActionType action = record.getAction();
+            if (action != null) {
+                engine.getController().perform(action);
+            }
+        }
+        return engine;
+    }
+    
+    /**
+     * 获取默认的日志文件路径
+     * @return 存档目录下的日志文件路径
+     */
+    public static Path defaultPath() {
+        return SaveManager.defaultPath().resolveSibling("journal.bin");
+    }
+    
+    /**
+     * 命令行入口：回放日志并打印消息和最终状态
+     * 用法：java -cp out Design.journal.JournalReplayer [日志文件]
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Paths.get(args[0]) : defaultPath();
+        ActionJournal.Contents contents = ActionJournal.read(path);
+        
+        SimulationEngine engine = createEngine(contents);
+        engine.getEventManager().addMessageListener(message ->
+                System.out.printf("[%8.1fs] %s%n", engine.getGameTime() / 1000.0, message));
+        
+        long start = System.nanoTime();
+        replay(contents, engine);
+        long elapsedMicros = (System.nanoTime() - start) / 1000;
+        
+        System.out.println("资源: " + engine.getModel().getResources());
+        System.out.println("建筑: " + engine.getModel().getBuildings());
+        System.out.println("房间温度: " + engine.getModel().getRoomHeat());
+        System.out.printf("回放 %d 条记录，游戏时间 %.1f 秒，用时 %d 微秒%n",
+                contents.getRecords().size(), engine.getGameTime() / 1000.0, elapsedMicros);
+    }
+}
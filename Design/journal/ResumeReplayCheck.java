@@ -0,0 +1,137 @@
+package Design.journal;
+
+import Design.save.GameSnapshot;
+import Design.save.SaveManager;
+import Design.simulation.SimulationEngine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 存档继续与日志回放的一致性检查
+ * 先玩一段并存档，再按FireRoomGame.initializeSave的顺序继续游戏：恢复存档、打开操作日志、计入离线时间，
+ * 之后继续操作；最后回放日志，要求回放结果与实际游戏完全相同（比较两边存档格式的快照）
+ * 另外比较连续运行和中途反复存档读档的两局，要求存档往返不丢失任何状态；
+ * 读档按固定顺序重新登记计时器，同一时刻到期的事件先后可能不同，因此这里不比较事件的排列顺序
+ *
+ * 用法：java -cp out Design.journal.ResumeReplayCheck [种子] [离线分钟数]
+ * 结果不一致时以退出码1结束
+ */
+public class ResumeReplayCheck {
+    private static final int ROUNDS_BEFORE_SAVE = 400; // 存档前的操作轮数，足够进入第二阶段
+    private static final int ROUNDS_AFTER_RESUME = 60; // 继续游戏后的操作轮数
+    private static final long ROUND_MILLIS = 2000;     // 每轮操作之间推进的游戏时间
+    private static final int ROUND_TRIPS = 20;         // 存档往返的次数
+    private static final long ROUND_TRIP_MILLIS = 3100; // 两次存档往返之间推进的游戏时间，不与产出周期对齐
+    
+    public static void main(String[] args) throws IOException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+        long offlineMillis = (args.length > 1 ? Long.parseLong(args[1]) : 60) * 60_000L;
+        
+        // 第一次游戏：玩一段后存档
+        SimulationEngine first = new SimulationEngine(seed);
+        play(first, ROUNDS_BEFORE_SAVE);
+        GameSnapshot save = SaveManager.decode(SaveManager.encode(first.getController().createSnapshot()));
+        
+        // 继续游戏：新进程使用新的种子，顺序与FireRoomGame.initializeSave相同
+        long resumeSeed = seed + 1;
+        SimulationEngine live = new SimulationEngine(resumeSeed);
+        live.getController().restoreSnapshot(save);
+        Path path = Files.createTempFile("darkroom-journal", ".bin");
+        boolean passed;
+        try {
+            ActionJournal journal = ActionJournal.create(path, resumeSeed, live.getGameTime(),
+                    live.getController().createSnapshot());
+            live.getController().setActionJournal(journal);
+            live.getController().applyOfflineProgress(offlineMillis);
+            journal.markClock(live.getGameTime());
+            play(live, ROUNDS_AFTER_RESUME);
+            journal.markClock(live.getGameTime());
+            journal.close();
+        
+            SimulationEngine replayed = JournalReplayer.replay(ActionJournal.read(path));
+            boolean same = replayed.getGameTime() == live.getGameTime()
+                    && encode(replayed).equals(encode(live));
+            System.out.println("实际游戏 t=" + live.getGameTime() + " 资源: " + live.getModel().getResources()
+                    + " 建筑: " + live.getModel().getBuildings());
+            System.out.println("日志回放 t=" + replayed.getGameTime() + " 资源: " + replayed.getModel().getResources()
+                    + " 建筑: " + replayed.getModel().getBuildings());
+            System.out.println(same ? "一致" : "不一致");
+            passed = checkRoundTrip(seed) && same;
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * 比较连续运行的一局和每隔一段时间存档后在同一个引擎上读档的一局
+     * @param seed 随机数种子
+     * @return 两局结果是否相同
+     */
+    private static boolean checkRoundTrip(long seed) throws IOException {
+        SimulationEngine continuous = new SimulationEngine(seed);
+        SimulationEngine reloaded = new SimulationEngine(seed);
+        play(continuous, ROUNDS_BEFORE_SAVE);
+        play(reloaded, ROUNDS_BEFORE_SAVE);
+        for (int i = 0; i < ROUND_TRIPS; i++) {
+            continuous.step(ROUND_TRIP_MILLIS);
+            reloaded.step(ROUND_TRIP_MILLIS);
+            ByteBuffer save = SaveManager.encode(reloaded.getController().createSnapshot());
+            reloaded.getController().restoreSnapshot(SaveManager.decode(save));
+        }
+        boolean same = describe(reloaded).equals(describe(continuous));
+        System.out.println("连续运行 资源: " + continuous.getModel().getResources());
+        System.out.println("存档往返 资源: " + reloaded.getModel().getResources());
+        System.out.println(same ? "一致" : "不一致");
+        return same;
+    }
+    
+    /**
+     * 按固定的顺序反复尝试各种操作，条件不满足的操作不产生效果
+     * @param engine 模拟引擎
+     * @param rounds 操作轮数
+     */
+    private static void play(SimulationEngine engine, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            engine.getController().perform(ActionType.ADD_FUEL);
+            engine.getController().perform(ActionType.CHOP_WOOD);
+            engine.getController().perform(i % 3 == 0 ? ActionType.BUILD_HUT : ActionType.BUILD_TRAP);
+            engine.getController().perform(ActionType.CHECK_TRAPS);
+            engine.getController().perform(i % 2 == 0 ? ActionType.ASSIGN_HUNTER : ActionType.ASSIGN_TRAPPER);
+            engine.step(ROUND_MILLIS);
+        }
+    }
+    
+    /**
+     * 以存档格式编码引擎的当前状态，不含存档时间
+     */
+    private static ByteBuffer encode(SimulationEngine engine) {
+        return SaveManager.encode(engine.getController().createSnapshot().withSavedAt(0));
+    }
+    
+    /**
+     * 以文本描述引擎的当前状态，等待触发的事件按名称排序
+     */
+    private static String describe(SimulationEngine engine) {
+        GameSnapshot snapshot = engine.getController().createSnapshot();
+        List<String> events = new ArrayList<>();
+        for (GameSnapshot.EventState event : snapshot.getEvents()) {
+            events.add(event.getName() + "@" + event.getDelay() + "/" + event.getPeriod());
+        }
+        Collections.sort(events);
+        return engine.getModel().getResources() + " " + engine.getModel().getBuildings()
+                + " heat=" + snapshot.getRoomHeat() + " phase2=" + snapshot.isGamePhase2()
+                + " jobs=" + Arrays.toString(snapshot.getVillagerJobs())
+                + " experience=" + Arrays.toString(snapshot.getVillagerExperience())
+                + " carry=" + Arrays.toString(snapshot.getProductionCarry()) + " events=" + events;
+    }
+}
@@ -0,0 +1,75 @@
+package Design.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 飞行记录事件：游戏时钟触发一个定时事件
+ * 持续时间是事件动作的执行时间；实时推进时还记录到期时刻换算成的真实时间和动作实际开始的真实时间，
+ * 两者之差是触发延迟（与clock.lag统计的相同），由界面卡顿造成的延迟可以与同一时刻的GC、锁等待事件对照
+ *
+ * 调用方式：
+ *   ClockFireEvent fire = new ClockFireEvent();
+ *   fire.begin();
+ *   ...
+ *   fire.finish(名称, 到期时间, 到期真实时间, 开始真实时间, 是否周期性);
+ */
+@Name("darkroom.ClockFire")
+@Label("定时事件触发")
+@Category({"Dark Room", "Clock"})
+@StackTrace(false)
+public final class ClockFireEvent extends Event {
+    @Label("事件名称")
+    String name;
+
+    @Label("到期时间")
+    @Description("事件应当触发的游戏时间（毫秒）")
+    long dueTime;
+
+    @Label("实时推进")
+    @Description("是否在按真实时间推进时触发；模拟、快进和尽快推进时没有对应的真实到期时刻，以下三项为0")
+    boolean realTime;
+
+    @Label("到期真实时间")
+    @Description("到期时间换算成的真实时间（System.nanoTime）")
+    long dueNanos;
+
+    @Label("开始真实时间")
+    @Description("事件动作实际开始执行的真实时间（System.nanoTime）")
+    long startNanos;
+
+    @Label("触发延迟")
+    @Description("动作实际开始比到期时刻晚的真实时间")
+    @Timespan(Timespan.NANOSECONDS)
+    long lag;
+
+    @Label("周期性")
+    boolean periodic;
+
+    /**
+     * 结束计时，正在记录时填写字段并提交
+     * @param name 事件名称
+     * @param dueTime 到期时间（游戏时间，毫秒）
+     * @param dueNanos 到期时间换算成的真实时间（System.nanoTime），不在实时推进中时为0
+     * @param startNanos 动作开始执行的真实时间（System.nanoTime），不在实时推进中时为0
+     * @param periodic 是否为周期性事件
+     */
+    public void finish(String name, long dueTime, long dueNanos, long startNanos, boolean periodic) {
+        end();
+        if (shouldCommit()) {
+            this.name = name;
+            this.dueTime = dueTime;
+            this.realTime = startNanos != 0;
+            this.dueNanos = dueNanos;
+            this.startNanos = startNanos;
+            this.lag = startNanos - dueNanos;
+            this.periodic = periodic;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package Design.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 飞行记录事件：事件总线把一个事件投递给所有订阅者
+ * 持续时间是整个投递的时间，可以看出哪种事件的哪次投递造成了界面卡顿
+ */
+@Name("darkroom.Dispatch")
+@Label("事件投递")
+@Category({"Dark Room", "Event"})
+@StackTrace(false)
+public final class DispatchEvent extends Event {
+    @Label("事件类型")
+    String eventType;
+
+    @Label("订阅者数量")
+    int listenerCount;
+
+    /**
+     * 结束计时，正在记录时填写字段并提交
+     * @param eventType 事件的类
+     * @param listenerCount 订阅者数量
+     */
+    public void finish(Class<?> eventType, int listenerCount) {
+        end();
+        if (shouldCommit()) {
+            this.eventType = eventType.getSimpleName();
+            this.listenerCount = listenerCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package Design.metrics;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 事件分发线程看门狗，发现界面卡顿并记录是哪个事件、哪段代码造成的
+ * 游戏逻辑（计时器、按钮监听器、面板刷新）都在事件分发线程上执行，任何一个处理过慢都会让界面停顿；
+ * 看门狗替换系统事件队列以记录正在处理的事件和开始时间，由一个守护线程定期检查，
+ * 处理时间超过阈值时采样事件分发线程的调用栈，最近的报告保存在固定容量的环形缓冲区中
+ *
+ * 阈值用系统属性 -Ddarkroom.edtStallMillis=毫秒 设置，默认200毫秒，设为0关闭看门狗
+ * 模态对话框等在事件处理中嵌套分发的情况，嵌套的事件结束后外层事件重新计时，不会被误报
+ */
+public final class EdtWatchdog {
+    public static final String PROPERTY = "darkroom.edtStallMillis";
+    public static final long DEFAULT_THRESHOLD_MILLIS = 200;
+    public static final int REPORT_CAPACITY = 50; // 保留的最近报告数
+    private static final long MIN_POLL_MILLIS = 10;
+
+    private static final EventCounter STALLS = Metrics.counter("edt.stalls");
+
+    private final long thresholdNanos;
+    private final long pollMillis;
+    private final ArrayDeque<StallReport> reports = new ArrayDeque<>();
+    private volatile Segment active; // 事件分发线程正在处理的事件，空闲时为null
+
+    /**
+     * 构造函数
+     * @param thresholdMillis 卡顿阈值（毫秒）
+     */
+    private EdtWatchdog(long thresholdMillis) {
+        this.thresholdNanos = thresholdMillis * 1_000_000L;
+        this.pollMillis = Math.max(MIN_POLL_MILLIS, thresholdMillis / 4);
+    }
+
+    /**
+     * 按系统属性安装看门狗
+     * @return 看门狗，阈值为0时不安装并返回null
+     */
+    public static EdtWatchdog install() {
+        long threshold = Long.getLong(PROPERTY, DEFAULT_THRESHOLD_MILLIS);
+        return threshold > 0 ? install(threshold) : null;
+    }
+
+    /**
+     * 安装看门狗：替换系统事件队列并启动检查线程
+     * @param thresholdMillis 卡顿阈值（毫秒）
+     * @return 看门狗
+     */
+    public static EdtWatchdog install(long thresholdMillis) {
+        EdtWatchdog watchdog = new EdtWatchdog(thresholdMillis);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog.new WatchedQueue());
+        Thread thread = new Thread(watchdog::watch, "edt-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+        return watchdog;
+    }
+
+    /**
+     * 检查循环（在看门狗线程上执行）
+     */
+    private void watch() {
+        while (true) {
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            check(System.nanoTime());
+        }
+    }
+
+    /**
+     * 检查当前事件是否超过阈值，超过时采样调用栈并生成报告，每个事件只报告一次
+     * @param now 当前时间（纳秒）
+     */
+    private void check(long now) {
+        Segment segment = active;
+        if (segment == null || segment.report != null || now - segment.start < thresholdNanos) {
+            return;
+        }
+        StackTraceElement[] stack = segment.thread.getStackTrace();
+        if (active != segment) {
+            // 采样时事件已经处理完，调用栈已与该事件无关
+            return;
+        }
+        StallReport report = new StallReport(System.currentTimeMillis(), segment.thread.getName(),
+                describe(segment.event), stack);
+        segment.report = report;
+        if (active != segment) {
+            // 事件在报告登记之前结束，由这里补上时长
+            report.finish((System.nanoTime() - segment.start) / 1_000_000);
+        }
+        synchronized (reports) {
+            if (reports.size() == REPORT_CAPACITY) {
+                reports.pollFirst();
+            }
+            reports.addLast(report);
+        }
+        STALLS.increment();
+    }
+
+    /**
+     * 描述AWT事件：事件类型和来源，计时器和invokeLater的事件包含要执行的任务
+     */
+    private static String describe(AWTEvent event) {
+        String text = event.toString();
+        return text.length() > 300 ? text.substring(0, 300) + "..." : text;
+    }
+
+    /**
+     * 获取卡顿阈值
+     * @return 阈值（毫秒）
+     */
+    public long getThresholdMillis() {
+        return thresholdNanos / 1_000_000;
+    }
+
+    /**
+     * 获取最近的卡顿报告
+     * @return 按时间顺序排列的报告
+     */
+    public List<StallReport> getReports() {
+        synchronized (reports) {
+            return new ArrayList<>(reports);
+        }
+    }
+
+    /**
+     * 清空保留的报告
+     */
+    public void clear() {
+        synchronized (reports) {
+            reports.clear();
+        }
+    }
+
+    /**
+     * 把保留的报告写入文本文件，目录不存在时自动创建
+     * @param path 文件路径
+     * @return 写入的报告数
+     * @throws IOException 写入失败
+     */
+    public int dumpTo(Path path) throws IOException {
+        List<StallReport> snapshot = getReports();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("卡顿阈值 " + getThresholdMillis() + " ms，共 " + snapshot.size() + " 条报告\n\n");
+            for (StallReport report : snapshot) {
+                writer.write(report.format());
+                writer.write('\n');
+            }
+        }
+        return snapshot.size();
+    }
+
+    /**
+     * 事件分发线程处理一个事件的一段连续时间
+     */
+    private static final class Segment {
+        final AWTEvent event;
+        final Thread thread;
+        final long start;
+        volatile StallReport report; // 看门狗登记的报告，没有卡顿时为null
+
+        Segment(AWTEvent event, Thread thread, long start) {
+            this.event = event;
+            this.thread = thread;
+            this.start = start;
+        }
+    }
+
+    /**
+     * 记录正在处理的事件的事件队列
+     */
+    private final class WatchedQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            Segment outer = active;
+            if (outer != null) {
+                // 外层事件在这里开始嵌套分发，到此为止的一段已经结束
+                end();
+            }
+            begin(event);
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                end();
+                if (outer != null) {
+                    // 嵌套分发结束，外层事件从现在起重新计时
+                    begin(outer.event);
+                }
+            }
+        }
+
+        private void begin(AWTEvent event) {
+            active = new Segment(event, Thread.currentThread(), System.nanoTime());
+        }
+
+        private void end() {
+            Segment segment = active;
+            active = null;
+            StallReport report = segment.report;
+            if (report != null) {
+                report.finish((System.nanoTime() - segment.start) / 1_000_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package Design.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 计数器类，多个线程同时计数时各自累加到不同的单元，不互相争用
+ * Metrics.ENABLED为false时计数方法直接返回
+ */
+public final class EventCounter {
+    private final String name;
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * 构造函数，通过Metrics.counter创建
+     * @param name 名称
+     */
+    EventCounter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 计数加一
+     */
+    public void increment() {
+        if (Metrics.ENABLED) {
+            value.increment();
+        }
+    }
+
+    /**
+     * 计数增加指定的值
+     * @param delta 增加的值
+     */
+    public void add(long delta) {
+        if (Metrics.ENABLED) {
+            value.add(delta);
+        }
+    }
+
+    /**
+     * 获取名称
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取当前计数
+     * @return 计数
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    /**
+     * 清零
+     */
+    public void reset() {
+        value.reset();
+    }
+}
@@ -0,0 +1,167 @@
+package Design.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 延迟直方图类，按对数-线性分桶记录纳秒级耗时（与HdrHistogram相同的思路）
+ * 小于32纳秒的值每纳秒一个桶；之后每个2的幂区间再均分为16个桶，相对误差不超过1/16；
+ * 桶在构造时一次分配好，记录只做一次数组下标计算和几次原子加法，不分配对象
+ *
+ * Metrics.ENABLED为false时记录方法直接返回，JIT会把调用整个消除
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;                     // 每个2的幂区间分为2^4个桶
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;      // 16
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;          // 小于32的值逐个计数
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 构造函数，通过Metrics.histogram创建
+     * @param name 名称
+     */
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 记录从start到现在的耗时
+     * @param start Metrics.start()的返回值
+     */
+    public void record(long start) {
+        if (Metrics.ENABLED) {
+            recordValue(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 记录一个值
+     * @param nanos 耗时（纳秒），负数按0记录
+     */
+    public void recordValue(long nanos) {
+        if (!Metrics.ENABLED) {
+            return;
+        }
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * 计算值所在的桶
+     * @param value 非负值
+     * @return 桶下标
+     */
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value); // 最高位，至少为5
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;  // 0到15
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * 计算桶内的最大值
+     * @param index 桶下标
+     * @return 桶的上界（包含）
+     */
+    static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * 获取名称
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取记录次数
+     * @return 记录次数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 获取平均值
+     * @return 平均耗时（纳秒），没有记录时为0
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * 获取最大值
+     * @return 最大耗时（纳秒）
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 获取百分位数，结果是所在桶的上界，不超过记录到的最大值
+     * @param percentile 百分位（0到100）
+     * @return 耗时（纳秒），没有记录时为0
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * 获取统计摘要
+     * @return 摘要
+     */
+    public MetricSummary summarize() {
+        return new MetricSummary(name, getCount(), getMean(), getPercentile(50), getPercentile(90),
+                getPercentile(99), getMax());
+    }
+
+    /**
+     * 清空记录
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+}
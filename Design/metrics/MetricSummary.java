@@ -0,0 +1,71 @@
+package Design.metrics;
+
+/**
+ * 直方图的统计摘要，通过JMX发布时映射为CompositeData
+ */
+public final class MetricSummary {
+    private final String name;
+    private final long count;
+    private final double mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long max;
+
+    /**
+     * 构造函数
+     * @param name 名称
+     * @param count 记录次数
+     * @param mean 平均值（纳秒）
+     * @param p50 中位数（纳秒）
+     * @param p90 第90百分位数（纳秒）
+     * @param p99 第99百分位数（纳秒）
+     * @param max 最大值（纳秒）
+     */
+    public MetricSummary(String name, long count, double mean, long p50, long p90, long p99, long max) {
+        this.name = name;
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * 格式化为一行，耗时以微秒显示
+     * @return 如"event.dispatch  n=120  p50=3.1us  p99=40.2us  max=85.0us"
+     */
+    public String format() {
+        return String.format("%-24s n=%-8d p50=%8.1fus p90=%8.1fus p99=%8.1fus max=%8.1fus", name, count,
+                p50 / 1000.0, p90 / 1000.0, p99 / 1000.0, max / 1000.0);
+    }
+}
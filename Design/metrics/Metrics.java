@@ -0,0 +1,179 @@
+package Design.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 运行统计类，集中管理热点路径上的延迟直方图和计数器
+ * 启动时用系统属性 -Ddarkroom.metrics=true 开启；ENABLED在类初始化时读取一次，之后不再改变，
+ * 关闭时各处的Metrics.start()返回0、记录方法直接返回，JIT把它们整个消除，没有任何开销
+ *
+ * 调用方式：
+ *   long start = Metrics.start();
+ *   ...
+ *   Metrics.EVENT_DISPATCH.record(start);
+ */
+public final class Metrics {
+    public static final String PROPERTY = "darkroom.metrics";
+    public static final String OBJECT_NAME = "Design:type=Metrics";
+
+    /**
+     * 是否启用统计，启动后不再改变
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentSkipListMap<>();
+    private static final Map<String, EventCounter> COUNTERS = new ConcurrentSkipListMap<>();
+
+    // 内置的直方图和计数器
+    public static final LatencyHistogram EVENT_DISPATCH = histogram("event.dispatch");    // 一个事件投递给所有订阅者的耗时
+    public static final LatencyHistogram CLOCK_CALLBACK = histogram("clock.callback");    // 一个定时事件动作的耗时
+    public static final LatencyHistogram CLOCK_LAG = histogram("clock.lag");              // 定时事件实际触发比到期时刻晚的真实时间（仅实时推进）
+    public static final LatencyHistogram EDT_PAINT = histogram("edt.paint");              // 一次界面重绘的耗时
+    public static final LatencyHistogram RESOURCE_PANEL = histogram("view.resourcePanel"); // 资源面板处理一次变化事件的耗时
+    public static final EventCounter EVENTS_PUBLISHED = counter("event.published");
+    public static final EventCounter EVENTS_COALESCED = counter("event.coalesced");
+    public static final EventCounter CLOCK_BATCHED = counter("clock.batchedFirings");
+
+    // 私有构造函数，防止实例化
+    private Metrics() {
+        throw new UnsupportedOperationException("工具类不能被实例化");
+    }
+
+    /**
+     * 开始计时
+     * @return 当前时间（纳秒），未启用时返回0
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * 获取或创建直方图，应在类初始化时获取并保存，不要在热点路径上按名称查找
+     * @param name 名称
+     * @return 直方图
+     */
+    public static LatencyHistogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * 获取或创建计数器，应在类初始化时获取并保存
+     * @param name 名称
+     * @return 计数器
+     */
+    public static EventCounter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, EventCounter::new);
+    }
+
+    /**
+     * 获取有记录的直方图的摘要
+     * @return 按名称排序的摘要
+     */
+    public static List<MetricSummary> summaries() {
+        List<MetricSummary> result = new ArrayList<>();
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            if (histogram.getCount() > 0) {
+                result.add(histogram.summarize());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取所有计数器的当前值
+     * @return 按名称排序的计数
+     */
+    public static Map<String, Long> counters() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (EventCounter counter : COUNTERS.values()) {
+            result.put(counter.getName(), counter.get());
+        }
+        return result;
+    }
+
+    /**
+     * 生成文本报告
+     * @return 每行一项，先直方图后计数器
+     */
+    public static String report() {
+        if (!ENABLED) {
+            return "统计未启用（-D" + PROPERTY + "=true）";
+        }
+        StringBuilder builder = new StringBuilder();
+        for (MetricSummary summary : summaries()) {
+            builder.append(summary.format()).append('\n');
+        }
+        for (Map.Entry<String, Long> entry : counters().entrySet()) {
+            builder.append(String.format("%-24s %d%n", entry.getKey(), entry.getValue()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 清空所有直方图和计数器
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            histogram.reset();
+        }
+        for (EventCounter counter : COUNTERS.values()) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * 启用统计时在平台MBeanServer上注册统计接口，重复调用时只注册一次
+     */
+    public static synchronized void registerMBean() {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsBean(), name);
+            }
+        } catch (JMException e) {
+            System.err.println("注册统计接口失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * JMX统计接口的实现，直接读取Metrics中的数据
+     */
+    private static final class MetricsBean implements MetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        @Override
+        public List<MetricSummary> getHistograms() {
+            return summaries();
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            return counters();
+        }
+
+        @Override
+        public String getReport() {
+            return report();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
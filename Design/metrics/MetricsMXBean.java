@@ -0,0 +1,39 @@
+package Design.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 通过JMX发布的统计接口，注册名称为 Design:type=Metrics
+ * 可以用jconsole或VisualVM查看，耗时的单位都是纳秒
+ */
+public interface MetricsMXBean {
+    /**
+     * 是否启用了统计
+     * @return 是否启用
+     */
+    boolean isEnabled();
+
+    /**
+     * 获取所有直方图的摘要
+     * @return 按名称排序的摘要
+     */
+    List<MetricSummary> getHistograms();
+
+    /**
+     * 获取所有计数器
+     * @return 名称到计数的映射
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * 获取文本报告
+     * @return 每行一项
+     */
+    String getReport();
+
+    /**
+     * 清空所有直方图和计数器
+     */
+    void reset();
+}
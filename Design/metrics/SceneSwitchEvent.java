@@ -0,0 +1,30 @@
+package Design.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 飞行记录事件：切换场景
+ * 持续时间包括切换卡片和更新新场景
+ */
+@Name("darkroom.SceneSwitch")
+@Label("场景切换")
+@Category({"Dark Room", "View"})
+public final class SceneSwitchEvent extends Event {
+    @Label("场景名称")
+    String scene;
+
+    /**
+     * 结束计时，正在记录时填写字段并提交
+     * @param scene 场景名称
+     */
+    public void finish(String scene) {
+        end();
+        if (shouldCommit()) {
+            this.scene = scene;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package Design.metrics;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * 事件分发线程卡顿报告，记录卡顿时正在处理的事件和当时的调用栈
+ * 调用栈在卡顿超过阈值时采样一次；卡顿结束后补上总时长
+ */
+public final class StallReport {
+    private final long detectedAt;            // 发现卡顿的时间（毫秒，墙上时间）
+    private final String threadName;
+    private final String event;               // 正在处理的AWT事件
+    private final StackTraceElement[] stack;  // 超过阈值时的调用栈
+    private volatile long durationMillis = -1; // 卡顿总时长，尚未结束时为-1
+
+    /**
+     * 构造函数
+     * @param detectedAt 发现卡顿的时间（毫秒，墙上时间）
+     * @param threadName 事件分发线程名称
+     * @param event 正在处理的事件的描述
+     * @param stack 调用栈
+     */
+    StallReport(long detectedAt, String threadName, String event, StackTraceElement[] stack) {
+        this.detectedAt = detectedAt;
+        this.threadName = threadName;
+        this.event = event;
+        this.stack = stack;
+    }
+
+    /**
+     * 记录卡顿结束，只有第一次调用生效
+     * @param durationMillis 卡顿总时长（毫秒）
+     */
+    synchronized void finish(long durationMillis) {
+        if (this.durationMillis < 0) {
+            this.durationMillis = durationMillis;
+        }
+    }
+
+    /**
+     * 获取发现卡顿的时间
+     * @return 墙上时间（毫秒）
+     */
+    public long getDetectedAt() {
+        return detectedAt;
+    }
+
+    /**
+     * 获取正在处理的事件的描述
+     * @return 事件描述
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * 获取卡顿时的调用栈
+     * @return 调用栈的副本
+     */
+    public StackTraceElement[] getStack() {
+        return stack.clone();
+    }
+
+    /**
+     * 获取卡顿总时长
+     * @return 时长（毫秒），卡顿尚未结束时为-1
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * 格式化为多行文本：时间、时长、事件，随后是调用栈
+     * @return 报告文本
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(detectedAt)))
+                .append("  ")
+                .append(durationMillis < 0 ? "仍在卡顿" : "卡顿 " + durationMillis + " ms")
+                .append("  ").append(threadName).append('\n')
+                .append("  事件: ").append(event).append('\n');
+        for (StackTraceElement element : stack) {
+            builder.append("    at ").append(element).append('\n');
+        }
+        return builder.toString();
+    }
+}
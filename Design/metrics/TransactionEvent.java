@@ -0,0 +1,40 @@
+package Design.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 飞行记录事件：提交一次资源事务
+ * 持续时间包括扣除成本、应用变化和发出变化通知，通知引起的事件投递会嵌套在其中
+ */
+@Name("darkroom.Transaction")
+@Label("资源事务")
+@Category({"Dark Room", "Model"})
+public final class TransactionEvent extends Event {
+    @Label("提交成功")
+    boolean committed;
+
+    @Label("资源变化数")
+    int resourceChanges;
+
+    @Label("建筑变化数")
+    int buildingChanges;
+
+    /**
+     * 结束计时，正在记录时填写字段并提交
+     * @param committed 是否提交成功
+     * @param resourceChanges 实际变化的资源种数
+     * @param buildingChanges 实际变化的建筑种数
+     */
+    public void finish(boolean committed, int resourceChanges, int buildingChanges) {
+        end();
+        if (shouldCommit()) {
+            this.committed = committed;
+            this.resourceChanges = resourceChanges;
+            this.buildingChanges = buildingChanges;
+            commit();
+        }
+    }
+}
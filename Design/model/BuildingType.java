@@ -0,0 +1,62 @@
+package Design.model;
+
+import Design.GameConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 建筑类型枚举，序号即建筑在GameModel数组中的下标
+ */
+public enum BuildingType {
+    HUT(GameConstants.Buildings.HUT),
+    TRAP(GameConstants.Buildings.TRAP),
+    CART(GameConstants.Buildings.CART);
+    
+    // 缓存values()，避免每次调用都复制数组
+    private static final BuildingType[] VALUES = values();
+    private static final Map<String, BuildingType> BY_NAME = new HashMap<>();
+    
+    static {
+        for (BuildingType type : VALUES) {
+            BY_NAME.put(type.displayName, type);
+        }
+    }
+    
+    /**
+     * 建筑类型数量
+     */
+    public static final int COUNT = VALUES.length;
+    
+    private final String displayName;
+    
+    BuildingType(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    /**
+     * 获取显示名称
+     * @return 显示名称（与GameConstants.Buildings中的常量一致）
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * 根据显示名称查找建筑类型
+     * @param displayName 显示名称
+     * @return 建筑类型，找不到时返回null
+     */
+    public static BuildingType fromName(String displayName) {
+        return BY_NAME.get(displayName);
+    }
+    
+    /**
+     * 根据序号获取建筑类型
+     * @param ordinal 序号
+     * @return 建筑类型
+     */
+    public static BuildingType fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
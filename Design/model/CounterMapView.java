@@ -0,0 +1,110 @@
+package Design.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 计数数组的只读Map视图，按显示名称访问GameModel中的计数数组
+ * 只包含被设置过的条目，迭代顺序为枚举顺序；视图是实时的，不复制数据，
+ * 其他线程同时修改计数时，每个条目读到的都是某一时刻的有效值
+ */
+class CounterMapView extends AbstractMap<String, Integer> {
+    private final String[] names;
+    private final AtomicIntegerArray values;
+    private final AtomicIntegerArray present;
+    private final Set<Entry<String, Integer>> entrySet = new EntrySet();
+    
+    /**
+     * 构造函数
+     * @param names 各下标对应的显示名称
+     * @param values 计数数组
+     * @param present 各下标是否已被设置过，1表示已设置
+     */
+    CounterMapView(String[] names, AtomicIntegerArray values, AtomicIntegerArray present) {
+        this.names = names;
+        this.values = values;
+        this.present = present;
+    }
+    
+    @Override
+    public Set<Entry<String, Integer>> entrySet() {
+        return entrySet;
+    }
+    
+    @Override
+    public Integer get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values.get(index) : null;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+    
+    /**
+     * 查找已设置条目的下标
+     * @param key 显示名称
+     * @return 下标，不存在时返回-1
+     */
+    private int indexOf(Object key) {
+        for (int i = 0; i < names.length; i++) {
+            if (present.get(i) != 0 && names[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 条目集合
+     */
+    private class EntrySet extends AbstractSet<Entry<String, Integer>> {
+        @Override
+        public Iterator<Entry<String, Integer>> iterator() {
+            return new Iterator<Entry<String, Integer>>() {
+                private int next = advanceFrom(0);
+                
+                @Override
+                public boolean hasNext() {
+                    return next < names.length;
+                }
+                
+                @Override
+                public Entry<String, Integer> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int index = next;
+                    next = advanceFrom(index + 1);
+                    return new SimpleImmutableEntry<>(names[index], values.get(index));
+                }
+            };
+        }
+        
+        @Override
+        public int size() {
+            int size = 0;
+            for (int i = 0; i < names.length; i++) {
+                if (present.get(i) != 0) {
+                    size++;
+                }
+            }
+            return size;
+        }
+        
+        /**
+         * 从指定下标开始查找下一个已设置的条目
+         */
+        private int advanceFrom(int index) {
+            while (index < names.length && present.get(index) == 0) {
+                index++;
+            }
+            return index;
+        }
+    }
+}
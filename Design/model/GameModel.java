@@ -1,22 +1,509 @@
 package Design.model;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 游戏模型类，负责管理游戏状态和数据
+ * 资源和建筑以枚举序号为下标保存在基本类型数组中，修改时不产生装箱和字符串哈希；
+ * 以显示名称为参数的方法作为适配层保留
+ * 计数保存在原子数组中，各资源独立地用CAS修改，多个线程可以同时生产和消耗资源而不需要全局锁；
+ * 需要一致视图的读者通过getState获取不可变的GameState快照
+ * 单个计数的修改只更新该计数自己的条带写状态，只有事务和批量修改使用全局写状态，
+ * 生产者之间不会在同一个全局计数上竞争
  */
 public class GameModel {
-    private Map<String, Integer> resources = new HashMap<>();
-    private Map<String, Integer> buildings = new HashMap<>();
-    private int roomHeat = 2; // 初始房间温度，0-5级
-    private boolean gamePhase2 = false; // 游戏第二阶段标志
-    private String[] roomStatusMessages = {"房间冰冷刺骨.", "房间很冷.", "房间暖和.", "房间很宜人.", "房间很暖.", "房间很热."};
+    private static final String[] RESOURCE_NAMES = displayNames(ResourceType.values());
+    private static final String[] BUILDING_NAMES = displayNames(BuildingType.values());
+    
+    private final AtomicIntegerArray resources = new AtomicIntegerArray(ResourceType.COUNT);
+    private final AtomicIntegerArray resourcePresent = new AtomicIntegerArray(ResourceType.COUNT); // 资源是否出现过（决定是否显示），1表示出现过
+    private final AtomicIntegerArray buildings = new AtomicIntegerArray(BuildingType.COUNT);
+    private final AtomicIntegerArray buildingPresent = new AtomicIntegerArray(BuildingType.COUNT);
+    private final Map<String, Integer> resourceView = new CounterMapView(RESOURCE_NAMES, resources, resourcePresent);
+    private final Map<String, Integer> buildingView = new CounterMapView(BUILDING_NAMES, buildings, buildingPresent);
+    private static final int INITIAL_ROOM_HEAT = 2;
+    private static final int WRITER_BITS = 20;                  // 写状态低位记录正在修改的写者数量
+    private static final long WRITER_MASK = (1L << WRITER_BITS) - 1;
+    private static final int MAX_STATE_ATTEMPTS = 64;           // 读取快照的最大尝试次数
+    private static final int STRIPE_COUNT = ResourceType.COUNT + BuildingType.COUNT; // 每个资源和建筑计数一个条带
+    private static final int STRIPE_STRIDE = 16;                // 条带间隔16个long（128字节），不同条带不在同一缓存行
+    
+    // 写状态：高位为已完成的修改次数（即版本号），低位为正在进行的修改数量
+    // 写者开始时加1，结束时一次性完成"版本号加1、写者数减1"，读者据此判断复制期间是否有修改（多写者顺序锁）
+    // 全局写状态用于事务和批量修改，单个计数的修改使用该计数的条带写状态，格式相同；模型的版本号为两者之和
+    private final AtomicLong writeState = new AtomicLong();
+    private final AtomicLongArray stripeStates = new AtomicLongArray((STRIPE_COUNT + 2) * STRIPE_STRIDE);
+    // 放弃的修改次数，不计入版本号；写入后又撤销的修改放弃时写状态恢复原值，读者据此发现复制期间的中间值
+    private final AtomicLong abortedUpdates = new AtomicLong();
+    private final AtomicReference<GameState> publishedState = new AtomicReference<>(new GameState(0,
+            new int[ResourceType.COUNT], new boolean[ResourceType.COUNT],
+            new int[BuildingType.COUNT], new boolean[BuildingType.COUNT], INITIAL_ROOM_HEAT, false));
+    private final AtomicInteger roomHeat = new AtomicInteger(INITIAL_ROOM_HEAT); // 初始房间温度，0-5级
+    private volatile boolean gamePhase2 = false; // 游戏第二阶段标志
+    private final String[] roomStatusMessages = {"房间冰冷刺骨.", "房间很冷.", "房间暖和.", "房间很宜人.", "房间很暖.", "房间很热."};
     
     /**
      * 省略构造函数
      */
-
+    
+    
+    /**
+     * 获取资源
+     * @param type 资源类型
+     * @return 资源数量
+     */
+    public int getResource(ResourceType type) {
+        return resources.get(type.ordinal());
+    }
+    
+    /**
+     * 增加资源
+     * @param type 资源类型
+     * @param amount 增加数量
+     */
+    public void increaseResource(ResourceType type, int amount) {
+        getAndAddResource(type, amount);
+    }
+    
+    /**
+     * 原子地增加资源
+     * @param type 资源类型
+     * @param amount 增加数量
+     * @return 增加前的数量
+     */
+    public int getAndAddResource(ResourceType type, int amount) {
+        int index = type.ordinal();
+        int stripe = resourceStripe(index);
+        beginStripe(stripe);
+        try {
+            int previous = resources.getAndAdd(index, amount);
+            markPresent(resourcePresent, index);
+            return previous;
+        } finally {
+            endStripe(stripe);
+        }
+    }
+    
+    /**
+     * 减少资源
+     * @param type 资源类型
+     * @param amount 减少数量
+     * @return 是否成功减少
+     */
+    public boolean decreaseResource(ResourceType type, int amount) {
+        int index = type.ordinal();
+        if (resources.get(index) < amount) {
+            // 明显不足时直接失败，不触碰写状态
+            return false;
+        }
+        int stripe = resourceStripe(index);
+        beginStripe(stripe);
+        boolean decreased = false;
+        try {
+            decreased = tryDecrease(index, amount) >= 0;
+            return decreased;
+        } finally {
+            if (decreased) {
+                endStripe(stripe);
+            } else {
+                // 没有修改任何计数，版本号不变
+                abortStripe(stripe);
+            }
+        }
+    }
+    
+    /**
+     * 原子地比较并扣除一组资源，任何一种不足时已扣除的部分全部退回
+     * 每种资源用CAS扣除，多个线程同时扣除时任何资源都不会变成负数
+     * @param costs 按ResourceType序号排列的扣除数量
+     * @param previous 用于返回扣除前各资源的数量，可以为null
+     * @return 是否全部扣除成功
+     */
+    public boolean trySpend(int[] costs, int[] previous) {
+        // 扣除多种资源，读者不能看到扣了一半或退回中的状态，因此使用全局写状态
+        beginUpdate();
+        boolean spent = false;
+        try {
+            for (int i = 0; i < costs.length; i++) {
+                if (costs[i] <= 0) {
+                    continue;
+                }
+                int before = tryDecrease(i, costs[i]);
+                if (before < 0) {
+                    // 退回已经扣除的资源
+                    refund(costs, i);
+                    return false;
+                }
+                if (previous != null) {
+                    previous[i] = before;
+                }
+            }
+            spent = true;
+            return true;
+        } finally {
+            if (spent) {
+                endUpdate();
+            } else {
+                // 扣除的部分已全部退回，版本号不变
+                abortUpdate();
+            }
+        }
+    }
+    
+    /**
+     * 退回trySpend扣除的资源，只能在扣除时的同一个修改范围内调用，之后用abortUpdate结束时版本号不变
+     * @param costs 按ResourceType序号排列的扣除数量
+     */
+    public void refund(int[] costs) {
+        refund(costs, costs.length);
+    }
+    
+    /**
+     * 退回前count种资源的扣除
+     */
+    private void refund(int[] costs, int count) {
+        for (int i = 0; i < count; i++) {
+            if (costs[i] > 0) {
+                resources.getAndAdd(i, costs[i]);
+            }
+        }
+    }
+    
+    /**
+     * 用CAS循环扣除资源
+     * @param index 资源下标
+     * @param amount 扣除数量
+     * @return 扣除前的数量，不足时返回-1
+     */
+    private int tryDecrease(int index, int amount) {
+        while (true) {
+            int current = resources.get(index);
+            if (current < amount) {
+                return -1;
+            }
+            if (resources.compareAndSet(index, current, current - amount)) {
+                markPresent(resourcePresent, index);
+                return current;
+            }
+        }
+    }
+    
+    /**
+     * 设置资源数量
+     * @param type 资源类型
+     * @param amount 资源数量
+     */
+    public void setResource(ResourceType type, int amount) {
+        int index = type.ordinal();
+        beginUpdate();
+        try {
+            resources.set(index, amount);
+            markPresent(resourcePresent, index);
+        } finally {
+            endUpdate();
+        }
+    }
+    
+    /**
+     * 资源是否出现过
+     * @param type 资源类型
+     * @return 是否出现过
+     */
+    public boolean hasResource(ResourceType type) {
+        return resourcePresent.get(type.ordinal()) != 0;
+    }
+    
+    /**
+     * 清空所有资源
+     */
+    public void clearResources() {
+        beginUpdate();
+        try {
+            for (int i = 0; i < ResourceType.COUNT; i++) {
+                resources.set(i, 0);
+                resourcePresent.set(i, 0);
+            }
+        } finally {
+            endUpdate();
+        }
+    }
+    
+    /**
+     * 获取建筑数量
+     * @param type 建筑类型
+     * @return 建筑数量
+     */
+    public int getBuilding(BuildingType type) {
+        return buildings.get(type.ordinal());
+    }
+    
+    /**
+     * 增加建筑
+     * @param type 建筑类型
+     */
+    public void increaseBuilding(BuildingType type) {
+        getAndAddBuilding(type, 1);
+    }
+    
+    /**
+     * 原子地增加建筑
+     * @param type 建筑类型
+     * @param count 增加数量
+     * @return 增加前的数量
+     */
+    public int getAndAddBuilding(BuildingType type, int count) {
+        int index = type.ordinal();
+        int stripe = buildingStripe(index);
+        beginStripe(stripe);
+        try {
+            int previous = buildings.getAndAdd(index, count);
+            markPresent(buildingPresent, index);
+            return previous;
+        } finally {
+            endStripe(stripe);
+        }
+    }
+    
+    /**
+     * 原子地增加建筑，不超过数量上限
+     * 用CAS比较并增加，多个线程同时建造时建筑数量也不会超过上限
+     * @param type 建筑类型
+     * @param count 增加数量
+     * @param limit 数量上限，0表示没有上限
+     * @return 增加前的数量，超过上限时返回-1且不做任何修改
+     */
+    public int tryAddBuilding(BuildingType type, int count, int limit) {
+        if (limit <= 0) {
+            return getAndAddBuilding(type, count);
+        }
+        int index = type.ordinal();
+        int stripe = buildingStripe(index);
+        beginStripe(stripe);
+        int previous = -1;
+        try {
+            while (true) {
+                int current = buildings.get(index);
+                if (current + count > limit) {
+                    return -1;
+                }
+                if (buildings.compareAndSet(index, current, current + count)) {
+                    markPresent(buildingPresent, index);
+                    previous = current;
+                    return current;
+                }
+            }
+        } finally {
+            if (previous >= 0) {
+                endStripe(stripe);
+            } else {
+                abortStripe(stripe);
+            }
+        }
+    }
+    
+    /**
+     * 设置建筑数量
+     * @param type 建筑类型
+     * @param count 建筑数量
+     */
+    public void setBuilding(BuildingType type, int count) {
+        int index = type.ordinal();
+        beginUpdate();
+        try {
+            buildings.set(index, count);
+            markPresent(buildingPresent, index);
+        } finally {
+            endUpdate();
+        }
+    }
+    
+    /**
+     * 建筑是否出现过
+     * @param type 建筑类型
+     * @return 是否出现过
+     */
+    public boolean hasBuilding(BuildingType type) {
+        return buildingPresent.get(type.ordinal()) != 0;
+    }
+    
+    /**
+     * 清空所有建筑
+     */
+    public void clearBuildings() {
+        beginUpdate();
+        try {
+            for (int i = 0; i < BuildingType.COUNT; i++) {
+                buildings.set(i, 0);
+                buildingPresent.set(i, 0);
+            }
+        } finally {
+            endUpdate();
+        }
+    }
+    
+    /**
+     * 标记条目已出现，已标记时不再写入，避免热点路径上多余的volatile写
+     * @param present 出现标志数组
+     * @param index 下标
+     */
+    private static void markPresent(AtomicIntegerArray present, int index) {
+        if (present.get(index) == 0) {
+            present.set(index, 1);
+        }
+    }
+    
+    /**
+     * 获取模型的修改版本号，资源、建筑、温度或阶段每修改一次加1
+     * 监听器可以据此丢弃比已显示状态更旧的变化事件
+     * @return 版本号
+     */
+    public long getVersion() {
+        long version = writeState.get() >>> WRITER_BITS;
+        for (int stripe = 0; stripe < STRIPE_COUNT; stripe++) {
+            version += stripeStates.get(stripeSlot(stripe)) >>> WRITER_BITS;
+        }
+        return version;
+    }
+    
+    /**
+     * 开始一次修改，必须在finally中调用endUpdate
+     * 多个修改可以嵌套在同一对调用中，读者不会看到其中的中间状态（例如事务扣除木头但尚未增加建筑）
+     */
+    public void beginUpdate() {
+        writeState.incrementAndGet();
+    }
+    
+    /**
+     * 结束一次修改：版本号加1，同时正在修改的写者数减1
+     */
+    public void endUpdate() {
+        writeState.addAndGet((1L << WRITER_BITS) - 1);
+    }
+    
+    /**
+     * 放弃一次修改（期间的写入已全部撤销）：写者数减1，版本号不变，已发布的快照仍然有效
+     * 先增加放弃次数再减少写者数，复制期间遇到修改又撤销的读者会发现放弃次数变化而重试
+     */
+    public void abortUpdate() {
+        abortedUpdates.incrementAndGet();
+        writeState.decrementAndGet();
+    }
+    
+    private static int resourceStripe(int index) {
+        return index;
+    }
+    
+    private static int buildingStripe(int index) {
+        return ResourceType.COUNT + index;
+    }
+    
+    /**
+     * 条带在写状态数组中的位置，前后各留一段空位，不与数组头或其他对象共享缓存行
+     */
+    private static int stripeSlot(int stripe) {
+        return (stripe + 1) * STRIPE_STRIDE;
+    }
+    
+    /**
+     * 开始修改单个计数，必须在finally中调用endStripe或abortStripe
+     */
+    private void beginStripe(int stripe) {
+        stripeStates.incrementAndGet(stripeSlot(stripe));
+    }
+    
+    /**
+     * 结束修改单个计数：该条带的版本号加1，写者数减1
+     */
+    private void endStripe(int stripe) {
+        stripeStates.addAndGet(stripeSlot(stripe), (1L << WRITER_BITS) - 1);
+    }
+    
+    /**
+     * 放弃修改单个计数（没有写入任何值）：写者数减1，版本号不变
+     */
+    private void abortStripe(int stripe) {
+        stripeStates.decrementAndGet(stripeSlot(stripe));
+    }
+    
+    /**
+     * 读取全部条带写状态之和，有条带正在修改时返回-1
+     * 写状态只在开始修改和完成修改时增加，放弃修改只抵消同一写者的开始，
+     * 因此两次读到的和相等说明期间没有任何计数被修改
+     */
+    private long sumStripeStates() {
+        long sum = 0;
+        for (int stripe = 0; stripe < STRIPE_COUNT; stripe++) {
+            long state = stripeStates.get(stripeSlot(stripe));
+            if ((state & WRITER_MASK) != 0) {
+                return -1;
+            }
+            sum += state;
+        }
+        return sum;
+    }
+    
+    /**
+     * 获取当前状态的不可变快照
+     * 快照按需创建并通过原子引用发布，版本未变化时直接返回已发布的快照；
+     * 写者从不等待读者，修改持续进行时读者重试，多次失败后返回上一个已发布的一致快照
+     * @return 游戏状态
+     */
+    public GameState getState() {
+        GameState published = publishedState.get();
+        for (int attempt = 0; attempt < MAX_STATE_ATTEMPTS; attempt++) {
+            long before = writeState.get();
+            long stripesBefore = sumStripeStates();
+            long abortsBefore = abortedUpdates.get();
+            if ((before & WRITER_MASK) != 0 || stripesBefore < 0) {
+                // 有写者正在修改
+                Thread.yield();
+                continue;
+            }
+            // 没有写者时各写状态的低位都是0，和的高位即各版本号之和
+            long version = (before + stripesBefore) >>> WRITER_BITS;
+            if (published.getVersion() == version) {
+                return published;
+            }
+            
+            int[] resourceValues = new int[ResourceType.COUNT];
+            boolean[] resourceFlags = new boolean[ResourceType.COUNT];
+            for (int i = 0; i < resourceValues.length; i++) {
+                resourceValues[i] = resources.get(i);
+                resourceFlags[i] = resourcePresent.get(i) != 0;
+            }
+            int[] buildingValues = new int[BuildingType.COUNT];
+            boolean[] buildingFlags = new boolean[BuildingType.COUNT];
+            for (int i = 0; i < buildingValues.length; i++) {
+                buildingValues[i] = buildings.get(i);
+                buildingFlags[i] = buildingPresent.get(i) != 0;
+            }
+            int heat = roomHeat.get();
+            boolean phase2 = gamePhase2;
+            
+            if (sumStripeStates() == stripesBefore && writeState.get() == before
+                    && abortedUpdates.get() == abortsBefore) {
+                // 复制期间没有任何修改开始或结束，得到的是版本version时的一致状态
+                GameState state = GameState.derive(published, version, resourceValues, resourceFlags,
+                        buildingValues, buildingFlags, heat, phase2);
+                // 其他读者可能已经发布了更新的快照，只在版本更新时替换
+                GameState current;
+                do {
+                    current = publishedState.get();
+                    if (current.getVersion() >= version) {
+                        return current.getVersion() == version ? current : state;
+                    }
+                } while (!publishedState.compareAndSet(current, state));
+                return state;
+            }
+            published = publishedState.get();
+        }
+        return publishedState.get();
+    }
     
     /**
      * 获取资源
@@ -24,15 +511,16 @@ public class GameModel {
      * @return 资源数量
      */
     public int getResource(String resourceName) {
-        return resources.getOrDefault(resourceName, 0);
+        ResourceType type = ResourceType.fromName(resourceName);
+        return type == null ? 0 : getResource(type);
     }
     
     /**
      * 获取所有资源
-     * @return 资源映射
+     * @return 资源映射（只读的实时视图）
      */
     public Map<String, Integer> getResources() {
-        return resources;
+        return resourceView;
     }
     
     /**
@@ -41,7 +529,7 @@ public class GameModel {
      * @param amount 增加数量
      */
     public void increaseResource(String resourceName, int amount) {
-        resources.put(resourceName, getResource(resourceName) + amount);
+        increaseResource(resourceType(resourceName), amount);
     }
     
     /**
@@ -51,12 +539,7 @@ public class GameModel {
      * @return 是否成功减少
      */
     public boolean decreaseResource(String resourceName, int amount) {
-        int currentAmount = getResource(resourceName);
-        if (currentAmount >= amount) {
-            resources.put(resourceName, currentAmount - amount);
-            return true;
-        }
-        return false;
+        return decreaseResource(resourceType(resourceName), amount);
     }
     
     /**
@@ -65,15 +548,16 @@ public class GameModel {
      * @return 建筑数量
      */
     public int getBuilding(String buildingName) {
-        return buildings.getOrDefault(buildingName, 0);
+        BuildingType type = BuildingType.fromName(buildingName);
+        return type == null ? 0 : getBuilding(type);
     }
     
     /**
      * 获取所有建筑
-     * @return 建筑映射
+     * @return 建筑映射（只读的实时视图）
      */
     public Map<String, Integer> getBuildings() {
-        return buildings;
+        return buildingView;
     }
     
     /**
@@ -81,7 +565,11 @@ public class GameModel {
      * @param buildingName 建筑名称
      */
     public void increaseBuilding(String buildingName) {
-        buildings.put(buildingName, getBuilding(buildingName) + 1);
+        BuildingType type = BuildingType.fromName(buildingName);
+        if (type == null) {
+            throw new IllegalArgumentException("未知的建筑: " + buildingName);
+        }
+        increaseBuilding(type);
     }
     
     /**
@@ -89,21 +577,57 @@ public class GameModel {
      * @return 房间温度
      */
     public int getRoomHeat() {
-        return roomHeat;
+        return roomHeat.get();
+    }
+    
+    /**
+     * 设置房间温度
+     * @param roomHeat 房间温度，超出范围时取边界值
+     */
+    public void setRoomHeat(int roomHeat) {
+        beginUpdate();
+        try {
+            this.roomHeat.set(Math.max(0, Math.min(roomStatusMessages.length - 1, roomHeat)));
+        } finally {
+            endUpdate();
+        }
     }
     
     /**
      * 增加房间温度
      */
     public void increaseRoomHeat() {
-        roomHeat = Math.min(roomStatusMessages.length - 1, roomHeat + 1);//用min实现，这样即使用户一直添柴也不会越界
+        beginUpdate();
+        try {
+            roomHeat.updateAndGet(heat -> Math.min(roomStatusMessages.length - 1, heat + 1));//用min实现，这样即使用户一直添柴也不会越界
+        } finally {
+            endUpdate();
+        }
     }
     
     /**
      * 减少房间温度
      */
     public void decreaseRoomHeat() {
-        roomHeat = Math.max(0, roomHeat - 1);//用max实现，这样即使用户一直不添柴也不会越界
+        beginUpdate();
+        try {
+            roomHeat.updateAndGet(heat -> Math.max(0, heat - 1));//用max实现，这样即使用户一直不添柴也不会越界
+        } finally {
+            endUpdate();
+        }
+    }
+    
+    /**
+     * 连续多次降低房间温度，结果与逐次调用decreaseRoomHeat相同
+     * @param times 降低的次数
+     */
+    public void decreaseRoomHeat(long times) {
+        beginUpdate();
+        try {
+            roomHeat.updateAndGet(heat -> (int) Math.max(0, heat - times));
+        } finally {
+            endUpdate();
+        }
     }
     
     /**
@@ -111,7 +635,7 @@ public class GameModel {
      * @return 房间状态消息
      */
     public String getRoomStatusMessage() {
-        return roomStatusMessages[Math.min(roomHeat, roomStatusMessages.length - 1)];//用min实现，这样即使用户一直添柴也不会越界
+        return roomStatusMessages[Math.min(roomHeat.get(), roomStatusMessages.length - 1)];//用min实现，这样即使用户一直添柴也不会越界
     }
     
     /**
@@ -127,6 +651,46 @@ public class GameModel {
      * @param gamePhase2 是否为游戏第二阶段
      */
     public void setGamePhase2(boolean gamePhase2) {
-        this.gamePhase2 = gamePhase2;
+        beginUpdate();
+        try {
+            this.gamePhase2 = gamePhase2;
+        } finally {
+            endUpdate();
+        }
+    }
+    
+    /**
+     * 按显示名称查找资源类型
+     * @param resourceName 资源名称
+     * @return 资源类型
+     */
+    private static ResourceType resourceType(String resourceName) {
+        ResourceType type = ResourceType.fromName(resourceName);
+        if (type == null) {
+            throw new IllegalArgumentException("未知的资源: " + resourceName);
+        }
+        return type;
+    }
+    
+    /**
+     * 收集枚举的显示名称
+     */
+    private static String[] displayNames(ResourceType[] types) {
+        String[] names = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = types[i].getDisplayName();
+        }
+        return names;
+    }
+    
+    /**
+     * 收集枚举的显示名称
+     */
+    private static String[] displayNames(BuildingType[] types) {
+        String[] names = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = types[i].getDisplayName();
+        }
+        return names;
     }
-}
\ No newline at end of file
+}
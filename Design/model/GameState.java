@@ -0,0 +1,168 @@
+package Design.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 游戏状态类，GameModel在某个版本时的不可变快照
+ * 由GameModel.getState发布，渲染、自动存档和统计可以在任意线程读取一致的状态而不需要加锁；
+ * 相邻版本之间未变化的数组直接共享，不重复复制
+ */
+public final class GameState {
+    private final long version;
+    private final int[] resources;
+    private final boolean[] resourcePresent;
+    private final int[] buildings;
+    private final boolean[] buildingPresent;
+    private final int roomHeat;
+    private final boolean gamePhase2;
+    
+    // 按需创建的只读映射，状态不可变，多个线程重复创建也不影响结果
+    private volatile Map<String, Integer> resourceMap;
+    private volatile Map<String, Integer> buildingMap;
+    
+    /**
+     * 构造函数，数组由调用者保证之后不再修改
+     */
+    GameState(long version, int[] resources, boolean[] resourcePresent, int[] buildings, boolean[] buildingPresent,
+              int roomHeat, boolean gamePhase2) {
+        this.version = version;
+        this.resources = resources;
+        this.resourcePresent = resourcePresent;
+        this.buildings = buildings;
+        this.buildingPresent = buildingPresent;
+        this.roomHeat = roomHeat;
+        this.gamePhase2 = gamePhase2;
+    }
+    
+    /**
+     * 基于上一个状态创建新状态，内容相同的数组沿用上一个状态的数组
+     */
+    static GameState derive(GameState previous, long version, int[] resources, boolean[] resourcePresent,
+                            int[] buildings, boolean[] buildingPresent, int roomHeat, boolean gamePhase2) {
+        if (previous != null) {
+            if (Arrays.equals(resources, previous.resources)) {
+                resources = previous.resources;
+            }
+            if (Arrays.equals(resourcePresent, previous.resourcePresent)) {
+                resourcePresent = previous.resourcePresent;
+            }
+            if (Arrays.equals(buildings, previous.buildings)) {
+                buildings = previous.buildings;
+            }
+            if (Arrays.equals(buildingPresent, previous.buildingPresent)) {
+                buildingPresent = previous.buildingPresent;
+            }
+        }
+        return new GameState(version, resources, resourcePresent, buildings, buildingPresent, roomHeat, gamePhase2);
+    }
+    
+    /**
+     * 获取状态对应的模型版本号
+     * @return 版本号
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    /**
+     * 获取资源数量
+     * @param type 资源类型
+     * @return 资源数量
+     */
+    public int getResource(ResourceType type) {
+        return resources[type.ordinal()];
+    }
+    
+    /**
+     * 资源是否出现过
+     * @param type 资源类型
+     * @return 是否出现过
+     */
+    public boolean hasResource(ResourceType type) {
+        return resourcePresent[type.ordinal()];
+    }
+    
+    /**
+     * 获取建筑数量
+     * @param type 建筑类型
+     * @return 建筑数量
+     */
+    public int getBuilding(BuildingType type) {
+        return buildings[type.ordinal()];
+    }
+    
+    /**
+     * 建筑是否出现过
+     * @param type 建筑类型
+     * @return 是否出现过
+     */
+    public boolean hasBuilding(BuildingType type) {
+        return buildingPresent[type.ordinal()];
+    }
+    
+    /**
+     * 获取所有出现过的资源
+     * @return 资源映射（只读，按枚举顺序）
+     */
+    public Map<String, Integer> getResources() {
+        Map<String, Integer> map = resourceMap;
+        if (map == null) {
+            map = toMap(ResourceType.COUNT, resources, resourcePresent, true);
+            resourceMap = map;
+        }
+        return map;
+    }
+    
+    /**
+     * 获取所有出现过的建筑
+     * @return 建筑映射（只读，按枚举顺序）
+     */
+    public Map<String, Integer> getBuildings() {
+        Map<String, Integer> map = buildingMap;
+        if (map == null) {
+            map = toMap(BuildingType.COUNT, buildings, buildingPresent, false);
+            buildingMap = map;
+        }
+        return map;
+    }
+    
+    /**
+     * 获取房间温度
+     * @return 房间温度
+     */
+    public int getRoomHeat() {
+        return roomHeat;
+    }
+    
+    /**
+     * 是否为游戏第二阶段
+     * @return 是否为游戏第二阶段
+     */
+    public boolean isGamePhase2() {
+        return gamePhase2;
+    }
+    
+    /**
+     * 将计数数组转换为按显示名称索引的只读映射
+     */
+    private static Map<String, Integer> toMap(int count, int[] values, boolean[] present, boolean isResource) {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (present[i]) {
+                String name = isResource ? ResourceType.fromOrdinal(i).getDisplayName()
+                                         : BuildingType.fromOrdinal(i).getDisplayName();
+                map.put(name, values[i]);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+    
+    @Override
+    public String toString() {
+        return "GameState{version=" + version + ", resources=" + getResources() + ", buildings=" + getBuildings()
+                + ", roomHeat=" + roomHeat + ", gamePhase2=" + gamePhase2 + "}";
+    }
+}
@@ -0,0 +1,49 @@
+package Design.model;
+
+import Design.GameConstants;
+
+/**
+ * 村民工作枚举，序号即工作在村民数组和产出表中的下标
+ * 第一个常量是默认工作，新到来的村民和从其他工作撤下的村民都从事默认工作
+ */
+public enum Job {
+    GATHERER(GameConstants.Jobs.GATHERER),
+    HUNTER(GameConstants.Jobs.HUNTER),
+    TRAPPER(GameConstants.Jobs.TRAPPER);
+    
+    // 缓存values()，避免每次调用都复制数组
+    private static final Job[] VALUES = values();
+    
+    /**
+     * 工作种类数量
+     */
+    public static final int COUNT = VALUES.length;
+    
+    /**
+     * 默认工作
+     */
+    public static final Job DEFAULT = GATHERER;
+    
+    private final String displayName;
+    
+    Job(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    /**
+     * 获取显示名称
+     * @return 显示名称（与GameConstants.Jobs中的常量一致）
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * 根据序号获取工作
+     * @param ordinal 序号
+     * @return 工作
+     */
+    public static Job fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
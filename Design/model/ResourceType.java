@@ -0,0 +1,63 @@
+package Design.model;
+
+import Design.GameConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 资源类型枚举，序号即资源在GameModel数组中的下标
+ */
+public enum ResourceType {
+    WOOD(GameConstants.Resources.WOOD),
+    FUR(GameConstants.Resources.FUR),
+    MEAT(GameConstants.Resources.MEAT),
+    TEETH(GameConstants.Resources.TEETH);
+    
+    // 缓存values()，避免每次调用都复制数组
+    private static final ResourceType[] VALUES = values();
+    private static final Map<String, ResourceType> BY_NAME = new HashMap<>();
+    
+    static {
+        for (ResourceType type : VALUES) {
+            BY_NAME.put(type.displayName, type);
+        }
+    }
+    
+    /**
+     * 资源类型数量
+     */
+    public static final int COUNT = VALUES.length;
+    
+    private final String displayName;
+    
+    ResourceType(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    /**
+     * 获取显示名称
+     * @return 显示名称（与GameConstants.Resources中的常量一致）
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * 根据显示名称查找资源类型
+     * @param displayName 显示名称
+     * @return 资源类型，找不到时返回null
+     */
+    public static ResourceType fromName(String displayName) {
+        return BY_NAME.get(displayName);
+    }
+    
+    /**
+     * 根据序号获取资源类型
+     * @param ordinal 序号
+     * @return 资源类型
+     */
+    public static ResourceType fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,165 @@
+package Design.model;
+
+import Design.GameConstants;
+
+import java.util.Arrays;
+
+/**
+ * 村民数据类，以列式数组保存所有村民（每个属性一个基本类型数组，下标即村民编号）
+ * 不为每个村民创建对象，一次产出只需要顺序扫描两个数组，数万名村民也只需几十微秒；
+ * 各工作的人数单独计数，查询人数不需要扫描
+ *
+ * 村民的工作效率随在同一工作上的经验提高：效率（百分比）= 基础效率 + min(经验, 经验上限)，
+ * 经验以整数保存，多次产出可以用解析式一次算出，结果与逐次产出完全相同
+ *
+ * 该类不是线程安全的，只在游戏时钟所在的线程上使用
+ */
+public class Villagers {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int BASE_EFFICIENCY = GameConstants.GameValues.BASE_EFFICIENCY;
+    private static final int MAX_EXPERIENCE = GameConstants.GameValues.MAX_EXPERIENCE;
+
+    private int size;
+    private byte[] jobs = new byte[INITIAL_CAPACITY];      // 工作序号
+    private int[] experience = new int[INITIAL_CAPACITY];  // 在当前工作上的经验（产出次数）
+    private final int[] jobCounts = new int[Job.COUNT];
+
+    /**
+     * 获取村民总数
+     * @return 村民总数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取从事某项工作的村民数量
+     * @param job 工作
+     * @return 村民数量
+     */
+    public int count(Job job) {
+        return jobCounts[job.ordinal()];
+    }
+
+    /**
+     * 添加村民
+     * @param job 工作
+     * @param count 添加的数量
+     */
+    public void add(Job job, int count) {
+        ensureCapacity(size + count);
+        Arrays.fill(jobs, size, size + count, (byte) job.ordinal());
+        Arrays.fill(experience, size, size + count, 0);
+        size += count;
+        jobCounts[job.ordinal()] += count;
+    }
+
+    /**
+     * 把村民从一项工作调到另一项工作，调动的村民经验清零
+     * 优先调动最后到来的村民
+     * @param from 原工作
+     * @param to 新工作
+     * @param count 调动的数量
+     * @return 实际调动的数量
+     */
+    public int reassign(Job from, Job to, int count) {
+        if (from == to) {
+            return 0;
+        }
+        byte fromJob = (byte) from.ordinal();
+        byte toJob = (byte) to.ordinal();
+        int moved = 0;
+        for (int i = size - 1; i >= 0 && moved < count; i--) {
+            if (jobs[i] == fromJob) {
+                jobs[i] = toJob;
+                experience[i] = 0;
+                moved++;
+            }
+        }
+        jobCounts[from.ordinal()] -= moved;
+        jobCounts[to.ordinal()] += moved;
+        return moved;
+    }
+
+    /**
+     * 所有村民工作ticks次，按工作累计工作量并增加经验
+     * 工作量以百分比为单位：一名基础效率的村民工作一次为100
+     * @param ticks 工作次数
+     * @param effort 按工作序号累加的工作量，长度至少为Job.COUNT
+     */
+    public void work(long ticks, long[] effort) {
+        if (ticks <= 0) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            int exp = experience[i];
+            effort[jobs[i]] += effortOf(exp, ticks);
+            experience[i] = (int) Math.min(MAX_EXPERIENCE, exp + ticks);
+        }
+    }
+
+    /**
+     * 经验为exp的村民连续工作ticks次的总工作量
+     * 前m次效率逐次提高1%，之后保持在上限：m*(基础+exp) + m(m-1)/2 + (ticks-m)*(基础+上限)
+     * @param exp 当前经验
+     * @param ticks 工作次数
+     * @return 总工作量（百分比）
+     */
+    static long effortOf(int exp, long ticks) {
+        long rising = Math.max(0, Math.min(ticks, MAX_EXPERIENCE - exp));
+        return rising * (BASE_EFFICIENCY + exp) + rising * (rising - 1) / 2
+                + (ticks - rising) * (BASE_EFFICIENCY + MAX_EXPERIENCE);
+    }
+
+    /**
+     * 清空所有村民
+     */
+    public void clear() {
+        size = 0;
+        Arrays.fill(jobCounts, 0);
+    }
+
+    /**
+     * 获取工作列的副本（用于存档）
+     * @return 每名村民的工作序号
+     */
+    public byte[] copyJobs() {
+        return Arrays.copyOf(jobs, size);
+    }
+
+    /**
+     * 获取经验列的副本（用于存档）
+     * @return 每名村民的经验
+     */
+    public int[] copyExperience() {
+        return Arrays.copyOf(experience, size);
+    }
+
+    /**
+     * 用存档中的列替换所有村民，未知的工作序号视为默认工作
+     * @param savedJobs 每名村民的工作序号
+     * @param savedExperience 每名村民的经验
+     */
+    public void load(byte[] savedJobs, int[] savedExperience) {
+        clear();
+        ensureCapacity(savedJobs.length);
+        for (int i = 0; i < savedJobs.length; i++) {
+            int job = savedJobs[i] >= 0 && savedJobs[i] < Job.COUNT ? savedJobs[i] : Job.DEFAULT.ordinal();
+            jobs[i] = (byte) job;
+            experience[i] = Math.max(0, Math.min(MAX_EXPERIENCE, savedExperience[i]));
+            jobCounts[job]++;
+        }
+        size = savedJobs.length;
+    }
+
+    /**
+     * 确保数组容量足够，不足时按1.5倍扩展
+     */
+    private void ensureCapacity(int required) {
+        if (required > jobs.length) {
+            int capacity = Math.max(required, jobs.length + (jobs.length >> 1));
+            jobs = Arrays.copyOf(jobs, capacity);
+            experience = Arrays.copyOf(experience, capacity);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package Design.save;
+
+import Design.model.BuildingType;
+import Design.model.GameModel;
+import Design.model.GameState;
+import Design.model.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游戏快照类，保存某一时刻的游戏状态和等待触发的游戏事件
+ * 快照创建后不再改变，可以安全地交给后台线程写入文件
+ */
+public final class GameSnapshot {
+    public static final long CARRY_SCALE = 1_000_000; // 产出余量的精度：一个资源分为多少份
+    
+    private final int[] resources;
+    private final boolean[] resourcePresent;
+    private final int[] buildings;
+    private final boolean[] buildingPresent;
+    private final int roomHeat;
+    private final boolean gamePhase2;
+    private final List<EventState> events;
+    private final long savedAt; // 创建快照的真实时间（毫秒时间戳），0表示未知
+    private final byte[] villagerJobs;       // 每名村民的工作序号
+    private final int[] villagerExperience;  // 每名村民的经验
+    private final long[] productionCarry;    // 各资源尚未凑满一个的产出，单位为1/CARRY_SCALE个资源
+    
+    /**
+     * 构造函数，没有村民
+     * @param resources 各资源数量，按ResourceType序号排列
+     * @param resourcePresent 各资源是否出现过
+     * @param buildings 各建筑数量，按BuildingType序号排列
+     * @param buildingPresent 各建筑是否出现过
+     * @param roomHeat 房间温度
+     * @param gamePhase2 游戏第二阶段标志
+     * @param events 等待触发的游戏事件
+     * @param savedAt 创建快照的真实时间（毫秒时间戳），0表示未知
+     */
+    public GameSnapshot(int[] resources, boolean[] resourcePresent, int[] buildings, boolean[] buildingPresent,
+                        int roomHeat, boolean gamePhase2, List<EventState> events, long savedAt) {
+        this(resources, resourcePresent, buildings, buildingPresent, roomHeat, gamePhase2, events, savedAt,
+                new byte[0], new int[0]);
+    }
+    
+    /**
+     * 构造函数
+     * @param resources 各资源数量，按ResourceType序号排列
+     * @param resourcePresent 各资源是否出现过
+     * @param buildings 各建筑数量，按BuildingType序号排列
+     * @param buildingPresent 各建筑是否出现过
+     * @param roomHeat 房间温度
+     * @param gamePhase2 游戏第二阶段标志
+     * @param events 等待触发的游戏事件
+     * @param savedAt 创建快照的真实时间（毫秒时间戳），0表示未知
+     * @param villagerJobs 每名村民的工作序号
+     * @param villagerExperience 每名村民的经验，长度与villagerJobs相同
+     */
+    public GameSnapshot(int[] resources, boolean[] resourcePresent, int[] buildings, boolean[] buildingPresent,
+                        int roomHeat, boolean gamePhase2, List<EventState> events, long savedAt,
+                        byte[] villagerJobs, int[] villagerExperience) {
+        this(resources, resourcePresent, buildings, buildingPresent, roomHeat, gamePhase2, events, savedAt,
+                villagerJobs, villagerExperience, new long[ResourceType.COUNT]);
+    }
+    
+    /**
+     * 构造函数
+     * @param resources 各资源数量，按ResourceType序号排列
+     * @param resourcePresent 各资源是否出现过
+     * @param buildings 各建筑数量，按BuildingType序号排列
+     * @param buildingPresent 各建筑是否出现过
+     * @param roomHeat 房间温度
+     * @param gamePhase2 游戏第二阶段标志
+     * @param events 等待触发的游戏事件
+     * @param savedAt 创建快照的真实时间（毫秒时间戳），0表示未知
+     * @param villagerJobs 每名村民的工作序号
+     * @param villagerExperience 每名村民的经验，长度与villagerJobs相同
+     * @param productionCarry 各资源尚未凑满一个的产出，按ResourceType序号排列，单位为1/CARRY_SCALE个资源
+     */
+    public GameSnapshot(int[] resources, boolean[] resourcePresent, int[] buildings, boolean[] buildingPresent,
+                        int roomHeat, boolean gamePhase2, List<EventState> events, long savedAt,
+                        byte[] villagerJobs, int[] villagerExperience, long[] productionCarry) {
+        if (villagerJobs.length != villagerExperience.length) {
+            throw new IllegalArgumentException("村民的工作和经验数量不一致");
+        }
+        if (productionCarry.length != ResourceType.COUNT) {
+            throw new IllegalArgumentException("产出余量的数量与资源种类不一致");
+        }
+        this.resources = resources.clone();
+        this.resourcePresent = resourcePresent.clone();
+        this.buildings = buildings.clone();
+        this.buildingPresent = buildingPresent.clone();
+        this.roomHeat = roomHeat;
+        this.gamePhase2 = gamePhase2;
+        this.events = Collections.unmodifiableList(new ArrayList<>(events));
+        this.savedAt = savedAt;
+        this.villagerJobs = villagerJobs.clone();
+        this.villagerExperience = villagerExperience.clone();
+        this.productionCarry = productionCarry.clone();
+    }
+    
+    /**
+     * 从游戏模型创建快照
+     * @param model 游戏模型
+     * @param events 等待触发的游戏事件
+     * @return 游戏快照
+     */
+    public static GameSnapshot capture(GameModel model, List<EventState> events) {
+        // 从模型的一致快照中读取，自动存档不会读到事务进行到一半的状态
+        GameState state = model.getState();
+        int[] resources = new int[ResourceType.COUNT];
+        boolean[] resourcePresent = new boolean[ResourceType.COUNT];
+        for (ResourceType type : ResourceType.values()) {
+            resources[type.ordinal()] = state.getResource(type);
+            resourcePresent[type.ordinal()] = state.hasResource(type);
+        }
+        int[] buildings = new int[BuildingType.COUNT];
+        boolean[] buildingPresent = new boolean[BuildingType.COUNT];
+        for (BuildingType type : BuildingType.values()) {
+            buildings[type.ordinal()] = state.getBuilding(type);
+            buildingPresent[type.ordinal()] = state.hasBuilding(type);
+        }
+        return new GameSnapshot(resources, resourcePresent, buildings, buildingPresent,
+                state.getRoomHeat(), state.isGamePhase2(), events, System.currentTimeMillis());
+    }
+    
+    /**
+     * 将快照中的状态写回游戏模型
+     * @param model 游戏模型
+     */
+    public void applyTo(GameModel model) {
+        model.clearResources();
+        for (ResourceType type : ResourceType.values()) {
+            if (resourcePresent[type.ordinal()]) {
+                model.setResource(type, resources[type.ordinal()]);
+            }
+        }
+        model.clearBuildings();
+        for (BuildingType type : BuildingType.values()) {
+            if (buildingPresent[type.ordinal()]) {
+                model.setBuilding(type, buildings[type.ordinal()]);
+            }
+        }
+        model.setRoomHeat(roomHeat);
+        model.setGamePhase2(gamePhase2);
+    }
+    
+    public int getResource(ResourceType type) {
+        return resources[type.ordinal()];
+    }
+    
+    public boolean hasResource(ResourceType type) {
+        return resourcePresent[type.ordinal()];
+    }
+    
+    public int getBuilding(BuildingType type) {
+        return buildings[type.ordinal()];
+    }
+    
+    public boolean hasBuilding(BuildingType type) {
+        return buildingPresent[type.ordinal()];
+    }
+    
+    public int getRoomHeat() {
+        return roomHeat;
+    }
+    
+    public boolean isGamePhase2() {
+        return gamePhase2;
+    }
+    
+    public List<EventState> getEvents() {
+        return events;
+    }
+    
+    public long getSavedAt() {
+        return savedAt;
+    }
+    
+    public int getVillagerCount() {
+        return villagerJobs.length;
+    }
+    
+    public byte[] getVillagerJobs() {
+        return villagerJobs.clone();
+    }
+    
+    public int[] getVillagerExperience() {
+        return villagerExperience.clone();
+    }
+    
+    public long[] getProductionCarry() {
+        return productionCarry.clone();
+    }
+    
+    // 不复制数组，只供SaveManager编码时使用
+    byte getVillagerJob(int index) {
+        return villagerJobs[index];
+    }
+    
+    int getVillagerExperience(int index) {
+        return villagerExperience[index];
+    }
+    
+    long getProductionCarry(ResourceType type) {
+        return productionCarry[type.ordinal()];
+    }
+    
+    /**
+     * 创建只有保存时间不同的快照（用于迁移没有保存时间的旧存档）
+     * @param savedAt 保存时间（毫秒时间戳）
+     * @return 新快照
+     */
+    public GameSnapshot withSavedAt(long savedAt) {
+        return new GameSnapshot(resources, resourcePresent, buildings, buildingPresent, roomHeat, gamePhase2, events, savedAt,
+                villagerJobs, villagerExperience, productionCarry);
+    }
+    
+    /**
+     * 创建带有村民的快照
+     * @param jobs 每名村民的工作序号
+     * @param experience 每名村民的经验
+     * @return 新快照
+     */
+    public GameSnapshot withVillagers(byte[] jobs, int[] experience) {
+        return new GameSnapshot(resources, resourcePresent, buildings, buildingPresent, roomHeat, gamePhase2, events, savedAt,
+                jobs, experience, productionCarry);
+    }
+    
+    /**
+     * 创建带有产出余量的快照
+     * @param carry 各资源尚未凑满一个的产出，单位为1/CARRY_SCALE个资源
+     * @return 新快照
+     */
+    public GameSnapshot withProductionCarry(long[] carry) {
+        return new GameSnapshot(resources, resourcePresent, buildings, buildingPresent, roomHeat, gamePhase2, events, savedAt,
+                villagerJobs, villagerExperience, carry);
+    }
+    
+    /**
+     * 等待触发的游戏事件状态
+     */
+    public static final class EventState {
+        private final String name;
+        private final long delay;  // 距离触发的剩余时间（毫秒）
+        private final long period; // 周期（毫秒），0表示一次性事件
+        
+        public EventState(String name, long delay, long period) {
+            this.name = name;
+            this.delay = delay;
+            this.period = period;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public long getDelay() {
+            return delay;
+        }
+        
+        public long getPeriod() {
+            return period;
+        }
+    }
+}
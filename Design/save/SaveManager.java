@@ -0,0 +1,386 @@
+package Design.save;
+
+import Design.model.BuildingType;
+import Design.model.ResourceType;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 存档管理类，负责将游戏快照以紧凑的二进制格式写入文件和读回
+ * 所有写入都在同一个后台线程上依次执行，界面线程只负责创建快照
+ *
+ * 存档格式（大端序，第4版）：
+ *   int 魔数 | short 版本 | long 保存时间 | byte 第二阶段 | byte 房间温度 |
+ *   byte 资源条目数 {byte 序号, int 数量} | byte 建筑条目数 {byte 序号, int 数量} |
+ *   short 事件数 {short 名称长度, UTF-8名称, long 剩余时间, long 周期} |
+ *   int 村民数 {byte 工作序号, int 经验} |
+ *   byte 产出余量条目数 {byte 资源序号, long 余量（1/CARRY_SCALE个资源）}
+ * 资源、建筑和工作按枚举序号保存，读取时忽略未知序号，因此枚举只能在末尾追加新常量
+ * 第1版没有保存时间，读取时以存档文件的修改时间代替；第1、2版没有村民；第1至3版没有产出余量，读取时为0
+ */
+public class SaveManager {
+    public static final int MAGIC = 0x4D44524D; // "MDRM"
+    public static final short CURRENT_VERSION = 4;
+    
+    private final Path path;
+    private final ExecutorService writer;
+    private final AtomicReference<GameSnapshot> pendingSnapshot = new AtomicReference<>(); // 等待写入的最新快照
+    
+    /**
+     * 构造函数
+     * @param path 存档文件路径
+     */
+    public SaveManager(Path path) {
+        this.path = path;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "save-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 获取默认的存档文件路径
+     * @return 用户目录下的存档文件路径
+     */
+    public static Path defaultPath() {
+        return Paths.get(System.getProperty("user.home"), ".my_dark_room", "save.dat");
+    }
+    
+    /**
+     * 存档文件是否存在
+     * @return 是否存在
+     */
+    public boolean exists() {
+        return Files.isRegularFile(path);
+    }
+    
+    /**
+     * 在后台线程写入存档，不等待完成
+     * 上一次写入还没开始时只替换等待写入的快照，加快游戏时间时自动存档也不会在后台堆积
+     * @param snapshot 游戏快照
+     * @return 写入任务，快照被合并到尚未开始的写入时返回null
+     */
+    public Future<?> saveAsync(GameSnapshot snapshot) {
+        if (pendingSnapshot.getAndSet(snapshot) != null) {
+            return null;
+        }
+        return writer.submit(() -> {
+            try {
+                write(pendingSnapshot.getAndSet(null));
+            } catch (IOException e) {
+                System.err.println("存档失败: " + e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * 写入存档并等待完成（例如在关闭窗口时）
+     * @param snapshot 游戏快照
+     * @throws IOException 写入失败
+     */
+    public void save(GameSnapshot snapshot) throws IOException {
+        Future<?> task = writer.submit(() -> {
+            write(snapshot);
+            return null;
+        });
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("存档被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+    
+    /**
+     * 读取存档
+     * @return 游戏快照
+     * @throws IOException 读取失败或格式不正确
+     */
+    public GameSnapshot load() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 读满为止
+            }
+            buffer.flip();
+            GameSnapshot snapshot = decode(buffer);
+            if (snapshot.getSavedAt() == 0) {
+                // 旧版本存档没有保存时间，以文件修改时间代替
+                snapshot = snapshot.withSavedAt(Files.getLastModifiedTime(path).toMillis());
+            }
+            return snapshot;
+        }
+    }
+    
+    /**
+     * 先写入临时文件再替换，避免写到一半时留下损坏的存档
+     * @param snapshot 游戏快照
+     * @throws IOException 写入失败
+     */
+    private void write(GameSnapshot snapshot) throws IOException {
+        ByteBuffer buffer = encode(snapshot);
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * 将快照编码为当前版本的二进制格式
+     * @param snapshot 游戏快照
+     * @return 已翻转、可直接写出的缓冲区
+     */
+    public static ByteBuffer encode(GameSnapshot snapshot) {
+        List<byte[]> eventNames = new ArrayList<>();
+        int size = 4 + 2 + 8 + 1 + 1 + 1 + 1 + 2;
+        for (ResourceType type : ResourceType.values()) {
+            if (snapshot.hasResource(type)) {
+                size += 5;
+            }
+        }
+        for (BuildingType type : BuildingType.values()) {
+            if (snapshot.hasBuilding(type)) {
+                size += 5;
+            }
+        }
+        for (GameSnapshot.EventState event : snapshot.getEvents()) {
+            byte[] name = event.getName().getBytes(StandardCharsets.UTF_8);
+            eventNames.add(name);
+            size += 2 + name.length + 8 + 8;
+        }
+        size += 4 + snapshot.getVillagerCount() * 5;
+        size += 1 + countCarriedResources(snapshot) * 9;
+        
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putShort(CURRENT_VERSION);
+        buffer.putLong(snapshot.getSavedAt());
+        buffer.put((byte) (snapshot.isGamePhase2() ? 1 : 0));
+        buffer.put((byte) snapshot.getRoomHeat());
+        
+        buffer.put((byte) countPresentResources(snapshot));
+        for (ResourceType type : ResourceType.values()) {
+            if (snapshot.hasResource(type)) {
+                buffer.put((byte) type.ordinal());
+                buffer.putInt(snapshot.getResource(type));
+            }
+        }
+        buffer.put((byte) countPresentBuildings(snapshot));
+        for (BuildingType type : BuildingType.values()) {
+            if (snapshot.hasBuilding(type)) {
+                buffer.put((byte) type.ordinal());
+                buffer.putInt(snapshot.getBuilding(type));
+            }
+        }
+        
+        buffer.putShort((short) snapshot.getEvents().size());
+        for (int i = 0; i < eventNames.size(); i++) {
+            GameSnapshot.EventState event = snapshot.getEvents().get(i);
+            byte[] name = eventNames.get(i);
+            buffer.putShort((short) name.length);
+            buffer.put(name);
+            buffer.putLong(event.getDelay());
+            buffer.putLong(event.getPeriod());
+        }
+        
+        buffer.putInt(snapshot.getVillagerCount());
+        for (int i = 0; i < snapshot.getVillagerCount(); i++) {
+            buffer.put(snapshot.getVillagerJob(i));
+            buffer.putInt(snapshot.getVillagerExperience(i));
+        }
+        
+        buffer.put((byte) countCarriedResources(snapshot));
+        for (ResourceType type : ResourceType.values()) {
+            if (snapshot.getProductionCarry(type) != 0) {
+                buffer.put((byte) type.ordinal());
+                buffer.putLong(snapshot.getProductionCarry(type));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     * 解码存档，旧版本的存档在这里迁移为当前的快照结构
+     * @param buffer 存档内容
+     * @return 游戏快照
+     * @throws IOException 格式不正确或版本不受支持
+     */
+    public static GameSnapshot decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 6 || buffer.getInt() != MAGIC) {
+            throw new IOException("不是有效的存档文件");
+        }
+        short version = buffer.getShort();
+        try {
+            switch (version) {
+                case 1:
+                    return decodeV1(buffer);
+                case 2:
+                    return decodeV2(buffer);
+                case 3:
+                    return decodeV3(buffer);
+                case 4:
+                    return decodeV4(buffer);
+                default:
+                    throw new IOException("不支持的存档版本: " + version);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("存档文件不完整", e);
+        }
+    }
+    
+    /**
+     * 解码第1版存档，保存时间未知
+     */
+    private static GameSnapshot decodeV1(ByteBuffer buffer) {
+        return decodeBody(buffer, 0);
+    }
+    
+    /**
+     * 解码第2版存档，在第1版的基础上增加了保存时间
+     */
+    private static GameSnapshot decodeV2(ByteBuffer buffer) {
+        long savedAt = buffer.getLong();
+        return decodeBody(buffer, savedAt);
+    }
+    
+    /**
+     * 解码第3版存档，在第2版的基础上增加了村民
+     */
+    private static GameSnapshot decodeV3(ByteBuffer buffer) throws IOException {
+        GameSnapshot snapshot = decodeV2(buffer);
+        int villagerCount = buffer.getInt();
+        if (villagerCount < 0 || villagerCount > buffer.remaining() / 5) {
+            throw new IOException("村民数量不正确: " + villagerCount);
+        }
+        byte[] jobs = new byte[villagerCount];
+        int[] experience = new int[villagerCount];
+        for (int i = 0; i < villagerCount; i++) {
+            jobs[i] = buffer.get();
+            experience[i] = buffer.getInt();
+        }
+        return snapshot.withVillagers(jobs, experience);
+    }
+    
+    /**
+     * 解码第4版存档，在第3版的基础上增加了村民产出余量
+     */
+    private static GameSnapshot decodeV4(ByteBuffer buffer) throws IOException {
+        GameSnapshot snapshot = decodeV3(buffer);
+        long[] carry = new long[ResourceType.COUNT];
+        int carryCount = buffer.get() & 0xFF;
+        for (int i = 0; i < carryCount; i++) {
+            int ordinal = buffer.get() & 0xFF;
+            long amount = buffer.getLong();
+            if (ordinal < ResourceType.COUNT) {
+                carry[ordinal] = amount;
+            }
+        }
+        return snapshot.withProductionCarry(carry);
+    }
+    
+    /**
+     * 解码版本号之后的状态和事件部分
+     */
+    private static GameSnapshot decodeBody(ByteBuffer buffer, long savedAt) {
+        boolean gamePhase2 = buffer.get() != 0;
+        int roomHeat = buffer.get();
+        
+        int[] resources = new int[ResourceType.COUNT];
+        boolean[] resourcePresent = new boolean[ResourceType.COUNT];
+        int resourceCount = buffer.get() & 0xFF;
+        for (int i = 0; i < resourceCount; i++) {
+            int ordinal = buffer.get() & 0xFF;
+            int amount = buffer.getInt();
+            if (ordinal < ResourceType.COUNT) {
+                resources[ordinal] = amount;
+                resourcePresent[ordinal] = true;
+            }
+        }
+        
+        int[] buildings = new int[BuildingType.COUNT];
+        boolean[] buildingPresent = new boolean[BuildingType.COUNT];
+        int buildingCount = buffer.get() & 0xFF;
+        for (int i = 0; i < buildingCount; i++) {
+            int ordinal = buffer.get() & 0xFF;
+            int count = buffer.getInt();
+            if (ordinal < BuildingType.COUNT) {
+                buildings[ordinal] = count;
+                buildingPresent[ordinal] = true;
+            }
+        }
+        
+        int eventCount = buffer.getShort() & 0xFFFF;
+        List<GameSnapshot.EventState> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            long delay = buffer.getLong();
+            long period = buffer.getLong();
+            events.add(new GameSnapshot.EventState(new String(name, StandardCharsets.UTF_8), delay, period));
+        }
+        
+        return new GameSnapshot(resources, resourcePresent, buildings, buildingPresent, roomHeat, gamePhase2, events, savedAt);
+    }
+    
+    private static int countPresentResources(GameSnapshot snapshot) {
+        int count = 0;
+        for (ResourceType type : ResourceType.values()) {
+            if (snapshot.hasResource(type)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private static int countCarriedResources(GameSnapshot snapshot) {
+        int count = 0;
+        for (ResourceType type : ResourceType.values()) {
+            if (snapshot.getProductionCarry(type) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private static int countPresentBuildings(GameSnapshot snapshot) {
+        int count = 0;
+        for (BuildingType type : BuildingType.values()) {
+            if (snapshot.hasBuilding(type)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -2,19 +2,32 @@ package Design.service;
 
 import Design.event.EventManager;
 
+import java.util.Random;
+
 /**
  * 消息服务类，统一管理游戏中的消息发送
  * 减少各个组件对EventManager的直接依赖
  */
 public class MessageService {
     private final EventManager eventManager;
+    private final Random random;
     
     /**
      * 构造函数
      * @param eventManager 事件管理器
      */
     public MessageService(EventManager eventManager) {
+        this(eventManager, new Random());
+    }
+    
+    /**
+     * 构造函数
+     * @param eventManager 事件管理器
+     * @param random 随机数生成器，用于随机选择消息
+     */
+    public MessageService(EventManager eventManager, Random random) {
         this.eventManager = eventManager;
+        this.random = random;
     }
     
     /**
@@ -41,7 +54,7 @@ public class MessageService {
      */
     public void sendRandomMessage(String[] messages) {
         if (messages != null && messages.length > 0) {
-            String randomMessage = messages[(int) (Math.random() * messages.length)];
+            String randomMessage = messages[random.nextInt(messages.length)];
             sendMessage(randomMessage);
         }
     }
@@ -1,7 +1,11 @@
 package Design.service;
 
 import Design.event.EventManager;
+import Design.event.GameEvents.Delta;
 import Design.model.GameModel;
+import Design.model.ResourceType;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,14 +26,56 @@ public class ResourceService {
         this.eventManager = eventManager;
     }
     
+    /**
+     * 开始一个资源事务
+     * @return 资源事务
+     */
+    public ResourceTransaction begin() {
+        return new ResourceTransaction(model, this);
+    }
+    
+    /**
+     * 增加资源并通知变化
+     * @param type 资源类型
+     * @param amount 增加数量
+     */
+    public void increaseResource(ResourceType type, int amount) {
+        begin().add(type, amount).commit();
+    }
+    
+    /**
+     * 减少资源并通知变化，资源不足时不做任何改变
+     * @param type 资源类型
+     * @param amount 减少数量
+     * @return 是否成功减少
+     */
+    public boolean decreaseResource(ResourceType type, int amount) {
+        return begin().spend(type, amount).commit();
+    }
+    
+    /**
+     * 批量增加资源，所有资源加完后只通知一次变化
+     * @param amounts 按ResourceType序号排列的增加数量，0表示不变
+     */
+    public void increaseResources(int[] amounts) {
+        ResourceTransaction transaction = begin();
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] != 0) {
+                transaction.add(ResourceType.fromOrdinal(i), amounts[i]);
+            }
+        }
+        transaction.commit();
+    }
+    
     /**
      * 增加资源并通知变化
      * @param resourceName 资源名称
      * @param amount 增加数量
      */
     public void increaseResource(String resourceName, int amount) {
+        int oldValue = model.getResource(resourceName);
         model.increaseResource(resourceName, amount);
-        notifyResourceChange();
+        notifyResourceChange(Collections.singletonList(new Delta(resourceName, oldValue, oldValue + amount)));
     }
     
     /**
@@ -38,8 +84,10 @@ public class ResourceService {
      * @param amount 减少数量
      */
     public void decreaseResource(String resourceName, int amount) {
-        model.decreaseResource(resourceName, amount);
-        notifyResourceChange();
+        int oldValue = model.getResource(resourceName);
+        if (model.decreaseResource(resourceName, amount)) {
+            notifyResourceChange(Collections.singletonList(new Delta(resourceName, oldValue, oldValue - amount)));
+        }
     }
     
     /**
@@ -60,9 +108,32 @@ public class ResourceService {
     }
     
     /**
-     * 通知资源变化
+     * 通知资源变化（全量刷新）
      */
     public void notifyResourceChange() {
-        eventManager.notifyResourceChangeListeners(model.getResources());
+        eventManager.notifyResourceChangeListeners(model.getResources(), null, model.getVersion());
+    }
+    
+    /**
+     * 通知部分资源变化
+     * @param deltas 发生变化的资源条目
+     */
+    public void notifyResourceChange(List<Delta> deltas) {
+        eventManager.notifyResourceChangeListeners(model.getResources(), deltas, model.getVersion());
+    }
+    
+    /**
+     * 通知建筑变化（全量刷新）
+     */
+    public void notifyBuildingChange() {
+        eventManager.notifyBuildingChangeListeners(model.getBuildings(), null, model.getVersion());
+    }
+    
+    /**
+     * 通知部分建筑变化
+     * @param deltas 发生变化的建筑条目
+     */
+    public void notifyBuildingChange(List<Delta> deltas) {
+        eventManager.notifyBuildingChangeListeners(model.getBuildings(), deltas, model.getVersion());
     }
 }
\ No newline at end of file
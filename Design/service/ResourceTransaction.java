@@ -0,0 +1,226 @@
+package Design.service;
+
+import Design.event.GameEvents.Delta;
+import Design.metrics.TransactionEvent;
+import Design.model.BuildingType;
+import Design.model.GameModel;
+import Design.model.ResourceType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 资源事务类，先记录多种资源和建筑的增减，提交时一次性检查并应用
+ * 任何一种资源不足或建筑达到数量上限时整个事务都不生效；资源由GameModel原子地比较并扣除，
+ * 有上限的建筑原子地比较并增加，多个线程同时提交也不会超额消耗或超出上限；提交后只发出一次资源变化通知，
+ * 通知中只包含实际变化的条目（名称、旧值、新值）
+ */
+public class ResourceTransaction {
+    private final GameModel model;
+    private final ResourceService resourceService;
+    private final int[] resourceDeltas = new int[ResourceType.COUNT];
+    private final int[] buildingDeltas = new int[BuildingType.COUNT];
+    private final int[] buildingLimits = new int[BuildingType.COUNT];  // 各建筑的数量上限，0表示没有上限
+    private final int[] buildingsBefore = new int[BuildingType.COUNT]; // 提交成功时各建筑增加前的数量
+    private boolean finished = false;
+    private boolean limitReached = false;
+    
+    /**
+     * 构造函数，由ResourceService.begin创建
+     * @param model 游戏模型
+     * @param resourceService 资源服务
+     */
+    ResourceTransaction(GameModel model, ResourceService resourceService) {
+        this.model = model;
+        this.resourceService = resourceService;
+    }
+    
+    /**
+     * 增加资源
+     * @param type 资源类型
+     * @param amount 增加数量
+     * @return 当前事务，便于连续调用
+     */
+    public ResourceTransaction add(ResourceType type, int amount) {
+        ensureActive();
+        resourceDeltas[type.ordinal()] += amount;
+        return this;
+    }
+    
+    /**
+     * 消耗资源，提交时检查是否足够
+     * @param type 资源类型
+     * @param amount 消耗数量
+     * @return 当前事务，便于连续调用
+     */
+    public ResourceTransaction spend(ResourceType type, int amount) {
+        ensureActive();
+        resourceDeltas[type.ordinal()] -= amount;
+        return this;
+    }
+    
+    /**
+     * 增加建筑
+     * @param type 建筑类型
+     * @param count 增加数量
+     * @return 当前事务，便于连续调用
+     */
+    public ResourceTransaction addBuilding(BuildingType type, int count) {
+        ensureActive();
+        buildingDeltas[type.ordinal()] += count;
+        return this;
+    }
+    
+    /**
+     * 增加建筑，提交时原子地检查数量上限，超出上限时整个事务不生效
+     * @param type 建筑类型
+     * @param count 增加数量
+     * @param limit 数量上限，0表示没有上限
+     * @return 当前事务，便于连续调用
+     */
+    public ResourceTransaction addBuilding(BuildingType type, int count, int limit) {
+        addBuilding(type, count);
+        buildingLimits[type.ordinal()] = limit;
+        return this;
+    }
+    
+    /**
+     * 检查当前资源是否足以提交
+     * 其他线程可能同时消耗资源，结果仅供参考，以commit的返回值为准
+     * @return 是否所有资源在提交后都不为负
+     */
+    public boolean canCommit() {
+        for (ResourceType type : ResourceType.values()) {
+            int delta = resourceDeltas[type.ordinal()];
+            if (delta < 0 && model.getResource(type) + delta < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 提交事务
+     * 先原子地比较并扣除所有消耗，再增加建筑（有上限的建筑比较并增加），最后增加产出；
+     * 资源不足或建筑超出上限时自动回滚，读取快照的线程不会看到中间状态
+     * @return 是否提交成功
+     */
+    public boolean commit() {
+        ensureActive();
+        finished = true;
+        TransactionEvent transaction = new TransactionEvent();
+        transaction.begin();
+        
+        int[] costs = new int[ResourceType.COUNT];
+        for (int i = 0; i < costs.length; i++) {
+            costs[i] = Math.max(0, -resourceDeltas[i]);
+        }
+        int[] spentFrom = new int[ResourceType.COUNT];
+        List<Delta> changedResources = new ArrayList<>();
+        List<Delta> changedBuildings = new ArrayList<>();
+        
+        // 整个事务作为一次修改，读取快照的线程不会看到只扣除了成本的中间状态；
+        // 提交失败时所有写入都已撤销，放弃这次修改，版本号不变，已发布的快照仍然有效
+        model.beginUpdate();
+        boolean rejected = false;
+        try {
+            if (!model.trySpend(costs, spentFrom)) {
+                rejected = true;
+                transaction.finish(false, 0, 0);
+                return false;
+            }
+            
+            // 先增加建筑，超出上限时只需退回成本和已增加的建筑
+            for (BuildingType type : BuildingType.values()) {
+                int delta = buildingDeltas[type.ordinal()];
+                if (delta != 0) {
+                    int oldValue = model.tryAddBuilding(type, delta, buildingLimits[type.ordinal()]);
+                    if (oldValue < 0) {
+                        undo(costs, type);
+                        rejected = true;
+                        limitReached = true;
+                        transaction.finish(false, 0, 0);
+                        return false;
+                    }
+                    buildingsBefore[type.ordinal()] = oldValue;
+                    changedBuildings.add(new Delta(type.getDisplayName(), oldValue, oldValue + delta));
+                }
+            }
+            
+            for (ResourceType type : ResourceType.values()) {
+                int delta = resourceDeltas[type.ordinal()];
+                if (delta < 0) {
+                    int oldValue = spentFrom[type.ordinal()];
+                    changedResources.add(new Delta(type.getDisplayName(), oldValue, oldValue + delta));
+                } else if (delta > 0) {
+                    int oldValue = model.getAndAddResource(type, delta);
+                    changedResources.add(new Delta(type.getDisplayName(), oldValue, oldValue + delta));
+                }
+            }
+        } finally {
+            if (rejected) {
+                model.abortUpdate();
+            } else {
+                model.endUpdate();
+            }
+        }
+        
+        if (!changedResources.isEmpty()) {
+            resourceService.notifyResourceChange(changedResources);
+        }
+        if (!changedBuildings.isEmpty()) {
+            resourceService.notifyBuildingChange(changedBuildings);
+        }
+        transaction.finish(true, changedResources.size(), changedBuildings.size());
+        return true;
+    }
+    
+    /**
+     * 退回已经扣除的成本和已经增加的建筑（在commit的修改范围之内调用）
+     * 建筑按序号顺序增加，序号在超出上限的建筑之前的都已增加；
+     * 成本直接退回，不改变版本号，只有事务同时增加了多种建筑时退回建筑才会使版本号增加
+     * @param costs 已扣除的成本
+     * @param failed 超出上限的建筑
+     */
+    private void undo(int[] costs, BuildingType failed) {
+        for (int i = 0; i < failed.ordinal(); i++) {
+            if (buildingDeltas[i] != 0) {
+                model.getAndAddBuilding(BuildingType.values()[i], -buildingDeltas[i]);
+            }
+        }
+        model.refund(costs);
+    }
+    
+    /**
+     * 提交失败是否因为建筑达到数量上限
+     * @return 提交失败且原因是数量上限时返回true
+     */
+    public boolean isLimitReached() {
+        return limitReached;
+    }
+    
+    /**
+     * 获取提交前的建筑数量，用于判断本次提交是否建成了第一座
+     * @param type 建筑类型
+     * @return 提交成功时该建筑增加前的数量
+     */
+    public int getBuildingBefore(BuildingType type) {
+        return buildingsBefore[type.ordinal()];
+    }
+    
+    /**
+     * 回滚事务，丢弃所有尚未提交的变化
+     */
+    public void rollback() {
+        finished = true;
+    }
+    
+    /**
+     * 确保事务尚未提交或回滚
+     */
+    private void ensureActive() {
+        if (finished) {
+            throw new IllegalStateException("事务已经提交或回滚");
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package Design.simulation;
+
+import Design.GameConstants;
+import Design.content.ContentCatalog;
+import Design.journal.ActionType;
+import Design.model.BuildingType;
+import Design.model.GameState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 数值平衡模拟类，在所有CPU核心上并行运行大量无界面游戏，统计各策略到达里程碑的时间分布
+ * 每局使用独立的SimulationEngine和由种子派生的随机数生成器，线程之间不共享任何可变状态，
+ * 结果只取决于基础种子，与线程数无关；不依赖Swing
+ * 建造成本等数值来自内容目录，可以在命令行上用 building.HUT.cost=WOOD:80 这样的条目覆盖后比较结果
+ */
+public class BalanceSweeper {
+    private static final long PLAYER_REACTION_MILLIS = 1000; // 玩家两次操作之间的最短间隔
+    private static final int PLAYER_REACTION_JITTER = 500;   // 操作间隔的随机波动（毫秒）
+    private static final int RUNS_PER_TASK = 8;              // 每个并行任务至少包含的局数
+
+    private final ForkJoinPool pool;
+    private final ContentCatalog content;
+
+    /**
+     * 构造函数，使用所有CPU核心和共享内容目录
+     */
+    public BalanceSweeper() {
+        this(Runtime.getRuntime().availableProcessors(), ContentCatalog.getDefault());
+    }
+
+    /**
+     * 构造函数
+     * @param parallelism 并行线程数
+     * @param content 模拟使用的内容目录
+     */
+    public BalanceSweeper(int parallelism, ContentCatalog content) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.content = content;
+    }
+
+    /**
+     * 运行一组模拟
+     * @param strategyName 策略名称，用于输出
+     * @param strategy 玩家策略
+     * @param runs 模拟局数
+     * @param baseSeed 基础种子，第i局的种子由基础种子和i派生
+     * @param horizonMillis 每局模拟的游戏时间上限（毫秒）
+     * @return 模拟结果
+     */
+    public SweepResult sweep(String strategyName, PlayerStrategy strategy, int runs, long baseSeed, long horizonMillis) {
+        long[][] times = new long[Milestone.COUNT][runs];
+        for (long[] row : times) {
+            Arrays.fill(row, SweepResult.NOT_REACHED);
+        }
+        long start = System.nanoTime();
+        pool.invoke(new SweepTask(strategy, content, baseSeed, horizonMillis, times, 0, runs));
+        return new SweepResult(strategyName, times, horizonMillis, System.nanoTime() - start);
+    }
+
+    /**
+     * 关闭线程池
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 运行一局模拟，把到达各里程碑的游戏时间写入times的第index列
+     * @param strategy 玩家策略
+     * @param content 内容目录
+     * @param seed 本局种子
+     * @param horizonMillis 游戏时间上限（毫秒）
+     * @param times 结果数组
+     * @param index 局序号
+     */
+    static void simulate(PlayerStrategy strategy, ContentCatalog content, long seed, long horizonMillis,
+                         long[][] times, int index) {
+        SimulationEngine engine = new SimulationEngine(seed, content);
+        Random player = new Random(mix(seed));
+        boolean[] phase2Started = new boolean[1];
+        engine.getEventManager().addGamePhaseChangeListener(phase2 -> {
+            if (phase2 && !phase2Started[0]) {
+                phase2Started[0] = true;
+                times[Milestone.PHASE2.ordinal()][index] = engine.getGameTime();
+            }
+        });
+
+        long[] readyAt = new long[ActionType.values().length];
+        EnumSet<ActionType> available = EnumSet.noneOf(ActionType.class);
+        int remaining = Milestone.COUNT;
+        while (engine.getGameTime() < horizonMillis && remaining > 0) {
+            long now = engine.getGameTime();
+            GameState state = engine.getModel().getState();
+            collectAvailable(available, state, phase2Started[0], readyAt, now);
+
+            ActionType action = strategy.decide(state, available, content, player);
+            if (action != null && available.contains(action)) {
+                engine.getController().perform(action);
+                readyAt[action.ordinal()] = now + cooldown(action);
+            }
+
+            // 建筑只会由玩家操作产生，每次操作后检查即可
+            remaining = Milestone.COUNT;
+            for (Milestone milestone : Milestone.values()) {
+                if (times[milestone.ordinal()][index] == SweepResult.NOT_REACHED) {
+                    BuildingType building = buildingOf(milestone);
+                    if (building != null && engine.getModel().getBuilding(building) > 0) {
+                        times[milestone.ordinal()][index] = now;
+                        remaining--;
+                    }
+                } else {
+                    remaining--;
+                }
+            }
+
+            engine.step(PLAYER_REACTION_MILLIS + player.nextInt(PLAYER_REACTION_JITTER));
+        }
+    }
+
+    /**
+     * 收集当前可以执行的操作，与界面按钮的出现时机和冷却时间一致
+     */
+    private static void collectAvailable(EnumSet<ActionType> available, GameState state, boolean phase2Started,
+                                         long[] readyAt, long now) {
+        available.clear();
+        for (ActionType action : ActionType.values()) {
+            // 内置策略不调整村民分工，村民都从事默认工作
+            if (readyAt[action.ordinal()] > now || action.getJob() != null) {
+                continue;
+            }
+            switch (action) {
+                case ADD_FUEL:
+                    available.add(action);
+                    break;
+                case CHECK_TRAPS:
+                    if (state.getBuilding(BuildingType.TRAP) > 0) {
+                        available.add(action);
+                    }
+                    break;
+                default:
+                    // 伐木和建造在陌生人开始帮忙（第二阶段界面出现）后才可用
+                    if (phase2Started) {
+                        available.add(action);
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 获取操作的冷却时间，与界面上冷却按钮的设置一致
+     * @param action 操作类型
+     * @return 冷却时间（毫秒）
+     */
+    private static long cooldown(ActionType action) {
+        switch (action) {
+            case ADD_FUEL:
+                return GameConstants.Timers.ADD_FUEL_COOLDOWN;
+            case CHOP_WOOD:
+                return GameConstants.Timers.CHOP_WOOD_COOLDOWN * 1000L;
+            case CHECK_TRAPS:
+                return GameConstants.Timers.CHECK_TRAPS_COOLDOWN * 1000L;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * 获取里程碑对应的建筑
+     * @param milestone 里程碑
+     * @return 建筑类型，不是建筑里程碑时返回null
+     */
+    private static BuildingType buildingOf(Milestone milestone) {
+        switch (milestone) {
+            case FIRST_TRAP:
+                return BuildingType.TRAP;
+            case FIRST_CART:
+                return BuildingType.CART;
+            case FIRST_HUT:
+                return BuildingType.HUT;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 由基础种子和局序号派生本局种子（SplitMix64），相邻序号得到互不相关的种子
+     * @param seed 输入
+     * @return 派生的种子
+     */
+    static long mix(long seed) {
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 并行任务，把局序号区间不断二分，直到足够小再依次运行
+     * 每局只写结果数组中自己的一列，任务之间不需要同步
+     */
+    private static class SweepTask extends RecursiveAction {
+        private final PlayerStrategy strategy;
+        private final ContentCatalog content;
+        private final long baseSeed;
+        private final long horizonMillis;
+        private final long[][] times;
+        private final int from;
+        private final int to;
+
+        SweepTask(PlayerStrategy strategy, ContentCatalog content, long baseSeed, long horizonMillis, long[][] times,
+                  int from, int to) {
+            this.strategy = strategy;
+            this.content = content;
+            this.baseSeed = baseSeed;
+            this.horizonMillis = horizonMillis;
+            this.times = times;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= RUNS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    simulate(strategy, content, mix(baseSeed + i * 0x9E3779B97F4A7C15L), horizonMillis, times, i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask(strategy, content, baseSeed, horizonMillis, times, from, middle),
+                    new SweepTask(strategy, content, baseSeed, horizonMillis, times, middle, to));
+        }
+    }
+
+    /**
+     * 命令行入口：对指定策略各运行若干局并打印里程碑时间分布
+     * 用法：java -cp out Design.simulation.BalanceSweeper [局数] [游戏分钟数] [种子] [策略,...|all] [线程数] [内容条目=值 ...]
+     */
+    public static void main(String[] args) {
+        // 含有等号的参数是内容条目覆盖，其余按位置解析
+        Properties overrides = new Properties();
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                overrides.setProperty(arg.substring(0, separator), arg.substring(separator + 1));
+            } else {
+                positional.add(arg);
+            }
+        }
+        args = positional.toArray(new String[0]);
+
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long minutes = args.length > 1 ? Long.parseLong(args[1]) : 60;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+        String names = args.length > 3 ? args[3] : "all";
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        List<PlayerStrategies> strategies = new ArrayList<>();
+        if ("all".equalsIgnoreCase(names)) {
+            strategies.addAll(Arrays.asList(PlayerStrategies.values()));
+        } else {
+            for (String name : names.split(",")) {
+                strategies.add(PlayerStrategies.valueOf(name.trim().toUpperCase()));
+            }
+        }
+
+        ContentCatalog content = ContentCatalog.getDefault().withOverrides(overrides);
+        System.out.printf("%d 个线程，小屋 %s / 陷阱 %s / 货车 %s，货车伐木 %d%n", threads,
+                content.formatCost(BuildingType.HUT), content.formatCost(BuildingType.TRAP),
+                content.formatCost(BuildingType.CART), content.getChopWoodYield(BuildingType.CART));
+        BalanceSweeper sweeper = new BalanceSweeper(threads, content);
+        try {
+            for (PlayerStrategies strategy : strategies) {
+                System.out.print(sweeper.sweep(strategy.name(), strategy, runs, seed, minutes * 60_000L).format());
+            }
+        } finally {
+            sweeper.shutdown();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package Design.simulation;
+
+/**
+ * 平衡模拟记录的游戏里程碑
+ */
+public enum Milestone {
+    PHASE2("进入第二阶段"),
+    FIRST_TRAP("第一个陷阱"),
+    FIRST_CART("第一辆货车"),
+    FIRST_HUT("第一栋小屋");
+
+    public static final int COUNT = values().length;
+
+    private final String displayName;
+
+    Milestone(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * 获取显示名称
+     * @return 显示名称
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
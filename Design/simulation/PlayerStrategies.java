@@ -0,0 +1,135 @@
+package Design.simulation;
+
+import Design.content.ContentCatalog;
+import Design.journal.ActionType;
+import Design.model.BuildingType;
+import Design.model.GameState;
+import Design.model.ResourceType;
+
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 内置的玩家策略，用于数值平衡模拟
+ * 所有策略都在温度偏低时优先添柴，在陷阱可查看时查看陷阱，建造成本取自本局的内容目录
+ */
+public enum PlayerStrategies implements PlayerStrategy {
+    /**
+     * 先攒木头建小屋，再建货车
+     */
+    HUT_FIRST {
+        @Override
+        ActionType build(GameState state, Set<ActionType> available, ContentCatalog content) {
+            if (state.getBuilding(BuildingType.HUT) == 0) {
+                return affordable(state, content, ActionType.BUILD_HUT);
+            }
+            if (state.getBuilding(BuildingType.CART) == 0) {
+                return affordable(state, content, ActionType.BUILD_CART);
+            }
+            return affordable(state, content, ActionType.BUILD_HUT);
+        }
+    },
+
+    /**
+     * 先建货车提高伐木效率，再建小屋
+     */
+    CART_FIRST {
+        @Override
+        ActionType build(GameState state, Set<ActionType> available, ContentCatalog content) {
+            if (state.getBuilding(BuildingType.CART) == 0) {
+                return affordable(state, content, ActionType.BUILD_CART);
+            }
+            return affordable(state, content, ActionType.BUILD_HUT);
+        }
+    },
+
+    /**
+     * 先建若干陷阱，再建货车和小屋
+     */
+    TRAPPER {
+        private static final int TARGET_TRAPS = 5;
+
+        @Override
+        ActionType build(GameState state, Set<ActionType> available, ContentCatalog content) {
+            if (state.getBuilding(BuildingType.TRAP) < TARGET_TRAPS) {
+                return affordable(state, content, ActionType.BUILD_TRAP);
+            }
+            if (state.getBuilding(BuildingType.CART) == 0) {
+                return affordable(state, content, ActionType.BUILD_CART);
+            }
+            return affordable(state, content, ActionType.BUILD_HUT);
+        }
+    },
+
+    /**
+     * 每次随机选择一个可以执行的操作，作为对照
+     */
+    RANDOM {
+        @Override
+        public ActionType decide(GameState state, Set<ActionType> available, ContentCatalog content, Random random) {
+            if (available.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(available.size());
+            for (ActionType action : available) {
+                if (index-- == 0) {
+                    return action;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        ActionType build(GameState state, Set<ActionType> available, ContentCatalog content) {
+            return null;
+        }
+    };
+
+    // 温度低于此值时添柴
+    private static final int FUEL_BELOW_HEAT = 2;
+
+    @Override
+    public ActionType decide(GameState state, Set<ActionType> available, ContentCatalog content, Random random) {
+        if (available.contains(ActionType.ADD_FUEL)
+                && (!available.contains(ActionType.CHOP_WOOD) || state.getRoomHeat() < FUEL_BELOW_HEAT)) {
+            // 第一阶段只能添柴；第二阶段添柴要消耗木头，只在温度偏低时添柴
+            if (!available.contains(ActionType.CHOP_WOOD) || state.getResource(ResourceType.WOOD) > 0) {
+                return ActionType.ADD_FUEL;
+            }
+        }
+        if (available.contains(ActionType.CHECK_TRAPS)) {
+            return ActionType.CHECK_TRAPS;
+        }
+        ActionType build = build(state, available, content);
+        if (build != null) {
+            return build;
+        }
+        return available.contains(ActionType.CHOP_WOOD) ? ActionType.CHOP_WOOD : null;
+    }
+
+    /**
+     * 按策略选择要建造的建筑
+     * @param state 当前游戏状态
+     * @param available 当前可以执行的操作
+     * @param content 内容目录
+     * @return 建造操作，资源不足或不需要建造时返回null
+     */
+    abstract ActionType build(GameState state, Set<ActionType> available, ContentCatalog content);
+
+    /**
+     * 资源足够时返回建造操作
+     * @param state 当前游戏状态
+     * @param content 内容目录
+     * @param action 建造操作
+     * @return 建造操作，资源不足时返回null
+     */
+    static ActionType affordable(GameState state, ContentCatalog content, ActionType action) {
+        BuildingType building = action.getBuilding();
+        for (ResourceType resource : ResourceType.values()) {
+            if (state.getResource(resource) < content.getCost(building, resource)) {
+                return null;
+            }
+        }
+        return action;
+    }
+}
@@ -0,0 +1,25 @@
+package Design.simulation;
+
+import Design.content.ContentCatalog;
+import Design.journal.ActionType;
+import Design.model.GameState;
+
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 玩家策略接口，模拟玩家在每个决策时刻选择一个操作
+ * 同一个策略对象会被多个模拟线程同时使用，实现不能保存可变状态
+ */
+public interface PlayerStrategy {
+
+    /**
+     * 选择下一个操作
+     * @param state 当前游戏状态
+     * @param available 当前可以执行的操作（已解锁且不在冷却中）
+     * @param content 本局使用的内容目录（建造成本等）
+     * @param random 本局玩家的随机数生成器
+     * @return 要执行的操作，返回null表示本次不操作
+     */
+    ActionType decide(GameState state, Set<ActionType> available, ContentCatalog content, Random random);
+}
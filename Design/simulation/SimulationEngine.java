@@ -0,0 +1,163 @@
+package Design.simulation;
+
+import Design.clock.GameClock;
+import Design.content.ContentCatalog;
+import Design.controller.GameController;
+import Design.event.EventManager;
+import Design.model.GameModel;
+
+import java.util.Random;
+
+/**
+ * 无界面模拟引擎类，组装模型、事件管理器和控制器，用虚拟时钟驱动游戏逻辑
+ * 不依赖Swing，可以在没有显示器的环境中运行，并按任意速度确定性地推进游戏时间
+ */
+public class SimulationEngine {
+    private final GameModel model;
+    private final EventManager eventManager;
+    private final GameClock clock;
+    private final GameController controller;
+    private final long seed;
+
+    /**
+     * 构造函数
+     * @param seed 随机数种子，相同的种子和操作序列得到相同的游戏过程
+     */
+    public SimulationEngine(long seed) {
+        this(seed, ContentCatalog.getDefault());
+    }
+
+    /**
+     * 构造函数
+     * @param seed 随机数种子，相同的种子和操作序列得到相同的游戏过程
+     * @param content 内容目录，可以传入调整过数值的目录进行平衡模拟
+     */
+    public SimulationEngine(long seed, ContentCatalog content) {
+        this(seed, content, 0);
+    }
+
+    /**
+     * 构造函数
+     * @param seed 随机数种子，相同的种子和操作序列得到相同的游戏过程
+     * @param content 内容目录
+     * @param startTime 起始游戏时间（毫秒），回放从中途开始记录的日志时与日志的起始时间一致
+     */
+    public SimulationEngine(long seed, ContentCatalog content, long startTime) {
+        this.seed = seed;
+        this.model = new GameModel();
+        this.eventManager = new EventManager();
+        this.clock = new GameClock(startTime);
+        this.controller = new GameController(model, eventManager, clock, new Random(seed), content);
+    }
+
+    /**
+     * 推进指定的游戏时间，期间到期的事件按顺序触发
+     * @param millis 推进的时间（毫秒）
+     */
+    public void step(long millis) {
+        clock.advance(millis);
+    }
+
+    /**
+     * 快进指定的游戏时间，周期性事件的多次触发合并计算，结果与step相同
+     * @param millis 快进的时间（毫秒）
+     * @return 合并计算的触发次数
+     */
+    public long fastForward(long millis) {
+        return clock.fastForward(millis);
+    }
+
+    /**
+     * 推进到指定的游戏时间
+     * @param gameTime 目标游戏时间（毫秒）
+     */
+    public void runUntil(long gameTime) {
+        if (gameTime > clock.getCurrentTime()) {
+            clock.advance(gameTime - clock.getCurrentTime());
+        }
+    }
+
+    /**
+     * 直接跳到下一个计划事件并触发它
+     * @return 是否还有计划事件
+     */
+    public boolean stepToNextEvent() {
+        long nextDueTime = clock.getNextDueTime();
+        if (nextDueTime < 0) {
+            return false;
+        }
+        runUntil(nextDueTime);
+        return true;
+    }
+
+    /**
+     * 获取当前游戏时间
+     * @return 当前游戏时间（毫秒）
+     */
+    public long getGameTime() {
+        return clock.getCurrentTime();
+    }
+
+    /**
+     * 获取随机数种子
+     * @return 随机数种子
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * 获取游戏模型
+     * @return 游戏模型
+     */
+    public GameModel getModel() {
+        return model;
+    }
+
+    /**
+     * 获取事件管理器
+     * @return 事件管理器
+     */
+    public EventManager getEventManager() {
+        return eventManager;
+    }
+
+    /**
+     * 获取游戏时钟
+     * @return 游戏时钟
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * 获取游戏控制器
+     * @return 游戏控制器
+     */
+    public GameController getController() {
+        return controller;
+    }
+
+    /**
+     * 命令行入口：添柴一次后推进指定的游戏分钟数，并打印消息和最终状态
+     * 用法：java -cp out Design.simulation.SimulationEngine [分钟数] [种子]
+     */
+    public static void main(String[] args) {
+        long minutes = args.length > 0 ? Long.parseLong(args[0]) : 10;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0L;
+
+        SimulationEngine engine = new SimulationEngine(seed);
+        engine.getEventManager().addMessageListener(message ->
+                System.out.printf("[%8.1fs] %s%n", engine.getGameTime() / 1000.0, message));
+
+        long start = System.nanoTime();
+        engine.getController().addFuel();
+        engine.step(minutes * 60_000L);
+        long elapsedMicros = (System.nanoTime() - start) / 1000;
+
+        System.out.println("资源: " + engine.getModel().getResources());
+        System.out.println("建筑: " + engine.getModel().getBuildings());
+        System.out.println("房间温度: " + engine.getModel().getRoomHeat());
+        System.out.printf("模拟 %d 游戏分钟，用时 %d 微秒%n", minutes, elapsedMicros);
+    }
+}
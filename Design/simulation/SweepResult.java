@@ -0,0 +1,104 @@
+package Design.simulation;
+
+import java.util.Arrays;
+
+/**
+ * 平衡模拟结果类，保存每局到达各个里程碑的游戏时间并计算分布
+ */
+public class SweepResult {
+    public static final long NOT_REACHED = -1;
+
+    private final String strategyName;
+    private final int runs;
+    private final long horizonMillis;
+    private final long elapsedNanos;
+    private final long[][] sortedTimes; // 按里程碑分组，只包含到达的局，已排序
+
+    /**
+     * 构造函数
+     * @param strategyName 策略名称
+     * @param times 每个里程碑每局的到达时间（毫秒），未到达为NOT_REACHED
+     * @param horizonMillis 每局模拟的游戏时间上限（毫秒）
+     * @param elapsedNanos 模拟用时（纳秒）
+     */
+    SweepResult(String strategyName, long[][] times, long horizonMillis, long elapsedNanos) {
+        this.strategyName = strategyName;
+        this.runs = times[0].length;
+        this.horizonMillis = horizonMillis;
+        this.elapsedNanos = elapsedNanos;
+        this.sortedTimes = new long[Milestone.COUNT][];
+        for (Milestone milestone : Milestone.values()) {
+            long[] reached = Arrays.stream(times[milestone.ordinal()]).filter(t -> t != NOT_REACHED).toArray();
+            Arrays.sort(reached);
+            sortedTimes[milestone.ordinal()] = reached;
+        }
+    }
+
+    /**
+     * 获取策略名称
+     * @return 策略名称
+     */
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    /**
+     * 获取模拟局数
+     * @return 局数
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * 获取模拟用时
+     * @return 用时（纳秒）
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * 获取到达里程碑的局数
+     * @param milestone 里程碑
+     * @return 局数
+     */
+    public int getReachedCount(Milestone milestone) {
+        return sortedTimes[milestone.ordinal()].length;
+    }
+
+    /**
+     * 获取到达里程碑时间的百分位数（只统计到达的局，最近秩法）
+     * @param milestone 里程碑
+     * @param percentile 百分位（0到100）
+     * @return 游戏时间（毫秒），没有一局到达时返回NOT_REACHED
+     */
+    public long getPercentile(Milestone milestone, double percentile) {
+        long[] times = sortedTimes[milestone.ordinal()];
+        if (times.length == 0) {
+            return NOT_REACHED;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * times.length);
+        return times[Math.max(0, Math.min(times.length - 1, rank - 1))];
+    }
+
+    /**
+     * 格式化为表格，时间以游戏秒显示
+     * @return 表格文本
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("策略 %s：%d 局，每局最多 %d 游戏分钟，用时 %.1f 毫秒%n",
+                strategyName, runs, horizonMillis / 60_000, elapsedNanos / 1e6));
+        builder.append(String.format("  %-10s %8s %8s %8s %8s %8s %8s%n", "里程碑", "到达率", "p10", "p50", "p90", "p99", "最大"));
+        for (Milestone milestone : Milestone.values()) {
+            builder.append(String.format("  %-10s %7.1f%%", milestone.getDisplayName(), 100.0 * getReachedCount(milestone) / runs));
+            for (double percentile : new double[]{10, 50, 90, 99, 100}) {
+                long time = getPercentile(milestone, percentile);
+                builder.append(time == NOT_REACHED ? String.format(" %8s", "-") : String.format(" %7.0fs", time / 1000.0));
+            }
+            builder.append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+}
@@ -2,20 +2,25 @@ package Design.view;
 
 import Design.GameConstants;
 import Design.HoverInfoButton;
+import Design.content.ContentCatalog;
 import Design.controller.GameController;
-import Design.event.EventManager;
+import Design.event.GameEvents.BuildingChangedEvent;
+import Design.event.GameEvents.Delta;
+import Design.model.BuildingType;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
  * 建筑面板类，用于显示和管理游戏中的建筑选项
+ * 按内容目录为每种建筑生成一个按钮，达到数量上限的建筑不再显示
  */
 public class BuildingPanel {
     private JPanel panel;
     private GameController controller;
-    private JPanel cartPanel; // 保存货车按钮面板的引用
+    private final Map<BuildingType, JPanel> optionPanels = new EnumMap<>(BuildingType.class); // 各建筑按钮面板的引用
         
     /**
      * 构造函数
@@ -34,7 +39,7 @@ public class BuildingPanel {
         controller.getEventManager().addGamePhaseChangeListener(this::onGamePhaseChanged);
         
         // 监听建筑变化事件
-        controller.getEventManager().addBuildingChangeListener(this::onBuildingChanged);
+        controller.getEventManager().addBuildingDeltaListener(this::onBuildingChanged);
     }
     
     /**
@@ -63,31 +68,20 @@ public class BuildingPanel {
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setBorder(BorderFactory.createTitledBorder(GameConstants.UI.BUILDING_TITLE));
         
-        // 创建小屋按钮及其信息标签的面板
-        JPanel hutPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        HoverInfoButton hutButton = new HoverInfoButton(GameConstants.Buildings.HUT, GameConstants.Resources.WOOD + "-" + GameConstants.BuildingCosts.HUT_COST);
-        hutPanel.add(hutButton);
-        hutPanel.add(hutButton.getInfoLabel());
-        panel.add(hutPanel);
-        
-        // 创建陷阱按钮及其信息标签的面板
-        JPanel trapPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        HoverInfoButton trapButton = new HoverInfoButton(GameConstants.Buildings.TRAP, GameConstants.Resources.WOOD + "-" + GameConstants.BuildingCosts.TRAP_COST);
-        trapPanel.add(trapButton);
-        trapPanel.add(trapButton.getInfoLabel());
-        panel.add(trapPanel);
-        
-        // 创建货车按钮及其信息标签的面板
-        cartPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        HoverInfoButton cartButton = new HoverInfoButton(GameConstants.Buildings.CART, GameConstants.Resources.WOOD + "-" + GameConstants.BuildingCosts.CART_COST);
-        cartPanel.add(cartButton);
-        cartPanel.add(cartButton.getInfoLabel());
-        panel.add(cartPanel);
-        
-        // 为建筑按钮添加动作监听器
-        hutButton.addActionListener(e -> controller.buildHut());
-        trapButton.addActionListener(e -> controller.buildTrap());
-        cartButton.addActionListener(e -> controller.buildCart());
+        // 为每种建筑创建按钮及其信息标签的面板，已达到数量上限的建筑不显示
+        ContentCatalog content = controller.getContent();
+        for (BuildingType type : BuildingType.values()) {
+            if (content.isAtLimit(type, controller.getModel().getBuilding(type))) {
+                continue;
+            }
+            JPanel optionPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+            HoverInfoButton button = new HoverInfoButton(type.getDisplayName(), content.formatCost(type));
+            button.addActionListener(e -> controller.build(type));
+            optionPanel.add(button);
+            optionPanel.add(button.getInfoLabel());
+            panel.add(optionPanel);
+            optionPanels.put(type, optionPanel);
+        }
         
         panel.revalidate();
         panel.repaint();
@@ -95,13 +89,30 @@ public class BuildingPanel {
     
     /**
      * 建筑变化处理
-     * @param buildings 建筑数量映射
+     * @param event 建筑变化事件
      */
-    private void onBuildingChanged(Map<String, Integer> buildings) {
-        // 检查是否有货车，如果有则移除货车按钮
-        if (buildings.containsKey(GameConstants.Buildings.CART) && buildings.get(GameConstants.Buildings.CART) > 0 && cartPanel != null) {
-            panel.remove(cartPanel);
-            cartPanel = null;
+    private void onBuildingChanged(BuildingChangedEvent event) {
+        // 移除已达到数量上限的建筑按钮（例如货车只能建造一辆）
+        ContentCatalog content = controller.getContent();
+        boolean removed = false;
+        for (BuildingType type : BuildingType.values()) {
+            JPanel optionPanel = optionPanels.get(type);
+            if (optionPanel == null || content.getLimit(type) == 0) {
+                continue;
+            }
+            if (!event.isFullRefresh()) {
+                Delta delta = event.getDelta(type.getDisplayName());
+                if (delta == null || !content.isAtLimit(type, delta.getNewValue())) {
+                    continue;
+                }
+            } else if (!content.isAtLimit(type, event.getBuildings().getOrDefault(type.getDisplayName(), 0))) {
+                continue;
+            }
+            panel.remove(optionPanel);
+            optionPanels.remove(type);
+            removed = true;
+        }
+        if (removed) {
             panel.revalidate();
             panel.repaint();
         }
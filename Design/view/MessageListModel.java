@@ -0,0 +1,75 @@
+package Design.view;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * 消息列表模型类，用固定容量的环形缓冲区保存消息
+ * 下标0为最新的消息；缓冲区满时最旧的消息被覆盖，过期的消息从尾部批量移除
+ */
+class MessageListModel extends AbstractListModel<String> {
+    private final String[] messages;
+    private final long[] expireTimes; // 过期时间（游戏时间，毫秒）
+    private int newest = -1; // 最新消息在缓冲区中的位置
+    private int size = 0;
+    
+    /**
+     * 构造函数
+     * @param capacity 容量
+     */
+    MessageListModel(int capacity) {
+        this.messages = new String[capacity];
+        this.expireTimes = new long[capacity];
+    }
+    
+    /**
+     * 添加消息到顶部
+     * @param message 消息内容
+     * @param expireTime 过期时间
+     */
+    void add(String message, long expireTime) {
+        if (size == messages.length) {
+            // 缓冲区已满，丢弃最旧的消息
+            size--;
+            fireIntervalRemoved(this, size, size);
+        }
+        newest = (newest + 1) % messages.length;
+        messages[newest] = message;
+        expireTimes[newest] = expireTime;
+        size++;
+        fireIntervalAdded(this, 0, 0);
+    }
+    
+    /**
+     * 移除所有已过期的消息
+     * 消息按时间顺序加入且显示时长相同，因此过期的消息总是位于尾部
+     * @param now 当前游戏时间
+     */
+    void removeExpired(long now) {
+        int oldSize = size;
+        while (size > 0 && expireTimes[slot(size - 1)] <= now) {
+            messages[slot(size - 1)] = null;
+            size--;
+        }
+        if (size < oldSize) {
+            fireIntervalRemoved(this, size, oldSize - 1);
+        }
+    }
+    
+    /**
+     * 将列表下标转换为缓冲区位置
+     */
+    private int slot(int index) {
+        int position = newest - index;
+        return position < 0 ? position + messages.length : position;
+    }
+    
+    @Override
+    public int getSize() {
+        return size;
+    }
+    
+    @Override
+    public String getElementAt(int index) {
+        return messages[slot(index)];
+    }
+}
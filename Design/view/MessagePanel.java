@@ -1,51 +1,59 @@
 package Design.view;
 
 import Design.GameConstants;
-import Design.controller.GameController;
+import Design.clock.GameClock;
+import Design.event.EventManager;
 
 import javax.swing.*;
 import java.awt.*;
 
 /**
  * 消息面板类，负责显示游戏消息
+ * 消息保存在固定容量的环形缓冲区中，通过列表只绘制可见的消息，过期消息由一个周期事件统一清理
  */
 public class MessagePanel {
+    private static final String EVENT_MESSAGE_SWEEP = "message.sweep";
+    
     private JPanel panel;
-    private GameController controller;
+    private GameClock clock;
+    private MessageListModel messages;
     
     /**
-     * 构造函数
+     * 构造函数，在控制器之前创建，确保能接收到初始消息
+     * @param eventManager 事件管理器
+     * @param clock 游戏时钟，用于计算消息的过期时间
      */
-    public MessagePanel(GameController controller) {
-        this.controller = controller;
+    public MessagePanel(EventManager eventManager, GameClock clock) {
+        this.clock = clock;
+        
+        // 初始化消息列表
+        messages = new MessageListModel(GameConstants.UI.MESSAGE_LOG_CAPACITY);
+        JList<String> messageList = new JList<>(messages);
+        messageList.setBackground(Color.WHITE);
+        messageList.setFocusable(false);
+        messageList.setCellRenderer(new MessageCellRenderer());
+        messageList.setFixedCellHeight(new JLabel(" ").getPreferredSize().height);
         
         // 初始化面板
-        panel = new JPanel();
+        panel = new JPanel(new BorderLayout());
         panel.setBackground(Color.WHITE);
-        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.add(messageList, BorderLayout.NORTH);
         
         // 注册消息监听器
-        controller.getEventManager().addMessageListener(this::addMessage);
+        eventManager.addMessageListener(this::addMessage);
+        
+        // 定期清理过期消息
+        clock.scheduleAtFixedRate(EVENT_MESSAGE_SWEEP, GameConstants.Timers.MESSAGE_SWEEP_INTERVAL,
+                GameConstants.Timers.MESSAGE_SWEEP_INTERVAL, () -> messages.removeExpired(clock.getCurrentTime()))
+                .setCatchUp(firings -> messages.removeExpired(clock.getCurrentTime()));
     }
     
     /**
      * 添加消息
      */
     public void addMessage(String message) {
-        JLabel messageLabel = new JLabel(message);
-        messageLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        panel.add(messageLabel, 0); // 添加到顶部
-        panel.revalidate();
-        panel.repaint();
-        
-        // 75秒后移除消息
-        Timer timer = new Timer(GameConstants.Timers.MESSAGE_DISPLAY_TIME, e -> {
-            panel.remove(messageLabel);
-            panel.revalidate();
-            panel.repaint();
-        });
-        timer.setRepeats(false);
-        timer.start();
+        // 75秒后过期
+        messages.add(message, clock.getCurrentTime() + GameConstants.Timers.MESSAGE_DISPLAY_TIME);
     }
     
     /**
@@ -54,4 +62,18 @@ public class MessagePanel {
     public JPanel getPanel() {
         return panel;
     }
-}
\ No newline at end of file
+    
+    /**
+     * 消息渲染器，不显示选中和焦点状态
+     */
+    private static class MessageCellRenderer extends DefaultListCellRenderer {
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(list, value, index, false, false);
+            setBackground(Color.WHITE);
+            setForeground(Color.BLACK);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package Design.view;
+
+import Design.metrics.MetricSummary;
+import Design.metrics.Metrics;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 运行统计浮层，按F3在窗口右上角显示或隐藏各项耗时和计数
+ * 浮层放在窗口的层面板上，背景半透明且不处理鼠标事件，不影响下面的按钮；
+ * 只在显示时每500毫秒刷新一次，隐藏时不占用事件分发线程
+ *
+ * 同时替换RepaintManager以统计每次界面重绘的耗时，只在启用统计（-Ddarkroom.metrics=true）时安装
+ */
+public class MetricsOverlay extends JComponent {
+    private static final int REFRESH_INTERVAL = 500; // 显示时的刷新间隔（毫秒）
+    private static final int PADDING = 8;
+    private static final String TOGGLE_ACTION = "metrics.toggle";
+
+    private final Timer refreshTimer;
+    private String[] lines = new String[0];
+
+    /**
+     * 构造函数
+     */
+    private MetricsOverlay() {
+        setOpaque(false);
+        setVisible(false);
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        refreshTimer = new Timer(REFRESH_INTERVAL, e -> refresh());
+    }
+
+    /**
+     * 在窗口上安装统计浮层和重绘计时，未启用统计时不做任何事
+     * @param frame 游戏窗口
+     */
+    public static void install(JFrame frame) {
+        if (!Metrics.ENABLED) {
+            return;
+        }
+        RepaintManager.setCurrentManager(new TimedRepaintManager());
+
+        MetricsOverlay overlay = new MetricsOverlay();
+        JLayeredPane layeredPane = frame.getLayeredPane();
+        layeredPane.add(overlay, JLayeredPane.PALETTE_LAYER);
+
+        // 窗口任意组件有焦点时都能用F3切换
+        JRootPane rootPane = frame.getRootPane();
+        rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                .put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), TOGGLE_ACTION);
+        rootPane.getActionMap().put(TOGGLE_ACTION, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                overlay.toggle(layeredPane);
+            }
+        });
+    }
+
+    /**
+     * 切换显示状态
+     * @param layeredPane 浮层所在的层面板
+     */
+    private void toggle(JLayeredPane layeredPane) {
+        if (isVisible()) {
+            refreshTimer.stop();
+            setVisible(false);
+        } else {
+            refresh();
+            reposition(layeredPane);
+            setVisible(true);
+            refreshTimer.start();
+        }
+    }
+
+    /**
+     * 重新读取统计数据并重绘
+     */
+    private void refresh() {
+        List<MetricSummary> summaries = Metrics.summaries();
+        Map<String, Long> counters = Metrics.counters();
+        String[] next = new String[summaries.size() + counters.size()];
+        int i = 0;
+        for (MetricSummary summary : summaries) {
+            next[i++] = summary.format();
+        }
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            next[i++] = String.format("%-24s %d", entry.getKey(), entry.getValue());
+        }
+        lines = next;
+        if (getParent() instanceof JLayeredPane) {
+            reposition((JLayeredPane) getParent());
+        }
+        repaint();
+    }
+
+    /**
+     * 按内容大小放到层面板的右上角
+     */
+    private void reposition(JLayeredPane layeredPane) {
+        FontMetrics metrics = getFontMetrics(getFont());
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, metrics.stringWidth(line));
+        }
+        width += PADDING * 2;
+        int height = Math.max(1, lines.length) * metrics.getHeight() + PADDING * 2;
+        setBounds(layeredPane.getWidth() - width - PADDING, PADDING, width, height);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setColor(new Color(0, 0, 0, 170));
+        g2.fillRect(0, 0, getWidth(), getHeight());
+        g2.setColor(Color.WHITE);
+        g2.setFont(getFont());
+        FontMetrics metrics = g2.getFontMetrics();
+        int y = PADDING + metrics.getAscent();
+        for (String line : lines) {
+            g2.drawString(line, PADDING, y);
+            y += metrics.getHeight();
+        }
+        g2.dispose();
+    }
+
+    /**
+     * 统计每次重绘耗时的RepaintManager
+     */
+    private static final class TimedRepaintManager extends RepaintManager {
+        @Override
+        public void paintDirtyRegions() {
+            long start = Metrics.start();
+            super.paintDirtyRegions();
+            Metrics.EDT_PAINT.record(start);
+        }
+    }
+}
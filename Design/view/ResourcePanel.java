@@ -3,11 +3,20 @@ package Design.view;
 import Design.GameConstants;
 import Design.controller.GameController;
 import Design.event.EventManager;
+import Design.event.GameEvents;
+import Design.event.GameEvents.BuildingChangedEvent;
+import Design.event.GameEvents.Delta;
+import Design.event.GameEvents.PopulationChangedEvent;
+import Design.event.GameEvents.ResourceChangedEvent;
+import Design.metrics.Metrics;
+import Design.model.GameState;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * 资源面板类，用于显示游戏中的资源信息和建筑数量
@@ -16,8 +25,24 @@ public class ResourcePanel {
     private JPanel panel;
     private JPanel resourcesPanel; // 资源子面板
     private JPanel buildingsPanel; // 建筑子面板
+    private JLabel noBuildingsLabel; // 暂无建筑提示标签
     private GameController controller;
     
+    // 当前显示的标签和数值，按名称索引
+    private final Map<String, JLabel> resourceLabels = new HashMap<>();
+    private final Map<String, Integer> resourceValues = new HashMap<>();
+    private final Map<String, JLabel> buildingLabels = new HashMap<>();
+    private final Map<String, Integer> buildingValues = new HashMap<>();
+    
+    // 最近一次全量同步对应的模型版本号，更旧的全量刷新事件直接丢弃
+    private long resourceVersion = -1;
+    private long buildingVersion = -1;
+    
+    // 最近一次人口变化事件中的人数和容量，建筑子面板显示为村落后用于标题
+    private boolean village = false;
+    private int population = 0;
+    private int populationCapacity = 0;
+    
     /**
      * 构造函数
      * @param controller 游戏控制器
@@ -45,19 +70,31 @@ public class ResourcePanel {
         buildingsPanel.setLayout(new BoxLayout(buildingsPanel, BoxLayout.Y_AXIS));
         buildingsPanel.setBorder(BorderFactory.createTitledBorder(GameConstants.UI.BUILDING_TITLE));
         
+        // 固定的占位标签，始终位于子面板末尾
+        // 因为资源占位太少，导致子面板显示不全，故添加一个空的标签来占位
+        resourcesPanel.add(createPaddingLabel());
+        noBuildingsLabel = new JLabel(GameConstants.UI.NO_BUILDINGS);
+        noBuildingsLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        buildingsPanel.add(noBuildingsLabel);
+        buildingsPanel.add(createPaddingLabel());
+        
         // 添加子面板到主面板
         panel.add(resourcesPanel);
         panel.add(Box.createRigidArea(new Dimension(0, 10))); // 添加间距
         panel.add(buildingsPanel);
         
-        // 监听资源变化事件
-        controller.getEventManager().addResourceChangeListener(this::updateResources);
+        // 监听资源和建筑的增量变化事件
+        controller.getEventManager().addResourceDeltaListener(this::onResourcesChanged);
+        controller.getEventManager().addBuildingDeltaListener(this::onBuildingsChanged);
         
         // 监听游戏阶段变化事件
         controller.getEventManager().addGamePhaseChangeListener(this::onGamePhaseChanged);
         
         // 监听场景名称变化事件
         controller.getEventManager().addSceneNameChangeListener(this::onSceneNameChanged);
+        
+        // 监听人口变化事件
+        controller.getEventManager().addPopulationChangeListener(this::onPopulationChanged);
     }
     
     /**
@@ -68,40 +105,92 @@ public class ResourcePanel {
         return panel;
     }
     
+    /**
+     * 资源变化处理
+     * 只更新事件中变化的条目；全量刷新或出现新的资源种类时才完整同步
+     * 只有全量刷新按版本号丢弃：不同线程发布的变化事件版本号可能相同或颠倒，
+     * 而每个条目只由包含它的事件更新，丢弃后该条目会一直显示旧值；变化条目的数值从实时映射读取，晚到的事件也不会显示旧值
+     * @param event 资源变化事件
+     */
+    private void onResourcesChanged(ResourceChangedEvent event) {
+        if (event.isFullRefresh()) {
+            if (!event.isNewerThan(resourceVersion)) {
+                return;
+            }
+            if (event.getVersion() != GameEvents.UNVERSIONED) {
+                resourceVersion = event.getVersion();
+            }
+        }
+        long start = Metrics.start();
+        if (event.isFullRefresh() || !applyDeltas(resourceLabels, resourceValues, event.getDeltas(), event.getResources())) {
+            updateResources(event.getResources());
+        }
+        Metrics.RESOURCE_PANEL.record(start);
+    }
+    
+    /**
+     * 建筑变化处理，与资源变化相同，只有全量刷新按版本号丢弃
+     * @param event 建筑变化事件
+     */
+    private void onBuildingsChanged(BuildingChangedEvent event) {
+        if (event.isFullRefresh()) {
+            if (!event.isNewerThan(buildingVersion)) {
+                return;
+            }
+            if (event.getVersion() != GameEvents.UNVERSIONED) {
+                buildingVersion = event.getVersion();
+            }
+        }
+        long start = Metrics.start();
+        if (event.isFullRefresh() || !applyDeltas(buildingLabels, buildingValues, event.getDeltas(), event.getBuildings())) {
+            updateBuildings(event.getBuildings());
+        }
+        Metrics.RESOURCE_PANEL.record(start);
+    }
+    
+    /**
+     * 将变化条目应用到已有的标签上
+     * 数值从实时映射中读取，其他线程发布的事件顺序颠倒时显示的仍是最新数值
+     * @param labels 当前显示的标签
+     * @param shownValues 当前显示的数值
+     * @param deltas 变化条目
+     * @param values 实时数值映射
+     * @return 是否全部应用成功，出现尚未显示的条目时返回false，需要完整同步
+     */
+    private boolean applyDeltas(Map<String, JLabel> labels, Map<String, Integer> shownValues, List<Delta> deltas,
+                                Map<String, Integer> values) {
+        for (Delta delta : deltas) {
+            String name = delta.getKey();
+            JLabel label = labels.get(name);
+            if (label == null) {
+                return false;
+            }
+            Integer value = values.get(name);
+            if (value == null) {
+                return false;
+            }
+            if (!value.equals(shownValues.get(name))) {
+                label.setText(name + ": " + value);
+                shownValues.put(name, value);
+            }
+        }
+        return true;
+    }
+    
     /**
      * 更新资源显示
+     * 每种资源保持一个固定的标签，只更新数值变化的标签文本；只有资源种类变化时才增删标签并重新布局
      * @param resources 资源映射
      */
     private void updateResources(Map<String, Integer> resources) {
-        resourcesPanel.removeAll();//先清除整个仓库面板
-        
-        // 获取建筑数量
-        Map<String, Integer> buildings = controller.getModel().getBuildings();
-        
         // 更新资源显示（排除建筑）
-        for (Map.Entry<String, Integer> entry : resources.entrySet()) {
-            String resourceName = entry.getKey();
-            // 跳过建筑类型的资源
-            if (!isBuilding(resourceName)) {
-                JLabel resourceLabel = new JLabel(resourceName + ": " + entry.getValue());
-                resourceLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-                resourcesPanel.add(resourceLabel);
-            }
-        }
-        
-        // 更新建筑显示
-        updateBuildings(buildings);
+        boolean structureChanged = syncLabels(resourcesPanel, resourceLabels, resourceValues, resources, true);
         
-        // 这三行是因为资源占位太少，导致子面板显示不全，故添加一个空的标签来占位
-        JLabel specialResourceLabel = new JLabel("                              ");
-        specialResourceLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        resourcesPanel.add(specialResourceLabel);
-
-        // 刷新面板
-        resourcesPanel.revalidate();
-        resourcesPanel.repaint();
-        panel.revalidate();
-        panel.repaint();
+        // 只有标签增删时才需要重新布局
+        if (structureChanged) {
+            resourcesPanel.revalidate();
+            resourcesPanel.repaint();
+        }
     }
     
     /**
@@ -109,29 +198,84 @@ public class ResourcePanel {
      * @param buildings 建筑映射
      */
     private void updateBuildings(Map<String, Integer> buildings) {
-        buildingsPanel.removeAll();
+        boolean structureChanged = syncLabels(buildingsPanel, buildingLabels, buildingValues, buildings, false);
+        
+        // 没有建筑时显示提示标签
+        boolean showNoBuildings = buildingLabels.isEmpty();
+        if (noBuildingsLabel.isVisible() != showNoBuildings) {
+            noBuildingsLabel.setVisible(showNoBuildings);
+            structureChanged = true;
+        }
+        
+        if (structureChanged) {
+            buildingsPanel.revalidate();
+            buildingsPanel.repaint();
+        }
+    }
+    
+    /**
+     * 将映射中的条目同步到子面板的标签上
+     * @param target 子面板
+     * @param labels 当前显示的标签
+     * @param shownValues 当前显示的数值
+     * @param values 最新的数值映射
+     * @param skipBuildings 是否跳过建筑类型的条目
+     * @return 是否增删了标签
+     */
+    private boolean syncLabels(JPanel target, Map<String, JLabel> labels, Map<String, Integer> shownValues,
+                               Map<String, Integer> values, boolean skipBuildings) {
+        boolean structureChanged = false;
+        int position = 0;
         
-        // 添加建筑数量标签
-        if (buildings != null && !buildings.isEmpty()) {
-            for (Map.Entry<String, Integer> entry : buildings.entrySet()) {
-                JLabel buildingLabel = new JLabel(entry.getKey() + ": " + entry.getValue());
-                buildingLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-                buildingsPanel.add(buildingLabel);
+        if (values != null) {
+            for (Map.Entry<String, Integer> entry : values.entrySet()) {
+                String name = entry.getKey();
+                // 跳过建筑类型的资源
+                if (skipBuildings && isBuilding(name)) {
+                    continue;
+                }
+                Integer value = entry.getValue();
+                JLabel label = labels.get(name);
+                if (label == null) {
+                    label = new JLabel(name + ": " + value);
+                    label.setAlignmentX(Component.LEFT_ALIGNMENT);
+                    target.add(label, position);
+                    labels.put(name, label);
+                    shownValues.put(name, value);
+                    structureChanged = true;
+                } else if (!value.equals(shownValues.get(name))) {
+                    label.setText(name + ": " + value);
+                    shownValues.put(name, value);
+                }
+                position++;
             }
-        } else {
-            JLabel noBuildingsLabel = new JLabel(GameConstants.UI.NO_BUILDINGS);
-            noBuildingsLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-            buildingsPanel.add(noBuildingsLabel);
         }
         
-        // 这三行是因为资源太少，导致子面板显示不全，故添加一个空的标签来占位
-        JLabel specialBuildingLabel = new JLabel("                              ");
-        specialBuildingLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        buildingsPanel.add(specialBuildingLabel);
-
-        // 刷新面板
-        buildingsPanel.revalidate();
-        buildingsPanel.repaint();
+        // 移除已经不存在的条目
+        if (labels.size() > position) {
+            Iterator<Map.Entry<String, JLabel>> iterator = labels.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, JLabel> entry = iterator.next();
+                if (values == null || !values.containsKey(entry.getKey())) {
+                    target.remove(entry.getValue());
+                    shownValues.remove(entry.getKey());
+                    iterator.remove();
+                    structureChanged = true;
+                }
+            }
+        }
+        
+        return structureChanged;
+    }
+    
+    /**
+     * 创建占位标签
+     * @return 占位标签
+     */
+    private JLabel createPaddingLabel() {
+        JLabel paddingLabel = new JLabel("                              ");
+        paddingLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        return paddingLabel;
     }
     
     /**
@@ -155,11 +299,12 @@ public class ResourcePanel {
             // 显示面板
             panel.setVisible(true);
             
-            // 初始化建筑面板
-            updateBuildings(controller.getModel().getBuildings());
-            
-            // 初始化资源面板
-            updateResources(controller.getModel().getResources());
+            // 从同一个一致快照初始化建筑面板和资源面板，记录快照的版本
+            GameState state = controller.getModel().getState();
+            resourceVersion = state.getVersion();
+            buildingVersion = state.getVersion();
+            updateBuildings(state.getBuildings());
+            updateResources(state.getResources());
             
             // 更新建筑子面板标题为"森林"
             updateBuildingsPanelTitle(GameConstants.UI.FOREST_TITLE);
@@ -172,18 +317,30 @@ public class ResourcePanel {
      */
     private void onSceneNameChanged(String sceneName) {
         if (GameConstants.Scenes.LONELY_HUT.equals(sceneName)) {
-            // 获取小屋数量
-            int hutCount = controller.getModel().getBuilding(GameConstants.Buildings.HUT);
-            // 计算人数上限（每个小屋4人）
-            int populationLimit = hutCount * 4;
-            // 当前人数（初始为0）
-            int currentPopulation = 0;
-            
-            // 更新建筑子面板标题为"村落 X/Y"
-            updateBuildingsPanelTitle(String.format(GameConstants.UI.VILLAGE_TITLE_FORMAT, currentPopulation, populationLimit));
+            village = true;
+            updateVillageTitle();
         }
     }
     
+    /**
+     * 人口变化处理，村落标题随人数和容量更新
+     * @param event 人口变化事件
+     */
+    private void onPopulationChanged(PopulationChangedEvent event) {
+        population = event.getPopulation();
+        populationCapacity = event.getCapacity();
+        if (village) {
+            updateVillageTitle();
+        }
+    }
+    
+    /**
+     * 更新建筑子面板标题为"村落 X/Y"
+     */
+    private void updateVillageTitle() {
+        updateBuildingsPanelTitle(String.format(GameConstants.UI.VILLAGE_TITLE_FORMAT, population, populationCapacity));
+    }
+    
     /**
      * 更新建筑子面板标题
      * @param title 新标题
@@ -1,6 +1,7 @@
 package Design.view;
 
 import Design.controller.GameController;
+import Design.metrics.SceneSwitchEvent;
 import Design.view.scenes.CurrentScaleScene;
 import Design.view.scenes.FireRoomScene;
 import Design.view.scenes.LongJourneyScene;
@@ -8,9 +9,14 @@ import Design.view.scenes.Scene;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * 场景管理器类，负责管理游戏中的不同场景
+ * 场景按名称登记创建方法，第一次显示时才创建并加入卡片布局，启动时只创建初始的生火间场景
  */
 public class SceneManager {
     public static final String FIRE_ROOM_SCENE = "FireRoom";
@@ -21,9 +27,8 @@ public class SceneManager {
     private CardLayout cardLayout;
     private GameController controller;
     
-    private FireRoomScene fireRoomScene;
-    private CurrentScaleScene currentScaleScene;
-    private LongJourneyScene longJourneyScene;
+    private final Map<String, Supplier<? extends Scene>> sceneFactories = new LinkedHashMap<>(); // 已登记的场景创建方法
+    private final Map<String, Scene> scenes = new HashMap<>(); // 已创建的场景
     
     private ResourcePanel resourcePanel;
     private BuildingPanel buildingPanel;
@@ -44,32 +49,44 @@ public class SceneManager {
         resourcePanel = new ResourcePanel(controller);
         buildingPanel = new BuildingPanel(controller);
         
-        // 初始化场景
-        initializeScenes();
+        // 登记场景
+        registerScenes();
         
-        // 监听游戏阶段变化
-        controller.getEventManager().addGamePhaseChangeListener(this::onGamePhaseChanged);
+        // 默认显示生火间场景，生火间需要在控制器发出第一条阶段变化之前创建
+        getScene(FIRE_ROOM_SCENE);
+        cardLayout.show(mainContentPanel, FIRE_ROOM_SCENE);
     }
     
     /**
-     * 初始化场景
+     * 登记游戏中的场景
      */
-    private void initializeScenes() {
-        // 创建场景
-        fireRoomScene = new FireRoomScene(controller);
-        currentScaleScene = new CurrentScaleScene(controller);
-        longJourneyScene = new LongJourneyScene();
-        
-        // 设置场景管理器引用
-        fireRoomScene.setSceneManager(this);
-        
-        // 添加场景到卡片布局
-        mainContentPanel.add(fireRoomScene.getPanel(), FIRE_ROOM_SCENE);
-        mainContentPanel.add(currentScaleScene.getPanel(), CURRENT_SCALE_SCENE);
-        mainContentPanel.add(longJourneyScene.getPanel(), LONG_JOURNEY_SCENE);
-        
-        // 默认显示生火间场景
-        cardLayout.show(mainContentPanel, FIRE_ROOM_SCENE);
+    private void registerScenes() {
+        registerScene(FIRE_ROOM_SCENE, () -> {
+            FireRoomScene scene = new FireRoomScene(controller);
+            scene.setSceneManager(this);
+            return scene;
+        });
+        registerScene(CURRENT_SCALE_SCENE, () -> new CurrentScaleScene(controller));
+        registerScene(LONG_JOURNEY_SCENE, LongJourneyScene::new);
+    }
+    
+    /**
+     * 登记场景，场景在第一次显示时才创建
+     * 延迟创建的场景在构造时应从模型读取当前状态，而不能依赖创建之前发出的事件
+     * @param sceneName 场景名称
+     * @param factory 场景创建方法
+     */
+    public void registerScene(String sceneName, Supplier<? extends Scene> factory) {
+        sceneFactories.put(sceneName, factory);
+    }
+    
+    /**
+     * 场景是否已经创建
+     * @param sceneName 场景名称
+     * @return 是否已创建
+     */
+    public boolean isSceneCreated(String sceneName) {
+        return scenes.containsKey(sceneName);
     }
     
     /**
@@ -85,42 +102,37 @@ public class SceneManager {
      * @param sceneName 场景名称
      */
     public void showScene(String sceneName) {
+        SceneSwitchEvent sceneSwitch = new SceneSwitchEvent();
+        sceneSwitch.begin();
+        
+        // 第一次显示时创建场景
+        Scene currentScene = getScene(sceneName);
         cardLayout.show(mainContentPanel, sceneName);
         
         // 更新当前场景
-        Scene currentScene = getCurrentScene(sceneName);
         if (currentScene != null) {
             currentScene.update();
         }
+        sceneSwitch.finish(sceneName);
     }
     
     /**
-     * 获取当前场景
+     * 获取场景，尚未创建时创建并加入卡片布局
      * @param sceneName 场景名称
-     * @return 当前场景
+     * @return 场景，未登记的名称返回null
      */
-    private Scene getCurrentScene(String sceneName) {
-        switch (sceneName) {
-            case FIRE_ROOM_SCENE:
-                return fireRoomScene;
-            case CURRENT_SCALE_SCENE:
-                return currentScaleScene;
-            case LONG_JOURNEY_SCENE:
-                return longJourneyScene;
-            default:
+    private Scene getScene(String sceneName) {
+        Scene scene = scenes.get(sceneName);
+        if (scene == null) {
+            Supplier<? extends Scene> factory = sceneFactories.get(sceneName);
+            if (factory == null) {
                 return null;
+            }
+            scene = factory.get();
+            scenes.put(sceneName, scene);
+            mainContentPanel.add(scene.getPanel(), sceneName);
         }
-    }
-    
-    /**
-     * 游戏阶段变化处理
-     * @param isPhase2 是否为阶段2
-     */
-    private void onGamePhaseChanged(boolean isPhase2) {
-        if (isPhase2) {
-            // 更新当前规模场景，添加伐木按钮
-            currentScaleScene.updateForPhase2();
-        }
+        return scene;
     }
     
     /**
@@ -0,0 +1,115 @@
+package Design.view;
+
+import Design.metrics.EdtWatchdog;
+import Design.metrics.StallReport;
+import Design.save.SaveManager;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 卡顿报告窗口，按F4打开，列出看门狗记录的最近几次界面卡顿（最新的在前）及其调用栈，
+ * 可以保存到存档目录下的文本文件
+ */
+public class StallReportDialog extends JDialog {
+    private static final String OPEN_ACTION = "stalls.open";
+
+    private final EdtWatchdog watchdog;
+    private final JTextArea textArea;
+
+    /**
+     * 构造函数
+     * @param owner 游戏窗口
+     * @param watchdog 看门狗
+     */
+    private StallReportDialog(JFrame owner, EdtWatchdog watchdog) {
+        super(owner, "界面卡顿报告", false);
+        this.watchdog = watchdog;
+
+        textArea = new JTextArea();
+        textArea.setEditable(false);
+        textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        JButton refreshButton = new JButton("刷新");
+        refreshButton.addActionListener(e -> refresh());
+        JButton saveButton = new JButton("保存到文件");
+        saveButton.addActionListener(e -> save());
+        JButton clearButton = new JButton("清空");
+        clearButton.addActionListener(e -> {
+            watchdog.clear();
+            refresh();
+        });
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(refreshButton);
+        buttons.add(saveButton);
+        buttons.add(clearButton);
+
+        setLayout(new BorderLayout());
+        add(new JScrollPane(textArea), BorderLayout.CENTER);
+        add(buttons, BorderLayout.SOUTH);
+        setSize(800, 500);
+        setLocationRelativeTo(owner);
+    }
+
+    /**
+     * 在窗口上登记F4快捷键，按下时打开卡顿报告窗口
+     * @param frame 游戏窗口
+     * @param watchdog 看门狗，为null（看门狗已关闭）时不登记
+     */
+    public static void install(JFrame frame, EdtWatchdog watchdog) {
+        if (watchdog == null) {
+            return;
+        }
+        JRootPane rootPane = frame.getRootPane();
+        rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                .put(KeyStroke.getKeyStroke(KeyEvent.VK_F4, 0), OPEN_ACTION);
+        rootPane.getActionMap().put(OPEN_ACTION, new AbstractAction() {
+            private StallReportDialog dialog; // 第一次打开时创建
+
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (dialog == null) {
+                    dialog = new StallReportDialog(frame, watchdog);
+                }
+                dialog.refresh();
+                dialog.setVisible(true);
+            }
+        });
+    }
+
+    /**
+     * 重新读取报告
+     */
+    private void refresh() {
+        List<StallReport> reports = watchdog.getReports();
+        StringBuilder builder = new StringBuilder();
+        builder.append("卡顿阈值 ").append(watchdog.getThresholdMillis()).append(" ms，共 ")
+                .append(reports.size()).append(" 条报告\n\n");
+        for (int i = reports.size() - 1; i >= 0; i--) {
+            builder.append(reports.get(i).format()).append('\n');
+        }
+        textArea.setText(builder.toString());
+        textArea.setCaretPosition(0);
+    }
+
+    /**
+     * 保存报告到存档目录，文件名包含当前时间
+     */
+    private void save() {
+        String name = "stalls-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".txt";
+        Path path = SaveManager.defaultPath().resolveSibling(name);
+        try {
+            int count = watchdog.dumpTo(path);
+            JOptionPane.showMessageDialog(this, "已保存 " + count + " 条报告到\n" + path);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "保存失败: " + e.getMessage(), getTitle(), JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
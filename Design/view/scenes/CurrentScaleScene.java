@@ -3,9 +3,15 @@ package Design.view.scenes;
 import Design.CooldownButton;
 import Design.GameConstants;
 import Design.controller.GameController;
+import Design.event.GameEvents.BuildingChangedEvent;
+import Design.event.GameEvents.PopulationChangedEvent;
+import Design.model.Job;
+import Design.model.Villagers;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * 静谧森林场景类
@@ -15,9 +21,14 @@ public class CurrentScaleScene implements Scene {
     private GameController controller;
     private JPanel activeEventPanel;
     private CooldownButton checkTrapsButton; // 查看陷阱按钮
+    private JPanel laborDistributionPanel;
+    private final Map<Job, JLabel> laborLabels = new EnumMap<>(Job.class);      // 各工作的人数标签
+    private final Map<Job, JButton> assignButtons = new EnumMap<>(Job.class);   // 增加人数按钮（默认工作没有）
+    private final Map<Job, JButton> unassignButtons = new EnumMap<>(Job.class); // 减少人数按钮（默认工作没有）
+    private final int[] workers = new int[Job.COUNT]; // 最近一次人口变化事件中各工作的人数
     
     /**
-     * 构造函数
+     * 构造函数，场景在第一次显示时才创建，当前的阶段、人口和陷阱数量直接从模型读取
      */
     public CurrentScaleScene(GameController controller) {
         this.controller = controller;
@@ -28,6 +39,12 @@ public class CurrentScaleScene implements Scene {
         
         // 初始化组件
         initializeComponents();
+        
+        // 创建之前已经进入第二阶段时直接更新，否则等待阶段变化
+        if (controller.getModel().isGamePhase2()) {
+            updateForPhase2();
+        }
+        controller.getEventManager().addGamePhaseChangeListener(this::onGamePhaseChanged);
     }
     
     /**
@@ -46,18 +63,95 @@ public class CurrentScaleScene implements Scene {
         activeEventPanel.setBorder(BorderFactory.createTitledBorder(GameConstants.UI.ACTIVE_EVENTS_TITLE));
         interactionPanel.add(activeEventPanel);
         
-        JPanel laborDistributionPanel = new JPanel();
+        laborDistributionPanel = new JPanel(new GridLayout(0, 1));
         laborDistributionPanel.setBackground(Color.WHITE);
         laborDistributionPanel.setBorder(BorderFactory.createTitledBorder(GameConstants.UI.LABOR_DISTRIBUTION_TITLE));
+        for (Job job : Job.values()) {
+            laborDistributionPanel.add(createLaborRow(job));
+        }
         interactionPanel.add(laborDistributionPanel);
         
         panel.add(interactionPanel, BorderLayout.CENTER);
+        
+        // 先读取当前各工作人数，之后由人口变化事件更新
+        Villagers villagers = controller.getPopulationManager().getVillagers();
+        for (Job job : Job.values()) {
+            workers[job.ordinal()] = villagers.count(job);
+        }
+        controller.getEventManager().addPopulationChangeListener(this::onPopulationChanged);
+        updateLaborRows();
+    }
+    
+    /**
+     * 创建一项工作的分工行：人数标签，非默认工作另有减少和增加按钮
+     * @param job 工作
+     * @return 分工行
+     */
+    private JPanel createLaborRow(Job job) {
+        JPanel row = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        row.setBackground(Color.WHITE);
+        JLabel label = new JLabel();
+        laborLabels.put(job, label);
+        row.add(label);
+        if (job != Job.DEFAULT) {
+            JButton unassignButton = new JButton("-");
+            unassignButton.addActionListener(e -> controller.assignJob(job, -1));
+            unassignButtons.put(job, unassignButton);
+            row.add(unassignButton);
+            
+            JButton assignButton = new JButton("+");
+            assignButton.addActionListener(e -> controller.assignJob(job, 1));
+            assignButtons.put(job, assignButton);
+            row.add(assignButton);
+        }
+        return row;
+    }
+    
+    /**
+     * 人口变化处理
+     * @param event 人口变化事件
+     */
+    private void onPopulationChanged(PopulationChangedEvent event) {
+        for (Job job : Job.values()) {
+            workers[job.ordinal()] = event.getWorkers(job.ordinal());
+        }
+        updateLaborRows();
+    }
+    
+    /**
+     * 更新分工行的人数和按钮状态
+     * 没有空闲的默认工作村民或缺少需要的建筑时不能增加，没有人从事该工作时不能减少
+     */
+    private void updateLaborRows() {
+        int idle = workers[Job.DEFAULT.ordinal()];
+        for (Job job : Job.values()) {
+            int count = workers[job.ordinal()];
+            laborLabels.get(job).setText(String.format(GameConstants.UI.LABOR_ROW_FORMAT, job.getDisplayName(), count));
+            if (job != Job.DEFAULT) {
+                assignButtons.get(job).setEnabled(idle > 0 && controller.getPopulationManager().isAvailable(job));
+                unassignButtons.get(job).setEnabled(count > 0);
+            }
+        }
+    }
+    
+    /**
+     * 游戏阶段变化处理
+     * @param isPhase2 是否为阶段2
+     */
+    private void onGamePhaseChanged(boolean isPhase2) {
+        if (isPhase2) {
+            updateForPhase2();
+        }
     }
     
     /**
-     * 为第二阶段更新场景
+     * 为第二阶段更新场景，重复调用时不重复添加按钮
      */
     public void updateForPhase2() {
+        if (checkTrapsButton != null) {
+            return;
+        }
+        
         // 添加"伐木"按钮
         CooldownButton chopWoodButton = new CooldownButton("伐木", GameConstants.Timers.CHOP_WOOD_COOLDOWN); // 15秒冷却
         activeEventPanel.add(chopWoodButton);
@@ -75,8 +169,9 @@ public class CurrentScaleScene implements Scene {
             controller.checkTraps();
         });
         
-        // 监听资源变化以更新陷阱按钮可见性
-        controller.getEventManager().addResourceChangeListener(this::updateTrapButtonVisibility);
+        // 监听陷阱数量变化以更新陷阱按钮可见性，创建之前已有陷阱时直接显示
+        controller.getEventManager().addBuildingDeltaListener(this::onBuildingsChanged);
+        updateTrapButtonVisibility();
         
         activeEventPanel.revalidate();
         activeEventPanel.repaint();
@@ -94,11 +189,22 @@ public class CurrentScaleScene implements Scene {
     
 
     
+    /**
+     * 建筑变化处理，只有陷阱数量变化时才检查按钮可见性
+     * @param event 建筑变化事件
+     */
+    private void onBuildingsChanged(BuildingChangedEvent event) {
+        if (event.isFullRefresh() || event.getDelta(GameConstants.Buildings.TRAP) != null) {
+            updateTrapButtonVisibility();
+            // 捕兽人需要陷阱
+            updateLaborRows();
+        }
+    }
+    
     /**
      * 更新陷阱按钮可见性
-     * @param resources 资源映射
      */
-    private void updateTrapButtonVisibility(java.util.Map<String, Integer> resources) {
+    private void updateTrapButtonVisibility() {
         if (checkTrapsButton != null) {
             int trapCount = controller.getTrapManager().getTrapCount();
             boolean shouldShow = trapCount > 0;
@@ -0,0 +1,52 @@
+package Design.bench.jmh;
+
+import Design.event.EventManager;
+import Design.model.GameModel;
+import Design.model.ResourceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 资源变化事件同步分发到N个监听器
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventBenchmark {
+    @Param({"1", "10", "100"})
+    public int listeners;
+    
+    private GameModel model;
+    private EventManager eventManager;
+    private int sink; // 监听器写入，避免监听器被JIT消除
+    
+    @Setup
+    public void setUp() {
+        model = new GameModel();
+        model.increaseResource(ResourceType.WOOD, 1);
+        eventManager = new EventManager();
+        for (int i = 0; i < listeners; i++) {
+            eventManager.addResourceChangeListener(resources -> sink += resources.size());
+        }
+    }
+    
+    @Benchmark
+    public int notifyResourceChange() {
+        eventManager.notifyResourceChangeListeners(model.getResources());
+        return sink;
+    }
+}
@@ -0,0 +1,69 @@
+package Design.bench.jmh;
+
+import Design.model.GameModel;
+import Design.model.ResourceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameModel资源增减和一致快照读取
+ * 同一个模型由所有线程共享，increaseDecreaseContended在4个线程上同时增减同一种资源
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelBenchmark {
+    private GameModel model;
+    
+    @Setup
+    public void setUp() {
+        model = new GameModel();
+    }
+    
+    @Benchmark
+    public int increaseDecrease() {
+        model.increaseResource(ResourceType.WOOD, 10);
+        model.decreaseResource(ResourceType.WOOD, 10);
+        return model.getResource(ResourceType.WOOD);
+    }
+    
+    @Benchmark
+    public int increaseDecreaseByName() {
+        model.increaseResource("木头", 10);
+        model.decreaseResource("木头", 10);
+        return model.getResource("木头");
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public int increaseDecreaseContended() {
+        model.increaseResource(ResourceType.WOOD, 10);
+        model.decreaseResource(ResourceType.WOOD, 10);
+        return model.getResource(ResourceType.WOOD);
+    }
+    
+    @Benchmark
+    public long getStateUnchanged() {
+        return model.getState().getVersion();
+    }
+    
+    @Benchmark
+    public int getStateAfterWrite() {
+        model.increaseResource(ResourceType.MEAT, 1);
+        return model.getState().getResource(ResourceType.MEAT);
+    }
+}
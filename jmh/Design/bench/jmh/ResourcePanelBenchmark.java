@@ -0,0 +1,98 @@
+package Design.bench.jmh;
+
+import Design.controller.GameController;
+import Design.event.EventManager;
+import Design.model.BuildingType;
+import Design.model.GameModel;
+import Design.model.ResourceType;
+import Design.service.ResourceService;
+import Design.view.ResourcePanel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.SwingUtilities;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 无界面工具包下资源面板对资源变化事件的响应
+ * Swing组件只能在事件分发线程上更新（在其他线程上修改标签会把重新布局投递到事件分发线程），
+ * 因此每次调用在事件分发线程上连续执行BATCH次操作，invokeAndWait的开销分摊到每次操作上
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ResourcePanelBenchmark {
+    private static final int BATCH = 1000;
+    
+    private GameModel model;
+    private EventManager eventManager;
+    private ResourceService resourceService;
+    
+    @Setup
+    public void setUp() throws InterruptedException, InvocationTargetException {
+        model = new GameModel();
+        eventManager = new EventManager();
+        resourceService = new ResourceService(model, eventManager);
+        SwingUtilities.invokeAndWait(() -> {
+            new ResourcePanel(new GameController(model, eventManager));
+            eventManager.notifyGamePhaseChangeListeners(true);
+            model.increaseResource(ResourceType.FUR, 1);
+            model.increaseBuilding(BuildingType.TRAP);
+            eventManager.notifyResourceChangeListeners(model.getResources());
+        });
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void fullRefresh() throws InterruptedException, InvocationTargetException {
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < BATCH; i++) {
+                model.increaseResource(ResourceType.WOOD, 1);
+                eventManager.notifyResourceChangeListeners(model.getResources());
+            }
+        });
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void fullUnchanged() throws InterruptedException, InvocationTargetException {
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < BATCH; i++) {
+                eventManager.notifyResourceChangeListeners(model.getResources());
+            }
+        });
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void delta() throws InterruptedException, InvocationTargetException {
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < BATCH; i++) {
+                resourceService.increaseResource(ResourceType.WOOD, 1);
+            }
+        });
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void staleRefresh() throws InterruptedException, InvocationTargetException {
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < BATCH; i++) {
+                eventManager.notifyResourceChangeListeners(model.getResources(), null, 0);
+            }
+        });
+    }
+}
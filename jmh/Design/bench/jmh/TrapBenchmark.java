@@ -0,0 +1,56 @@
+package Design.bench.jmh;
+
+import Design.controller.TrapManager;
+import Design.model.BuildingType;
+import Design.simulation.SimulationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不同陷阱数量下的陷阱检查，在无界面引擎上运行
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrapBenchmark {
+    @Param({"1", "10", "100", "1000", "10000", "100000", "1000000"})
+    public int traps;
+    
+    private SimulationEngine engine;
+    private TrapManager trapManager;
+    
+    @Setup
+    public void setUp() {
+        engine = new SimulationEngine(traps);
+        engine.getModel().setBuilding(BuildingType.TRAP, traps);
+        trapManager = engine.getController().getTrapManager();
+    }
+    
+    /**
+     * 每轮清空产出，陷阱很多时资源数量不会在测量中溢出
+     */
+    @Setup(Level.Iteration)
+    public void clearYields() {
+        engine.getModel().clearResources();
+    }
+    
+    @Benchmark
+    public void checkTraps() {
+        trapManager.checkTraps();
+    }
+}